@@ -0,0 +1,488 @@
+package ai.zuva.docai;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * An {@link HttpTransport} that sends requests with the JDK's java.net.http.HttpClient
+ *
+ * <p>This transport requires Java 11 or later. Requests to a server that supports HTTP/2 are
+ * multiplexed over a single connection, and asynchronous requests do not hold a thread while they
+ * wait for a response. Response bodies are read, and request bodies written, on the transport's
+ * executor, which runs each task on a virtual thread when the JVM provides them (Java 21 and
+ * later) and on a cached thread pool otherwise.
+ *
+ * <p>HttpClient has no read or write timeouts. The request timeout bounds the time until the
+ * response headers arrive; when built from a runtime's settings it is the call timeout if one is
+ * set, and the read timeout otherwise. HttpClient does not limit the number of requests in flight
+ * or expose its pool settings, so those are reported as 0.
+ */
+public class JdkHttpTransport implements HttpTransport {
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final HttpClient client;
+  private final ExecutorService executor;
+  private final Duration connectTimeout;
+  private final Duration requestTimeout;
+  private final boolean preferHttp2;
+  private final boolean shared;
+
+  private JdkHttpTransport(Builder builder) {
+    executor = newExecutor();
+    connectTimeout = builder.connectTimeout;
+    requestTimeout = builder.requestTimeout;
+    preferHttp2 = builder.preferHttp2;
+    HttpClient.Builder clientBuilder =
+        HttpClient.newBuilder()
+            .executor(executor)
+            .version(preferHttp2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+    if (!connectTimeout.isZero()) {
+      clientBuilder.connectTimeout(connectTimeout);
+    }
+    client = clientBuilder.build();
+    shared = false;
+  }
+
+  // A view that shares the client (and so its connections) with a different request timeout
+  private JdkHttpTransport(JdkHttpTransport base, Duration requestTimeout) {
+    client = base.client;
+    executor = base.executor;
+    connectTimeout = base.connectTimeout;
+    this.requestTimeout = requestTimeout;
+    preferHttp2 = base.preferHttp2;
+    shared = true;
+  }
+
+  // Used by DocAIRuntime when the jdk transport is selected with the system property
+  static HttpTransport fromSettings(ClientSettings settings) {
+    return new Builder()
+        .connectTimeout(settings.connectTimeout)
+        .requestTimeout(settings.callTimeout.isZero() ? settings.readTimeout : settings.callTimeout)
+        .preferHttp2(settings.protocols.contains("h2"))
+        .build();
+  }
+
+  private static ExecutorService newExecutor() {
+    ExecutorService virtual = VirtualThreads.newPerTaskExecutor();
+    if (virtual != null) {
+      return virtual;
+    }
+    return Executors.newCachedThreadPool(
+        r -> {
+          Thread thread = new Thread(r, "docai-jdk-http");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    try {
+      return new JdkResponse(
+          client.send(toJdk(request), HttpResponse.BodyHandlers.ofInputStream()));
+    } catch (HttpTimeoutException e) {
+      throw timeout(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException interrupted = new InterruptedIOException("Interrupted");
+      interrupted.initCause(e);
+      throw interrupted;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Response> executeAsync(Request request) {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    CompletableFuture<HttpResponse<InputStream>> call =
+        client.sendAsync(toJdk(request), HttpResponse.BodyHandlers.ofInputStream());
+    call.whenComplete(
+        (response, t) -> {
+          if (t != null) {
+            Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+            future.completeExceptionally(
+                cause instanceof HttpTimeoutException
+                    ? timeout((HttpTimeoutException) cause)
+                    : cause);
+            return;
+          }
+          JdkResponse r = new JdkResponse(response);
+          if (!future.complete(r)) {
+            r.close();
+          }
+        });
+    future.whenComplete(
+        (response, t) -> {
+          if (t instanceof CancellationException) {
+            call.cancel(true);
+          }
+        });
+    return future;
+  }
+
+  private static InterruptedIOException timeout(HttpTimeoutException e) {
+    InterruptedIOException timeout = new InterruptedIOException(e.getMessage());
+    timeout.initCause(e);
+    return timeout;
+  }
+
+  @Override
+  public HttpTransport withTimeouts(
+      Duration connectTimeout, Duration readTimeout, Duration writeTimeout, Duration callTimeout) {
+    // The connect timeout belongs to the shared HttpClient, so only the request timeout can change
+    Duration timeout = callTimeout != null && !callTimeout.isZero() ? callTimeout : readTimeout;
+    return timeout == null ? this : new JdkHttpTransport(this, timeout);
+  }
+
+  @Override
+  public ClientSettings getSettings() {
+    return new ClientSettings(
+        0,
+        0,
+        0,
+        Duration.ofSeconds(Long.getLong("jdk.httpclient.keepalive.timeout", 1200)),
+        connectTimeout,
+        Duration.ZERO,
+        Duration.ZERO,
+        requestTimeout,
+        preferHttp2 ? Arrays.asList("h2", "http/1.1") : Collections.singletonList("http/1.1"));
+  }
+
+  /** Stops the transport's executor, unless this is a view created with withTimeouts. */
+  @Override
+  public void close() {
+    if (!shared) {
+      executor.shutdown();
+    }
+  }
+
+  private HttpRequest toJdk(Request request) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(request.url);
+    for (Map.Entry<String, String> header : request.headers.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    if (!requestTimeout.isZero()) {
+      builder.timeout(requestTimeout);
+    }
+    HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.noBody();
+    Body body = request.body;
+    if (body != null) {
+      if (body.contentType() != null) {
+        builder.header("Content-Type", body.contentType());
+      }
+      publisher = new PipePublisher(body);
+    }
+    return builder.method(request.method, publisher).build();
+  }
+
+  // HttpClient pulls request bodies from an InputStream, while a Body pushes itself into an
+  // OutputStream, so the body is written into a pipe on the executor as the client reads it.
+  // Each subscription gets its own pipe, which is closed when the client cancels the subscription
+  // or is done with it, so that a writer is never left blocked on a pipe nobody reads.
+  private class PipePublisher implements HttpRequest.BodyPublisher {
+    private final Body body;
+
+    PipePublisher(Body body) {
+      this.body = body;
+    }
+
+    // A negative length makes the client send the body with chunked transfer encoding
+    @Override
+    public long contentLength() {
+      return body.contentLength();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      BodyPipe pipe = pipe(body);
+      HttpRequest.BodyPublishers.ofInputStream(() -> pipe)
+          .subscribe(
+              new Flow.Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                  subscriber.onSubscribe(
+                      new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                          subscription.request(n);
+                        }
+
+                        @Override
+                        public void cancel() {
+                          subscription.cancel();
+                          pipe.close();
+                        }
+                      });
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                  subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                  pipe.close();
+                  subscriber.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                  pipe.close();
+                  subscriber.onComplete();
+                }
+              });
+    }
+  }
+
+  private BodyPipe pipe(Body body) {
+    BodyPipe pipe = new BodyPipe();
+    executor.execute(
+        () -> {
+          IOException failure = null;
+          try {
+            body.writeTo(pipe.sink);
+          } catch (IOException e) {
+            failure = e;
+          } catch (RuntimeException e) {
+            failure = new IOException("Error writing request body", e);
+          }
+          pipe.finish(failure);
+        });
+    return pipe;
+  }
+
+  // A bounded pipe between the thread writing a body and the thread reading it. Unlike
+  // PipedInputStream it does not depend on either thread staying alive, and a failure while
+  // writing is rethrown to the reader, so that a truncated body is never sent as if complete.
+  // Closing it wakes a writer blocked on a full pipe, which then fails instead of waiting.
+  private static class BodyPipe extends InputStream {
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(4);
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private byte[] current;
+    private int position;
+
+    final OutputStream sink =
+        new OutputStream() {
+          private final byte[] buffer = new byte[CHUNK_SIZE];
+          private int count;
+
+          @Override
+          public void write(int b) throws IOException {
+            checkOpen();
+            if (count == buffer.length) {
+              flushChunk();
+            }
+            buffer[count++] = (byte) b;
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            checkOpen();
+            while (len > 0) {
+              if (count == buffer.length) {
+                flushChunk();
+              }
+              int n = Math.min(len, buffer.length - count);
+              System.arraycopy(b, off, buffer, count, n);
+              count += n;
+              off += n;
+              len -= n;
+            }
+          }
+
+          @Override
+          public void flush() throws IOException {
+            flushChunk();
+          }
+
+          private void flushChunk() throws IOException {
+            if (count > 0) {
+              put(Arrays.copyOf(buffer, count));
+              count = 0;
+            }
+          }
+        };
+
+    void finish(IOException writeFailure) {
+      try {
+        if (writeFailure == null) {
+          sink.flush();
+        }
+      } catch (IOException e) {
+        writeFailure = e;
+      }
+      failure = writeFailure;
+      try {
+        put(END);
+      } catch (IOException ignored) {
+        // The reader has gone away
+      }
+    }
+
+    // A slow writer may take a long time to fill a chunk, so every write checks that the pipe is
+    // still open rather than only the writes that hand a chunk to the reader
+    private void checkOpen() throws IOException {
+      if (closed) {
+        throw new IOException("Request body stream closed");
+      }
+    }
+
+    // close() empties the queue after setting closed, so a writer that saw the pipe open finds
+    // room for its chunk and sees that it is closed on its next put
+    private void put(byte[] chunk) throws IOException {
+      checkOpen();
+      try {
+        chunks.put(chunk);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while writing request body");
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] one = new byte[1];
+      int n = read(one, 0, 1);
+      return n == -1 ? -1 : one[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (closed) {
+        throw new IOException("Request body stream closed");
+      }
+      while (current == null || position == current.length) {
+        if (current == END) {
+          return -1;
+        }
+        try {
+          current = chunks.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while reading request body");
+        }
+        position = 0;
+        if (current == END && failure != null) {
+          throw failure;
+        }
+        if (current == END && closed) {
+          throw new IOException("Request body stream closed");
+        }
+      }
+      int n = Math.min(len, current.length - position);
+      System.arraycopy(current, position, b, off, n);
+      position += n;
+      return n;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      chunks.clear();
+      // Wakes a reader blocked on the empty queue
+      chunks.offer(END);
+    }
+  }
+
+  private static class JdkResponse implements Response {
+    private final HttpResponse<InputStream> response;
+
+    JdkResponse(HttpResponse<InputStream> response) {
+      this.response = response;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String header(String name) {
+      return response.headers().firstValue(name).orElse(null);
+    }
+
+    @Override
+    public InputStream body() {
+      return response.body();
+    }
+
+    @Override
+    public void close() {
+      try {
+        response.body().close();
+      } catch (IOException ignored) {
+        // Nothing more can be done with a response that failed to close
+      }
+    }
+  }
+
+  /**
+   * Builder for a JdkHttpTransport
+   *
+   * <p>The defaults are a 10 second connect timeout, a 10 second request timeout, and HTTP/2
+   * preferred over HTTP/1.1 where the server supports it.
+   */
+  public static class Builder {
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private boolean preferHttp2 = true;
+
+    /**
+     * @param connectTimeout The timeout for establishing a new connection, or zero for none
+     * @return This builder
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = DocAIRuntime.Builder.checkTimeout("connectTimeout", connectTimeout);
+      return this;
+    }
+
+    /**
+     * @param requestTimeout The maximum time to wait for the response headers, or zero for none
+     * @return This builder
+     */
+    public Builder requestTimeout(Duration requestTimeout) {
+      this.requestTimeout = DocAIRuntime.Builder.checkTimeout("requestTimeout", requestTimeout);
+      return this;
+    }
+
+    /**
+     * @param preferHttp2 If true (the default), HTTP/2 is negotiated when the server supports it,
+     *     multiplexing concurrent requests over a single connection. If false, only HTTP/1.1 is
+     *     used.
+     * @return This builder
+     */
+    public Builder preferHttp2(boolean preferHttp2) {
+      this.preferHttp2 = preferHttp2;
+      return this;
+    }
+
+    public JdkHttpTransport build() {
+      return new JdkHttpTransport(this);
+    }
+  }
+}
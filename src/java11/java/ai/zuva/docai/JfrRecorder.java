@@ -0,0 +1,184 @@
+package ai.zuva.docai;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Emits the SDK's events with jdk.jfr. Loaded by FlightRecorderEvents on Java 11 and later.
+class JfrRecorder extends FlightRecorderEvents.Recorder {
+  private static final String CATEGORY = "Zuva DocAI";
+
+  @Name("ai.zuva.docai.HttpCall")
+  @Label("DocAI HTTP Call")
+  @Description("An HTTP call to DocAI, from the start of the call until its response is closed")
+  @Category(CATEGORY)
+  // Calls often finish on a transport thread, where the stack trace says nothing about the caller
+  @StackTrace(false)
+  static class HttpCallEvent extends Event implements FlightRecorderEvents.HttpCall {
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("The endpoint template, with IDs replaced by {id}")
+    String endpoint;
+
+    @Label("Status Code")
+    @Description("The status code of the response, or 0 if the call failed without one")
+    int statusCode;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    long bytesReceived;
+
+    @Label("Error")
+    String error;
+
+    @Override
+    public void end(
+        String method,
+        String endpoint,
+        int statusCode,
+        long bytesSent,
+        long bytesReceived,
+        Throwable error) {
+      end();
+      if (shouldCommit()) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.statusCode = statusCode;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.error = error == null ? null : error.toString();
+        commit();
+      }
+    }
+  }
+
+  @Name("ai.zuva.docai.StatusPoll")
+  @Label("DocAI Status Poll")
+  @Description("A status request made while polling a DocAI request for completion")
+  @Category(CATEGORY)
+  static class StatusPollEvent extends Event implements FlightRecorderEvents.StatusPoll {
+    @Label("Request ID")
+    String requestId;
+
+    @Label("Poll")
+    @Description("The number of the status request, starting from 1")
+    int poll;
+
+    @Label("State")
+    @Description("The processing state reported by the API, or null if the status request failed")
+    String state;
+
+    @Override
+    public void end(ProcessingState state) {
+      end();
+      if (shouldCommit()) {
+        this.state = state == null ? null : state.name();
+        commit();
+      }
+    }
+  }
+
+  @Name("ai.zuva.docai.FileUpload")
+  @Label("DocAI File Upload")
+  @Description("A file uploaded to DocAI")
+  @Category(CATEGORY)
+  static class FileUploadEvent extends Event implements FlightRecorderEvents.Upload {
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Content Type")
+    String contentType;
+
+    @Label("File ID")
+    @Description("The ID of the uploaded file, or null if the upload failed")
+    String fileId;
+
+    @Override
+    public void end(String fileId) {
+      end();
+      if (shouldCommit()) {
+        this.fileId = fileId;
+        commit();
+      }
+    }
+  }
+
+  @Name("ai.zuva.docai.Retry")
+  @Label("DocAI Retry")
+  @Description("A failed request that is about to be retried")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static class RetryEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Attempt")
+    @Description("The number of the attempt that failed, starting from 1")
+    int attempt;
+
+    @Label("Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+  }
+
+  @Override
+  FlightRecorderEvents.HttpCall httpCall() {
+    HttpCallEvent event = new HttpCallEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  @Override
+  FlightRecorderEvents.StatusPoll statusPoll(String requestId, int poll) {
+    StatusPollEvent event = new StatusPollEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.requestId = requestId;
+    event.poll = poll;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  FlightRecorderEvents.Upload fileUpload(long size, String contentType) {
+    FileUploadEvent event = new FileUploadEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.size = size;
+    event.contentType = contentType;
+    event.begin();
+    return event;
+  }
+
+  @Override
+  void retry(String method, String endpoint, int attempt, long delayMillis) {
+    RetryEvent event = new RetryEvent();
+    if (event.isEnabled()) {
+      event.method = method;
+      event.endpoint = endpoint;
+      event.attempt = attempt;
+      event.delay = delayMillis;
+      event.commit();
+    }
+  }
+}
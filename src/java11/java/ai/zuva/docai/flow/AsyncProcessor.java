@@ -0,0 +1,318 @@
+package ai.zuva.docai.flow;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} that applies an asynchronous SDK operation to each item
+ *
+ * <p>Items are requested from upstream only as the subscriber's demand allows: at any time, the
+ * number of items requested from upstream, being processed and waiting to be delivered never
+ * exceeds the subscriber's outstanding {@code request(n)}, nor {@code maxConcurrency}. A slow
+ * subscriber therefore throttles the uploads and status polling done by the operation, instead of
+ * letting results build up in memory.
+ *
+ * <p>Results are delivered in the order the operations complete, which need not be the order of
+ * the items. If an operation fails, the subscriber receives {@code onError} with its exception,
+ * upstream is cancelled, and the operations still running are cancelled. To keep going past
+ * failures of individual items, use an operation that recovers from them, for example by
+ * completing with a value that records the failure.
+ *
+ * <p>The processor supports a single subscriber.
+ *
+ * @param <T> The type of the items received from upstream
+ * @param <R> The type of the results delivered to the subscriber
+ */
+public class AsyncProcessor<T, R> implements Flow.Processor<T, R> {
+  private final Function<? super T, ? extends CompletionStage<? extends R>> operation;
+  private final int maxConcurrency;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // Serializes the signals sent to the subscriber; see drain()
+  private final AtomicInteger wip = new AtomicInteger();
+
+  // Guarded by lock
+  private Flow.Subscription upstream;
+  private Flow.Subscriber<? super R> downstream;
+  private long demand;
+  private long requested;
+  private final Set<CompletableFuture<? extends R>> inFlight = new HashSet<>();
+  private final ArrayDeque<R> ready = new ArrayDeque<>();
+  private boolean upstreamDone;
+  private Throwable error;
+  private boolean cancelled;
+  private boolean terminated;
+
+  /**
+   * Creates a processor
+   *
+   * @param operation Starts the operation for an item, such as uploading a file and creating a
+   *     request for it. The returned stage must not complete with null.
+   * @param maxConcurrency The largest number of operations to run at once
+   */
+  public AsyncProcessor(
+      Function<? super T, ? extends CompletionStage<? extends R>> operation, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive");
+    }
+    this.operation = Objects.requireNonNull(operation);
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super R> subscriber) {
+    Objects.requireNonNull(subscriber);
+    lock.lock();
+    try {
+      if (downstream == null) {
+        downstream = subscriber;
+      } else {
+        subscriber = rejected(subscriber);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (subscriber != null) {
+      subscriber.onSubscribe(new Subscription());
+      drain();
+    }
+  }
+
+  // Tells a second subscriber that it cannot subscribe, and returns null
+  private Flow.Subscriber<? super R> rejected(Flow.Subscriber<? super R> subscriber) {
+    subscriber.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    subscriber.onError(new IllegalStateException("The processor already has a subscriber"));
+    return null;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    boolean accepted;
+    lock.lock();
+    try {
+      accepted = upstream == null && !cancelled;
+      if (accepted) {
+        upstream = subscription;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (!accepted) {
+      subscription.cancel();
+      return;
+    }
+    drain();
+  }
+
+  @Override
+  public void onNext(T item) {
+    lock.lock();
+    try {
+      if (cancelled || terminated) {
+        return;
+      }
+    } finally {
+      lock.unlock();
+    }
+    CompletableFuture<? extends R> future;
+    try {
+      future = operation.apply(item).toCompletableFuture();
+    } catch (RuntimeException e) {
+      fail(e);
+      return;
+    }
+    lock.lock();
+    try {
+      requested--;
+      inFlight.add(future);
+    } finally {
+      lock.unlock();
+    }
+    future.whenComplete(
+        (result, t) -> {
+          lock.lock();
+          try {
+            inFlight.remove(future);
+            if (t == null && result != null) {
+              ready.add(result);
+            }
+          } finally {
+            lock.unlock();
+          }
+          if (t != null) {
+            fail(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+          } else if (result == null) {
+            fail(new NullPointerException("The operation completed with null"));
+          } else {
+            drain();
+          }
+        });
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    lock.lock();
+    try {
+      upstreamDone = true;
+      if (error == null) {
+        error = throwable;
+      }
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    lock.lock();
+    try {
+      upstreamDone = true;
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  private void fail(Throwable t) {
+    lock.lock();
+    try {
+      if (error == null && !(t instanceof CancellationException && cancelled)) {
+        error = t;
+      }
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  // Stops upstream and the operations in flight, once the subscriber has cancelled or the stream
+  // has failed
+  private void stop() {
+    Flow.Subscription subscription;
+    Object[] running;
+    lock.lock();
+    try {
+      subscription = upstream;
+      running = inFlight.toArray();
+      inFlight.clear();
+      ready.clear();
+    } finally {
+      lock.unlock();
+    }
+    if (subscription != null) {
+      subscription.cancel();
+    }
+    for (Object future : running) {
+      ((CompletableFuture<?>) future).cancel(false);
+    }
+  }
+
+  // Delivers results and terminal signals, and requests more items from upstream. Only one thread
+  // runs the loop at a time; a thread that finds it running leaves the work to that thread.
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      while (true) {
+        Flow.Subscriber<? super R> subscriber;
+        R next = null;
+        Throwable failure = null;
+        boolean complete = false;
+        long more = 0;
+        Flow.Subscription subscription = null;
+        lock.lock();
+        try {
+          subscriber = downstream;
+          if (subscriber == null || cancelled || terminated) {
+            break;
+          }
+          if (error != null) {
+            terminated = true;
+            failure = error;
+          } else if (demand > 0 && !ready.isEmpty()) {
+            next = ready.poll();
+            demand--;
+          } else if (upstreamDone && inFlight.isEmpty() && ready.isEmpty()) {
+            terminated = true;
+            complete = true;
+          } else if (upstream != null && !upstreamDone) {
+            long outstanding = requested + inFlight.size();
+            more = Math.min(maxConcurrency - outstanding, demand - outstanding - ready.size());
+            if (more > 0) {
+              requested += more;
+              subscription = upstream;
+            }
+          }
+        } finally {
+          lock.unlock();
+        }
+        if (failure != null) {
+          stop();
+          subscriber.onError(failure);
+        } else if (next != null) {
+          subscriber.onNext(next);
+        } else if (complete) {
+          subscriber.onComplete();
+        } else if (subscription != null) {
+          subscription.request(more);
+        } else {
+          break;
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private class Subscription implements Flow.Subscription {
+    @Override
+    public void request(long n) {
+      lock.lock();
+      try {
+        if (n <= 0) {
+          if (error == null) {
+            error = new IllegalArgumentException("The demand must be positive, was " + n);
+          }
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      } finally {
+        lock.unlock();
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      lock.lock();
+      try {
+        if (cancelled || terminated) {
+          return;
+        }
+        cancelled = true;
+      } finally {
+        lock.unlock();
+      }
+      stop();
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package ai.zuva.docai.flow;
+
+import ai.zuva.docai.BaseRequest;
+import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.RequestStatus;
+import ai.zuva.docai.RequestTracker;
+import ai.zuva.docai.exception.DocAIClientException;
+import ai.zuva.docai.extraction.ExtractionRequest;
+import ai.zuva.docai.extraction.ExtractionResults;
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.ocr.OcrRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Reactive pipelines that take documents from upload to results with backpressure
+ *
+ * <p>Each stage is an {@link AsyncProcessor}, so it only pulls as many files from upstream as its
+ * subscriber has asked for, and runs at most {@code maxConcurrency} of them at once. Uploads,
+ * request creation and result downloads use the client's asynchronous calls, and requests are
+ * waited for by a {@link RequestTracker}, which polls their statuses in batches. No thread is
+ * blocked while documents are processed. When a stage cancels a file, its upload, request
+ * creation or tracking is cancelled with it.
+ *
+ * <p>For example, to extract fields from files read off a queue:
+ *
+ * <pre>{@code
+ * try (RequestTracker tracker = new RequestTracker()) {
+ *   Flow.Publisher<ExtractionResults[]> results =
+ *       DocumentFlows.extractionResults(queuePublisher, client, tracker, fieldIds, 32);
+ *   results.subscribe(resultsSubscriber);
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>A request that the API reports as failed fails the stream with a DocAIClientException, like
+ * any other error. Requires Java 11 or later.
+ */
+public final class DocumentFlows {
+  private DocumentFlows() {}
+
+  /**
+   * Creates a processor that uploads each file, requests OCR for it and delivers the request once
+   * its text and images are ready
+   *
+   * @param client The client to make requests with
+   * @param tracker The tracker that waits for the requests to complete
+   * @param maxConcurrency The largest number of files to process at once
+   * @return A processor of files to completed OCR requests
+   */
+  public static Flow.Processor<java.io.File, OcrRequest> ocr(
+      DocAIClient client, RequestTracker tracker, int maxConcurrency) {
+    return new AsyncProcessor<>(
+        f ->
+            Futures.compose(
+                Futures.compose(
+                    File.submitFileAsync(client, f),
+                    file -> OcrRequest.createRequestAsync(client, file)),
+                request -> completion(tracker, request)),
+        maxConcurrency);
+  }
+
+  /**
+   * Creates a processor that uploads each file, requests extraction of the fields from it and
+   * delivers the request once its results are ready
+   *
+   * @param client The client to make requests with
+   * @param tracker The tracker that waits for the requests to complete
+   * @param fieldIds The IDs of the fields to extract from each file
+   * @param maxConcurrency The largest number of files to process at once
+   * @return A processor of files to completed extraction requests
+   */
+  public static Flow.Processor<java.io.File, ExtractionRequest> extraction(
+      DocAIClient client, RequestTracker tracker, String[] fieldIds, int maxConcurrency) {
+    return new AsyncProcessor<>(
+        f ->
+            Futures.compose(
+                Futures.compose(
+                    File.submitFileAsync(client, f),
+                    file -> ExtractionRequest.createRequestAsync(client, file, fieldIds)),
+                request -> completion(tracker, request)),
+        maxConcurrency);
+  }
+
+  /**
+   * Creates a processor that downloads the results of each completed extraction request
+   *
+   * @param maxConcurrency The largest number of downloads to run at once
+   * @return A processor of completed extraction requests to their results, one result per field
+   */
+  public static Flow.Processor<ExtractionRequest, ExtractionResults[]> extractionResults(
+      int maxConcurrency) {
+    return new AsyncProcessor<>(ExtractionRequest::getResultsAsync, maxConcurrency);
+  }
+
+  /**
+   * Creates a publisher of the extraction results of each file published by {@code files}, as they
+   * become available
+   *
+   * <p>The results for a file are delivered when its extraction completes, which need not be the
+   * order in which the files were published. Files are only pulled from {@code files} as the
+   * subscriber asks for results.
+   *
+   * @param files The files to extract fields from
+   * @param client The client to make requests with
+   * @param tracker The tracker that waits for the requests to complete
+   * @param fieldIds The IDs of the fields to extract from each file
+   * @param maxConcurrency The largest number of files to process at once
+   * @return A publisher of the results of each file, one result per field
+   */
+  public static Flow.Publisher<ExtractionResults[]> extractionResults(
+      Flow.Publisher<java.io.File> files,
+      DocAIClient client,
+      RequestTracker tracker,
+      String[] fieldIds,
+      int maxConcurrency) {
+    Flow.Processor<java.io.File, ExtractionRequest> requests =
+        extraction(client, tracker, fieldIds, maxConcurrency);
+    Flow.Processor<ExtractionRequest, ExtractionResults[]> results =
+        extractionResults(maxConcurrency);
+    requests.subscribe(results);
+    files.subscribe(requests);
+    return results;
+  }
+
+  // Completes with the request once it is complete, or with a DocAIClientException if it failed.
+  // Cancelling it stops tracking the request.
+  private static <R extends BaseRequest> CompletableFuture<R> completion(
+      RequestTracker tracker, R request) {
+    return Futures.compose(
+        tracker.track(request),
+        status -> {
+          if (status.isFailed()) {
+            return CompletableFuture.failedFuture(failure(request, status));
+          }
+          return CompletableFuture.completedFuture(request);
+        });
+  }
+
+  private static DocAIClientException failure(BaseRequest request, RequestStatus status) {
+    String message = "Request " + request.requestId + " failed";
+    if (status.error != null && status.error.message != null) {
+      message += ": " + status.error.message;
+    }
+    return new DocAIClientException(message);
+  }
+}
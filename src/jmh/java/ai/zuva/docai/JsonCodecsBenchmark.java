@@ -0,0 +1,95 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.extraction.ExtractionMultipleStatuses;
+import ai.zuva.docai.extraction.ExtractionStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decoding status responses with ObjectMapper.readValue(in, Class), as DocAIClient used
+ * to, against the cached readers of JsonCodecs, with reflection and with Blackbird
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecsBenchmark {
+  private static final String STATUS =
+      "{\"request_id\":\"ce7m85s2nt5r5uan68g0\",\"file_id\":\"ce7ks02b08o78qsc6qog\","
+          + "\"status\":\"complete\",\"field_ids\":[\"25d677a1-70d0-43c2-9b36-d079733dd020\","
+          + "\"98086156-f230-423c-b214-27f542e72708\"]}";
+
+  private byte[] status;
+  private byte[] statuses;
+  private ObjectMapper mapper;
+  private JsonCodecs reflective;
+  private JsonCodecs accelerated;
+
+  @Setup
+  public void setup() {
+    status = STATUS.getBytes(StandardCharsets.UTF_8);
+    StringBuilder many = new StringBuilder("{\"num_found\":100,\"num_errors\":0,\"statuses\":{");
+    for (int i = 0; i < 100; i++) {
+      many.append(i == 0 ? "" : ",").append("\"request").append(i).append("\":").append(STATUS);
+    }
+    statuses = many.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+    reflective = new JsonCodecs(false);
+    accelerated = new JsonCodecs(true);
+    if (accelerated.accelerator == null) {
+      throw new IllegalStateException("jackson-module-blackbird is not on the benchmark classpath");
+    }
+  }
+
+  @Benchmark
+  public ExtractionStatus statusMapper() throws IOException {
+    return mapper.readValue(new ByteArrayInputStream(status), ExtractionStatus.class);
+  }
+
+  @Benchmark
+  public ExtractionStatus statusReader() throws IOException {
+    return reflective.reader(ExtractionStatus.class).readValue(new ByteArrayInputStream(status));
+  }
+
+  @Benchmark
+  public ExtractionStatus statusReaderAccelerated() throws IOException {
+    return accelerated.reader(ExtractionStatus.class).readValue(new ByteArrayInputStream(status));
+  }
+
+  @Benchmark
+  public ExtractionMultipleStatuses statusesMapper() throws IOException {
+    return mapper.readValue(new ByteArrayInputStream(statuses), ExtractionMultipleStatuses.class);
+  }
+
+  @Benchmark
+  public ExtractionMultipleStatuses statusesReader() throws IOException {
+    return reflective
+        .reader(ExtractionMultipleStatuses.class)
+        .readValue(new ByteArrayInputStream(statuses));
+  }
+
+  @Benchmark
+  public ExtractionMultipleStatuses statusesReaderAccelerated() throws IOException {
+    return accelerated
+        .reader(ExtractionMultipleStatuses.class)
+        .readValue(new ByteArrayInputStream(statuses));
+  }
+}
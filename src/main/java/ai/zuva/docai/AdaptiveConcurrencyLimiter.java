@@ -0,0 +1,318 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of requests in flight, adjusting the limit to the latency and overload
+ * signals observed from the server
+ *
+ * <p>The limit follows an additive-increase/multiplicative-decrease (AIMD) rule. Each completed
+ * request is a sample: if the server rejected it as overloaded (429, 503 or a timeout), or if its
+ * round trip time exceeded rttTolerance times the baseline, the limit is multiplied by
+ * backoffRatio. Otherwise, if at least half of the limit is in use, the limit grows by one. The
+ * baseline is the lowest round trip time seen in the previous window of samples, so it tracks the
+ * server's unloaded latency even if that changes over a long run.
+ *
+ * <p>Every change of the limit is recorded, so that its convergence can be inspected with {@link
+ * #getHistory()}.
+ */
+public class AdaptiveConcurrencyLimiter {
+  public final int minLimit;
+  public final int maxLimit;
+  public final double backoffRatio;
+  public final double rttTolerance;
+  public final int rttWindow;
+  public final int historySize;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitReleased = lock.newCondition();
+  private final Deque<CompletableFuture<Permit>> waiting = new ArrayDeque<>();
+  private final Deque<LimitChange> history = new ArrayDeque<>();
+
+  // All of the following are guarded by lock
+  private double limit;
+  private int inFlight;
+  private long baselineRttNanos = Long.MAX_VALUE;
+  private long windowMinRttNanos = Long.MAX_VALUE;
+  private int windowSamples;
+
+  private AdaptiveConcurrencyLimiter(Builder builder) {
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.backoffRatio = builder.backoffRatio;
+    this.rttTolerance = builder.rttTolerance;
+    this.rttWindow = builder.rttWindow;
+    this.historySize = builder.historySize;
+    this.limit = builder.initialLimit;
+    history.add(new LimitChange(Instant.now(), builder.initialLimit, "initial"));
+  }
+
+  /** A slot for one request. Exactly one of the release methods must be called once it is done. */
+  public class Permit {
+    private final long startNanos = System.nanoTime();
+    private boolean released;
+
+    /** The request completed normally, whether or not the response was an error. */
+    public void release() {
+      onRelease(this, System.nanoTime() - startNanos, false, true);
+    }
+
+    /** The server rejected the request as overloaded, or it timed out. */
+    public void releaseDropped() {
+      onRelease(this, System.nanoTime() - startNanos, true, true);
+    }
+
+    /** The request failed for a reason that says nothing about the server's load. */
+    public void releaseIgnored() {
+      onRelease(this, 0, false, false);
+    }
+  }
+
+  /**
+   * Blocks until fewer requests than the current limit are in flight
+   *
+   * @return A permit that must be released when the request completes
+   * @throws InterruptedException The thread was interrupted while waiting
+   */
+  public Permit acquire() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= currentLimit()) {
+        permitReleased.await();
+      }
+      inFlight++;
+      return new Permit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Obtains a permit without blocking the calling thread
+   *
+   * @return A future that completes with a permit once fewer requests than the current limit are
+   *     in flight. If the future is cancelled before then, no permit is taken.
+   */
+  public CompletableFuture<Permit> acquireAsync() {
+    lock.lock();
+    try {
+      if (waiting.isEmpty() && inFlight < currentLimit()) {
+        inFlight++;
+        return CompletableFuture.completedFuture(new Permit());
+      }
+      CompletableFuture<Permit> future = new CompletableFuture<>();
+      waiting.add(future);
+      return future;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int currentLimit() {
+    return (int) limit;
+  }
+
+  private void onRelease(Permit permit, long rttNanos, boolean dropped, boolean sample) {
+    List<CompletableFuture<Permit>> ready = new ArrayList<>();
+    lock.lock();
+    try {
+      if (permit.released) {
+        return;
+      }
+      permit.released = true;
+      inFlight--;
+      if (sample) {
+        update(rttNanos, dropped);
+      }
+      // Hand freed slots to asynchronous waiters first, in arrival order
+      while (!waiting.isEmpty() && inFlight < currentLimit()) {
+        CompletableFuture<Permit> next = waiting.poll();
+        if (!next.isDone()) {
+          inFlight++;
+          ready.add(next);
+        }
+      }
+      permitReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    // Complete outside the lock, since dependent stages run on this thread
+    for (CompletableFuture<Permit> future : ready) {
+      Permit granted = new Permit();
+      if (!future.complete(granted)) {
+        granted.releaseIgnored();
+      }
+    }
+  }
+
+  private void update(long rttNanos, boolean dropped) {
+    windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+    if (++windowSamples >= rttWindow) {
+      baselineRttNanos = windowMinRttNanos;
+      windowMinRttNanos = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+    long baseline = Math.min(baselineRttNanos, windowMinRttNanos);
+
+    int before = currentLimit();
+    String reason;
+    if (dropped) {
+      limit = Math.max(minLimit, limit * backoffRatio);
+      reason = "overload";
+    } else if (rttNanos > rttTolerance * baseline) {
+      limit = Math.max(minLimit, limit * backoffRatio);
+      reason = "latency";
+    } else if (inFlight * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1);
+      reason = "increase";
+    } else {
+      return;
+    }
+    if (currentLimit() != before) {
+      history.add(new LimitChange(Instant.now(), currentLimit(), reason));
+      while (history.size() > historySize) {
+        history.poll();
+      }
+    }
+  }
+
+  /** @return The current maximum number of requests in flight */
+  public int getLimit() {
+    lock.lock();
+    try {
+      return currentLimit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return The number of requests currently holding a permit */
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return The baseline round trip time, or null if no request has completed yet */
+  public Duration getBaselineRtt() {
+    lock.lock();
+    try {
+      long baseline = Math.min(baselineRttNanos, windowMinRttNanos);
+      return baseline == Long.MAX_VALUE ? null : Duration.ofNanos(baseline);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return The most recent changes of the limit, oldest first, up to historySize entries */
+  public List<LimitChange> getHistory() {
+    lock.lock();
+    try {
+      return new ArrayList<>(history);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public static class LimitChange {
+    public final Instant time;
+    public final int limit;
+    // One of "initial", "increase", "latency" or "overload"
+    public final String reason;
+
+    LimitChange(Instant time, int limit, String reason) {
+      this.time = time;
+      this.limit = limit;
+      this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s %d (%s)", time, limit, reason);
+    }
+  }
+
+  public static class Builder {
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double backoffRatio = 0.9;
+    private double rttTolerance = 2.0;
+    private int rttWindow = 1000;
+    private int historySize = 1000;
+
+    /**
+     * @param initialLimit The limit to start from
+     * @param minLimit The lowest the limit may be reduced to
+     * @param maxLimit The highest the limit may grow to
+     * @return This builder
+     */
+    public Builder limits(int initialLimit, int minLimit, int maxLimit) {
+      if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+        throw new IllegalArgumentException(
+            "limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+      }
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * @param backoffRatio The factor the limit is multiplied by when overload is detected
+     * @return This builder
+     */
+    public Builder backoffRatio(double backoffRatio) {
+      if (!(backoffRatio > 0 && backoffRatio < 1)) {
+        throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+      }
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * @param rttTolerance How many times the baseline round trip time a request may take before it
+     *     is treated as a sign of overload
+     * @param rttWindow The number of samples after which the baseline is re-measured
+     * @return This builder
+     */
+    public Builder rttTolerance(double rttTolerance, int rttWindow) {
+      if (!(rttTolerance >= 1)) {
+        throw new IllegalArgumentException("rttTolerance must be at least 1");
+      }
+      if (rttWindow < 1) {
+        throw new IllegalArgumentException("rttWindow must be positive");
+      }
+      this.rttTolerance = rttTolerance;
+      this.rttWindow = rttWindow;
+      return this;
+    }
+
+    /**
+     * @param historySize The number of limit changes to keep
+     * @return This builder
+     */
+    public Builder historySize(int historySize) {
+      if (historySize < 1) {
+        throw new IllegalArgumentException("historySize must be positive");
+      }
+      this.historySize = historySize;
+      return this;
+    }
+
+    public AdaptiveConcurrencyLimiter build() {
+      return new AdaptiveConcurrencyLimiter(this);
+    }
+  }
+}
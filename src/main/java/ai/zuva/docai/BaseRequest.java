@@ -3,9 +3,16 @@ package ai.zuva.docai;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.exception.DocAIError;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class BaseRequest {
+  // The number of status requests timed by the latency model's prediction
+  static final int PREDICTED_POLLS = 2;
+
   public final String requestId;
   protected final DocAIClient client;
 
@@ -18,12 +25,20 @@ public abstract class BaseRequest {
   /** An error message provided by the API if the initialStatus of the request is "failed." */
   public final DocAIError error;
 
+  // Only requests created through this SDK have a known submission time, from which their
+  // processing time can be learned and predicted
+  private final boolean submittedHere;
+  private final long submittedAtNanos;
+  private final AtomicBoolean latencyRecorded = new AtomicBoolean();
+
   protected BaseRequest(
       DocAIClient client, String requestId, ProcessingState initialStatus, DocAIError error) {
     this.client = client;
     this.requestId = requestId;
     this.initialStatus = initialStatus;
     this.error = error;
+    this.submittedHere = false;
+    this.submittedAtNanos = 0;
   }
 
   protected BaseRequest(DocAIClient client, RequestStatus status) {
@@ -31,10 +46,80 @@ public abstract class BaseRequest {
     this.requestId = status.requestId;
     this.initialStatus = status.status;
     this.error = status.error;
+    this.submittedHere = true;
+    this.submittedAtNanos = System.nanoTime();
+  }
+
+  /**
+   * Returns the service that processes this request, used to learn and predict its processing time
+   *
+   * @return The service, or {@link EndpointFamily#OTHER} if processing times should not be modelled
+   */
+  protected EndpointFamily getService() {
+    return EndpointFamily.OTHER;
+  }
+
+  /**
+   * Returns the file this request processes, used to learn and predict its processing time by size
+   *
+   * @return The ID of the file, or null if it is not known
+   */
+  protected String getFileId() {
+    return null;
+  }
+
+  // Adds this request's processing time to the client's latency model, the first time it is seen
+  // to be complete
+  void recordCompletion(RequestStatus status) {
+    if (!submittedHere
+        || getService() == EndpointFamily.OTHER
+        || !status.isComplete()
+        || !latencyRecorded.compareAndSet(false, true)) {
+      return;
+    }
+    LatencyModel model = client.getLatencyModel();
+    model.record(
+        getService(),
+        model.getFileSize(getFileId()),
+        Duration.ofNanos(System.nanoTime() - submittedAtNanos));
+  }
+
+  // The predicted time until this request completes, or null if it cannot be predicted
+  private Duration predictRemaining(double quantile) {
+    if (!submittedHere || quantile <= 0 || getService() == EndpointFamily.OTHER) {
+      return null;
+    }
+    LatencyModel model = client.getLatencyModel();
+    return model.predictRemaining(
+        getService(),
+        model.getFileSize(getFileId()),
+        Duration.ofNanos(System.nanoTime() - submittedAtNanos),
+        quantile);
   }
 
   public abstract RequestStatus getStatus() throws DocAIClientException, DocAIApiException;
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the request status, or exceptionally with a
+   *     DocAIClientException or DocAIApiException
+   */
+  public abstract CompletableFuture<? extends RequestStatus> getStatusAsync();
+
+  /**
+   * Gets the statuses of several requests of the same type as this one with a single call to the
+   * API's bulk status endpoint, for use by {@link RequestTracker}
+   *
+   * @param requestIds The IDs of requests of the same type as this one, made with the same client
+   * @return A future that completes with the statuses, or null if there is no bulk status endpoint
+   *     for this type of request
+   */
+  protected CompletableFuture<? extends MultipleRequestStatus> getBatchStatusesAsync(
+      List<String> requestIds) {
+    return null;
+  }
+
   public RequestStatus pollStatus(long pollingIntervalSeconds, long timeoutSeconds)
       throws DocAIClientException, DocAIApiException, InterruptedException {
     return pollStatus(pollingIntervalSeconds, timeoutSeconds, false);
@@ -49,16 +134,59 @@ public abstract class BaseRequest {
     if (pollingIntervalSeconds < 1) {
       throw new DocAIClientException("pollingIntervalSeconds must be positive");
     }
-    long tStart = Instant.now().toEpochMilli();
+    return pollStatus(
+        PollingPolicy.fixed(
+            Duration.ofSeconds(pollingIntervalSeconds), Duration.ofSeconds(timeoutSeconds)),
+        showProgress);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @return The last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public RequestStatus pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return pollStatus(policy, false);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return The last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public RequestStatus pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    long tStart = System.nanoTime();
+    long deadline = tStart + policy.timeout.toNanos();
     if (showProgress) System.out.print("Wait for processing");
-    while (true) {
-      RequestStatus status = this.getStatus();
+    long firstDelay = policy.initialDelay.toNanos();
+    Duration predicted = predictRemaining(policy.predictionQuantile);
+    if (predicted != null) {
+      firstDelay = Math.max(firstDelay, predicted.toNanos());
+    }
+    sleepUntil(deadline - (tStart + firstDelay) < 0 ? deadline : tStart + firstDelay);
+    boolean lastPoll = false;
+    for (int polls = 1; ; polls++) {
+      RequestStatus status = getStatusRecorded(polls);
       if (showProgress) System.out.print(".");
       if (status.isComplete() || status.isFailed()) {
         if (showProgress) System.out.println(status.status.name());
+        recordCompletion(status);
         return status;
       }
-      if (Instant.now().toEpochMilli() - tStart > timeoutSeconds * 1000) {
+      long now = System.nanoTime();
+      if (lastPoll || now - deadline >= 0) {
         if (showProgress) {
           System.out.println(
               "Timed out waiting for request to be processed. Last status: "
@@ -66,7 +194,47 @@ public abstract class BaseRequest {
         }
         return status;
       }
-      Thread.sleep(pollingIntervalSeconds * 1000);
+      // Never wait past the deadline, so that the last status request is made just before it
+      long wakeUp = now + nextDelay(policy, polls).toNanos();
+      lastPoll = wakeUp - deadline >= 0;
+      sleepUntil(lastPoll ? deadline : wakeUp);
+    }
+  }
+
+  // Gets the status, and records the status request as a Flight Recorder event
+  private RequestStatus getStatusRecorded(int poll) throws DocAIClientException, DocAIApiException {
+    FlightRecorderEvents.StatusPoll event = FlightRecorderEvents.statusPoll(requestId, poll);
+    if (event == null) {
+      return getStatus();
+    }
+    RequestStatus status = null;
+    try {
+      status = getStatus();
+    } finally {
+      event.end(status == null ? null : status.status);
+    }
+    return status;
+  }
+
+  // Follows the learned completion time for the first polls, within the policy's interval limits.
+  // A request still running after them is slower than predicted, so from then on (or if there is
+  // no prediction) the policy's backoff schedule and jitter apply.
+  private Duration nextDelay(PollingPolicy policy, int polls) {
+    Duration predicted =
+        polls < PREDICTED_POLLS ? predictRemaining(policy.predictionQuantile) : null;
+    if (predicted == null) {
+      return policy.delayAfter(polls);
+    }
+    if (predicted.compareTo(policy.initialInterval) < 0) {
+      return policy.initialInterval;
+    }
+    return predicted.compareTo(policy.maxInterval) > 0 ? policy.maxInterval : predicted;
+  }
+
+  private static void sleepUntil(long nanoTime) throws InterruptedException {
+    long remaining = nanoTime - System.nanoTime();
+    if (remaining > 0) {
+      TimeUnit.NANOSECONDS.sleep(remaining);
     }
   }
 }
@@ -0,0 +1,96 @@
+package ai.zuva.docai;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A binary result, such as the page images of an OCR request, that is held in memory if it is
+ * smaller than a threshold and in a temporary file otherwise
+ *
+ * <p>Close the result to delete its temporary file, unless it has been moved with {@link
+ * #moveTo(Path)}.
+ */
+public class BinaryResult implements AutoCloseable {
+  private final byte[] bytes;
+  private final Path file;
+  private final long size;
+
+  BinaryResult(byte[] bytes) {
+    this.bytes = bytes;
+    this.file = null;
+    this.size = bytes.length;
+  }
+
+  BinaryResult(Path file, long size) {
+    this.bytes = null;
+    this.file = file;
+    this.size = size;
+  }
+
+  /** @return The size of the result in bytes */
+  public long size() {
+    return size;
+  }
+
+  /** @return True if the result is held in memory, false if it was spilled to a temporary file */
+  public boolean isInMemory() {
+    return file == null;
+  }
+
+  /** @return The temporary file that holds the result, or null if it is held in memory */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Opens a stream that reads the result
+   *
+   * @return A new stream, which the caller must close
+   * @throws IOException The temporary file could not be opened
+   */
+  public InputStream openStream() throws IOException {
+    return file == null ? new ByteArrayInputStream(bytes) : Files.newInputStream(file);
+  }
+
+  /**
+   * Returns the result as a byte array, reading it from its temporary file if it was spilled
+   *
+   * @return The bytes of the result
+   * @throws IOException The temporary file could not be read, or is too large for an array
+   */
+  public byte[] toByteArray() throws IOException {
+    if (file == null) {
+      return bytes;
+    }
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IOException("Result of " + size + " bytes is too large for an array");
+    }
+    return Files.readAllBytes(file);
+  }
+
+  /**
+   * Saves the result to a file, moving the temporary file there if the result was spilled
+   *
+   * @param target The file to save the result to, which is replaced if it exists
+   * @throws IOException The result could not be saved
+   */
+  public void moveTo(Path target) throws IOException {
+    if (file == null) {
+      Files.write(target, bytes);
+    } else {
+      Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /** Deletes the temporary file, if the result was spilled and has not been moved */
+  @Override
+  public void close() throws IOException {
+    if (file != null) {
+      Files.deleteIfExists(file);
+    }
+  }
+}
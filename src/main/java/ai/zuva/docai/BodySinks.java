@@ -0,0 +1,128 @@
+package ai.zuva.docai;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Copies response bodies to files, channels and streams as they arrive, so they are never held in
+// memory as a whole. Files are filled with FileChannel.transferFrom in large chunks, which leaves
+// the buffering to the channel.
+final class BodySinks {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+  private BodySinks() {}
+
+  // Writes the body to a temporary file next to the target, which then replaces the target, so
+  // the target never holds a partial body
+  static long toFile(InputStream body, Path target) throws IOException {
+    Path absolute = target.toAbsolutePath();
+    Path part =
+        Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".part");
+    try {
+      long size;
+      try (FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE)) {
+        size = transfer(body, out, 0);
+      }
+      try {
+        Files.move(
+            part, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(part, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return size;
+    } finally {
+      Files.deleteIfExists(part);
+    }
+  }
+
+  static long toChannel(InputStream body, WritableByteChannel out) throws IOException {
+    if (out instanceof FileChannel) {
+      FileChannel file = (FileChannel) out;
+      long start = file.position();
+      long size = transfer(body, file, start);
+      file.position(start + size);
+      return size;
+    }
+    ReadableByteChannel in = Channels.newChannel(body);
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    long size = 0;
+    while (in.read(buffer) != -1) {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        size += out.write(buffer);
+      }
+      buffer.clear();
+    }
+    return size;
+  }
+
+  static long toStream(InputStream body, OutputStream out) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long size = 0;
+    int n;
+    while ((n = body.read(buffer)) != -1) {
+      out.write(buffer, 0, n);
+      size += n;
+    }
+    return size;
+  }
+
+  // Keeps the body in memory until it grows past the threshold, then moves it to a temporary file
+  static BinaryResult spool(InputStream body, long threshold) throws IOException {
+    ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int n;
+    while ((n = body.read(buffer)) != -1) {
+      if (memory.size() + n > threshold) {
+        return spill(memory, buffer, n, body);
+      }
+      memory.write(buffer, 0, n);
+    }
+    return new BinaryResult(memory.toByteArray());
+  }
+
+  private static BinaryResult spill(
+      ByteArrayOutputStream memory, byte[] buffer, int n, InputStream body) throws IOException {
+    Path file = Files.createTempFile("docai-", ".bin");
+    try {
+      long size;
+      try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        memory.writeTo(Channels.newOutputStream(out));
+        ByteBuffer last = ByteBuffer.wrap(buffer, 0, n);
+        while (last.hasRemaining()) {
+          out.write(last);
+        }
+        size = memory.size() + n;
+        size += transfer(body, out, size);
+      }
+      return new BinaryResult(file, size);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  // Transfers the rest of the body into the file at the given position
+  private static long transfer(InputStream body, FileChannel out, long position)
+      throws IOException {
+    ReadableByteChannel in = Channels.newChannel(body);
+    long size = 0;
+    long n;
+    while ((n = out.transferFrom(in, position + size, TRANSFER_SIZE)) > 0) {
+      size += n;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,192 @@
+package ai.zuva.docai;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs blocking SDK code for many documents at once
+ *
+ * <p>On Java 21 and later, each task runs on its own virtual thread, so the whole lifecycle of a
+ * document can be written in the plain blocking style (submit the file, create a request, {@code
+ * pollStatus()}, get the results) for tens of thousands of documents without sizing a thread pool
+ * per stage. Requests made from a virtual thread are handed to the transport's asynchronous path,
+ * so they stay within the runtime's dispatcher limits and the virtual thread parks while it waits
+ * instead of pinning its carrier thread. On older JVMs the tasks run on a bounded pool of platform
+ * threads.
+ *
+ * <pre>{@code
+ * try (BulkExecutor bulk = new BulkExecutor()) {
+ *   List<CompletableFuture<ExtractionResults[]>> results =
+ *       bulk.processFiles(files, file -> {
+ *         File docAiFile = File.submitFile(client, file);
+ *         ExtractionRequest request = ExtractionRequest.createRequest(client, docAiFile, fieldIds);
+ *         request.pollStatus(5, 1800);
+ *         return request.getResults();
+ *       });
+ * }
+ * }</pre>
+ */
+public class BulkExecutor implements AutoCloseable {
+  /** The number of platform threads used when virtual threads are not available */
+  public static final int DEFAULT_PLATFORM_THREADS = 64;
+
+  /**
+   * A unit of blocking work
+   *
+   * @param <T> The type of the result
+   */
+  @FunctionalInterface
+  public interface Task<T> {
+    T call() throws Exception;
+  }
+
+  /**
+   * The blocking work to perform for one file
+   *
+   * @param <T> The type of the result
+   */
+  @FunctionalInterface
+  public interface FileTask<T> {
+    T process(File file) throws Exception;
+  }
+
+  private final ExecutorService executor;
+  private final boolean virtual;
+  private final Semaphore permits;
+
+  /**
+   * Creates an executor that runs every task at once on virtual threads, or at most {@link
+   * #DEFAULT_PLATFORM_THREADS} tasks at a time when virtual threads are not available
+   */
+  public BulkExecutor() {
+    this(0);
+  }
+
+  /**
+   * Creates an executor that runs at most {@code maxConcurrency} tasks at a time
+   *
+   * @param maxConcurrency The maximum number of tasks to run at once, or 0 for no limit on virtual
+   *     threads (and {@link #DEFAULT_PLATFORM_THREADS} on platform threads)
+   */
+  public BulkExecutor(int maxConcurrency) {
+    if (maxConcurrency < 0) {
+      throw new IllegalArgumentException("maxConcurrency must not be negative");
+    }
+    ExecutorService perTask = VirtualThreads.newPerTaskExecutor();
+    if (perTask != null) {
+      executor = perTask;
+      virtual = true;
+      permits = maxConcurrency == 0 ? null : new Semaphore(maxConcurrency);
+    } else {
+      int threads = maxConcurrency == 0 ? DEFAULT_PLATFORM_THREADS : maxConcurrency;
+      ThreadPoolExecutor pool =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              r -> {
+                Thread thread = new Thread(r, "docai-bulk");
+                thread.setDaemon(true);
+                return thread;
+              });
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+      virtual = false;
+      permits = null;
+    }
+  }
+
+  /** @return true if tasks run on virtual threads */
+  public boolean usesVirtualThreads() {
+    return virtual;
+  }
+
+  /**
+   * Runs a task on its own thread
+   *
+   * @param task The blocking work to run
+   * @param <T> The type of the result
+   * @return A future that completes with the task's result, or exceptionally with the exception it
+   *     threw. Cancelling the future interrupts the task.
+   * @throws RejectedExecutionException if the executor has been closed
+   */
+  public <T> CompletableFuture<T> submit(Task<T> task) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> running = executor.submit(() -> run(task, result));
+    result.whenComplete(
+        (value, t) -> {
+          if (t instanceof CancellationException) {
+            running.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Runs the same blocking work for each file, each on its own thread
+   *
+   * @param files The files to process
+   * @param task The work to perform for one file, typically its whole lifecycle from upload to
+   *     results
+   * @param <T> The type of the result
+   * @return One future per file, in the order of {@code files}. A failure for one file does not
+   *     affect the others.
+   * @throws RejectedExecutionException if the executor has been closed
+   */
+  public <T> List<CompletableFuture<T>> processFiles(List<File> files, FileTask<T> task) {
+    List<CompletableFuture<T>> results = new ArrayList<>(files.size());
+    for (File file : files) {
+      results.add(submit(() -> task.process(file)));
+    }
+    return results;
+  }
+
+  private <T> void run(Task<T> task, CompletableFuture<T> result) {
+    if (result.isDone()) {
+      return;
+    }
+    boolean acquired = false;
+    try {
+      if (permits != null) {
+        permits.acquire();
+        acquired = true;
+      }
+      result.complete(task.call());
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+    } finally {
+      if (acquired) {
+        permits.release();
+      }
+    }
+  }
+
+  /**
+   * Stops accepting new tasks and waits for the submitted ones to finish. If the calling thread is
+   * interrupted while waiting, the remaining tasks are interrupted.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        // Keep waiting; bulk lifecycles can take a long time
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package ai.zuva.docai;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// A request body held in memory
+class ByteArrayBody implements HttpTransport.Body {
+  private final byte[] bytes;
+  private final String contentType;
+
+  ByteArrayBody(byte[] bytes, String contentType) {
+    this.bytes = bytes;
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return bytes.length;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(bytes);
+  }
+}
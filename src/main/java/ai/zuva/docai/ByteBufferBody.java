@@ -0,0 +1,45 @@
+package ai.zuva.docai;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+// A request body held in a buffer, from its position to its limit. The buffer's position is not
+// changed, so the body can be written again on a retry. A direct buffer is copied out through a
+// small chunk at a time.
+class ByteBufferBody implements HttpTransport.Body {
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final ByteBuffer buffer;
+  private final String contentType;
+
+  ByteBufferBody(ByteBuffer buffer, String contentType) {
+    this.buffer = buffer.duplicate();
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    ByteBuffer body = buffer.duplicate();
+    if (body.hasArray()) {
+      out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+      return;
+    }
+    byte[] chunk = new byte[Math.min(CHUNK_SIZE, body.remaining())];
+    while (body.hasRemaining()) {
+      int n = Math.min(chunk.length, body.remaining());
+      body.get(chunk, 0, n);
+      out.write(chunk, 0, n);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The effective transport settings of a DocAIClient, as reported by its {@link HttpTransport}
+ * after construction. A timeout of zero means that no timeout is applied, and a request or
+ * connection limit of zero that the transport does not apply or report one.
+ */
+public class ClientSettings {
+  public final int maxRequests;
+  public final int maxRequestsPerHost;
+  public final int maxIdleConnections;
+  public final Duration keepAlive;
+  public final Duration connectTimeout;
+  public final Duration readTimeout;
+  public final Duration writeTimeout;
+  public final Duration callTimeout;
+  public final List<String> protocols;
+
+  ClientSettings(
+      int maxRequests,
+      int maxRequestsPerHost,
+      int maxIdleConnections,
+      Duration keepAlive,
+      Duration connectTimeout,
+      Duration readTimeout,
+      Duration writeTimeout,
+      Duration callTimeout,
+      List<String> protocols) {
+    this.maxRequests = maxRequests;
+    this.maxRequestsPerHost = maxRequestsPerHost;
+    this.maxIdleConnections = maxIdleConnections;
+    this.keepAlive = keepAlive;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.writeTimeout = writeTimeout;
+    this.callTimeout = callTimeout;
+    this.protocols = Collections.unmodifiableList(protocols);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "maxRequests=%d, maxRequestsPerHost=%d, maxIdleConnections=%d, keepAlive=%s, "
+            + "connectTimeout=%s, readTimeout=%s, writeTimeout=%s, callTimeout=%s, protocols=%s",
+        maxRequests,
+        maxRequestsPerHost,
+        maxIdleConnections,
+        keepAlive,
+        connectTimeout,
+        readTimeout,
+        writeTimeout,
+        callTimeout,
+        protocols);
+  }
+}
@@ -2,92 +2,1056 @@ package ai.zuva.docai;
 
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
+import ai.zuva.docai.exception.DocAIException;
+import ai.zuva.docai.files.BulkDeletePolicy;
+import ai.zuva.docai.files.DeletionQueue;
+import ai.zuva.docai.files.UploadCache;
+import ai.zuva.docai.metrics.MetricsListener;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
 import okhttp3.HttpUrl;
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
 
-public class DocAIClient {
+public class DocAIClient implements AutoCloseable {
   private final HttpUrl baseUrl;
   private final String token;
-  private final OkHttpClient client;
+  private final String credentialScope;
+  private final HttpTransport transport;
   private final ObjectMapper mapper;
+  private final JsonCodecs codecs;
+  private final DocAIRuntime runtime;
+  private final ClientSettings settings;
+  private final RetryPolicy retryPolicy;
+  private final Retrier retrier;
+  private final ConcurrentMap<RetryPolicy, Retrier> policyRetriers = new ConcurrentHashMap<>();
+  private final Map<EndpointFamily, RateLimiter> rateLimiters;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final Hedger hedger;
+  private final LatencyModel latencyModel;
+  private final MetricsListener metricsListener;
+  private final UploadCache uploadCache;
+  private final DeletionQueue deletionQueue;
+  private final int maxUrlLength;
 
   /**
    * Client to interact with a DocAI server using a specific token
    *
+   * <p>The client uses the default transport settings. Use {@link Builder} to tune connection
+   * pooling, concurrency limits, timeouts and protocols.
+   *
    * @param baseUrl The url to make requests to (e.g. us.app.zuva.ai). The scheme and port may
    *     optionally be included.
    * @param token The Zuva token to use to authenticate all requests
    */
   public DocAIClient(String baseUrl, String token) {
-    this.token = token;
-    client = new OkHttpClient();
-    mapper = new ObjectMapper();
-    mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+    this(new Builder(baseUrl, token));
+  }
+
+  private DocAIClient(Builder builder) {
+    this.token = builder.token;
+
+    if (builder.runtime != null && builder.transportCustomized) {
+      throw new IllegalStateException(
+          "Dispatcher, connection pool and protocol settings must be set on the DocAIRuntime");
+    }
+    // Without a runtime to share, the client has its own dispatcher and connection pool, as it did
+    // before runtimes existed. Sharing is opt-in, so existing clients keep their isolation.
+    runtime = builder.runtime == null ? builder.transport.build() : builder.runtime;
+
+    // A view of the runtime's transport: it shares the dispatcher and connection pool
+    HttpTransport view;
+    if (builder.connectTimeout == null
+        && builder.readTimeout == null
+        && builder.writeTimeout == null
+        && builder.callTimeout == null) {
+      view = runtime.transport;
+    } else {
+      view =
+          runtime.transport.withTimeouts(
+              builder.connectTimeout,
+              builder.readTimeout,
+              builder.writeTimeout,
+              builder.callTimeout);
+    }
+    metricsListener = builder.metricsListener;
+    transport =
+        metricsListener == null && !FlightRecorderEvents.isAvailable()
+            ? view
+            : new MeteredTransport(view, metricsListener);
+    settings = transport.getSettings();
+    retryPolicy = builder.retryPolicy;
+    retrier = new Retrier(retryPolicy);
+    rateLimiters = new EnumMap<>(builder.rateLimiters);
+    concurrencyLimiter = builder.concurrencyLimiter;
+    hedger = builder.hedgePolicy == null ? null : new Hedger(builder.hedgePolicy);
+    latencyModel = builder.latencyModel == null ? new LatencyModel() : builder.latencyModel;
+    uploadCache = builder.uploadCache;
+    deletionQueue = new DeletionQueue(this, builder.bulkDeletePolicy);
+    maxUrlLength = builder.maxUrlLength;
+
+    codecs = runtime.codecs;
+    mapper = codecs.mapper;
 
     // Set default scheme to https
     String scheme = "https";
     try {
-      scheme = HttpUrl.parse(baseUrl).scheme();
+      scheme = HttpUrl.parse(builder.baseUrl).scheme();
     } catch (NullPointerException ignored) {
     }
 
-    this.baseUrl = HttpUrl.parse(baseUrl).newBuilder().scheme(scheme).build();
+    this.baseUrl = HttpUrl.parse(builder.baseUrl).newBuilder().scheme(scheme).build();
+    credentialScope = this.baseUrl + " " + sha256Hex(token);
   }
 
-  private HttpUrl buildUrl(String path) {
-    return baseUrl.newBuilder().addPathSegments(path).build();
+  /**
+   * Returns the transport settings in effect for this client
+   *
+   * @return The effective dispatcher, connection pool, timeout and protocol settings
+   */
+  public ClientSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * Returns the runtime whose connections and JSON codec this client uses
+   *
+   * @return The runtime given to the builder, or a runtime private to this client if it was not
+   *     given one
+   */
+  public DocAIRuntime getRuntime() {
+    return runtime;
+  }
+
+  /**
+   * Returns the rate limiter applied to requests to an endpoint family
+   *
+   * @param family The endpoint family
+   * @return The family's rate limiter, or null if requests to the family are not rate limited
+   */
+  public RateLimiter getRateLimiter(EndpointFamily family) {
+    return rateLimiters.get(family);
+  }
+
+  /**
+   * Returns the limiter that adapts the number of requests in flight to the server's responses
+   *
+   * @return The concurrency limiter, or null if the number of requests in flight is only bounded
+   *     by the dispatcher settings
+   */
+  public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
+  /**
+   * Returns the number of hedged attempts this client has sent
+   *
+   * @return The number of GETs that were sent a second time because the first attempt was slow,
+   *     or 0 if hedging is not enabled
+   */
+  public long getHedgeCount() {
+    return hedger == null ? 0 : hedger.getHedgeCount();
+  }
+
+  /**
+   * Returns the model of request processing times that predictive polling uses
+   *
+   * @return The latency model, which can be saved and loaded to carry it across restarts
+   */
+  public LatencyModel getLatencyModel() {
+    return latencyModel;
   }
 
-  private String JsonToStringBody(Object obj) throws DocAIClientException {
+  /**
+   * Returns the listener that receives this client's call metrics
+   *
+   * @return The listener given to the builder, or null if metrics are not recorded
+   */
+  public MetricsListener getMetricsListener() {
+    return metricsListener;
+  }
+
+  /**
+   * Returns the cache that lets this client skip uploading documents it has uploaded before
+   *
+   * @return The cache given to the builder, or null if every document is uploaded
+   */
+  public UploadCache getUploadCache() {
+    return uploadCache;
+  }
+
+  /**
+   * Identifies the server and account this client acts for, without revealing its token
+   *
+   * @return The client's base URL and the hex SHA-256 hash of its token, separated by a space
+   */
+  public String getCredentialScope() {
+    return credentialScope;
+  }
+
+  private static String sha256Hex(String s) {
+    byte[] hash;
     try {
-      return this.mapper.writeValueAsString(obj);
-    } catch (JsonProcessingException e) {
-      throw (new DocAIClientException("Error creating request body", e));
+      hash = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
     }
+    StringBuilder hex = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
   }
 
-  private <T> T jsonResponseToObject(String s, Class<T> valueType) throws DocAIClientException {
+  /**
+   * Returns the queue of files this client deletes in the background
+   *
+   * @return The queue to which {@link ai.zuva.docai.files.File#deleteInBackground()} adds files,
+   *     and which {@link #close()} drains
+   */
+  public DeletionQueue getDeletionQueue() {
+    return deletionQueue;
+  }
+
+  /**
+   * Waits for the files queued for deletion with {@link
+   * ai.zuva.docai.files.File#deleteInBackground()} to be deleted
+   *
+   * <p>The client's runtime is not closed, since it may be shared with other clients; close the
+   * runtime itself to release its connections and threads. The client can still be used after it
+   * has been closed.
+   *
+   * @throws DocAIClientException Some files could not be deleted, or the thread was interrupted
+   *     while waiting. The failure of each file is attached as a suppressed exception.
+   */
+  @Override
+  public void close() throws DocAIClientException {
+    Map<String, Throwable> failures;
     try {
-      return mapper.readValue(s, valueType);
+      failures = deletionQueue.drain();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DocAIClientException("Interrupted while waiting for files to be deleted", e);
+    }
+    if (!failures.isEmpty()) {
+      DocAIClientException e =
+          new DocAIClientException(
+              failures.size() + " files could not be deleted: " + failures.keySet());
+      for (Throwable failure : failures.values()) {
+        e.addSuppressed(failure);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Builder for a DocAIClient with non-default transport settings
+   *
+   * <p>The defaults match those of a client created with {@link #DocAIClient(String, String)}: at
+   * most 64 concurrent requests (5 per host), 5 idle pooled connections kept alive for 5 minutes,
+   * 10 second connect/read/write timeouts, no overall call timeout, and HTTP/2 preferred over
+   * HTTP/1.1 where the server supports it.
+   *
+   * <p>Unless it is given a runtime with {@link #runtime(DocAIRuntime)}, such as {@link
+   * DocAIRuntime#shared()}, the client has a runtime of its own built from the dispatcher,
+   * connection pool and protocol options of this builder, and does not share connections with
+   * other clients. Timeouts can be set per client in either case.
+   */
+  public static class Builder {
+    private final String baseUrl;
+    private final String token;
+    private DocAIRuntime runtime;
+    // Dispatcher, pool and protocol settings for a runtime private to this client
+    private final DocAIRuntime.Builder transport = new DocAIRuntime.Builder();
+    private boolean transportCustomized;
+    // Timeouts override the runtime's defaults; null means not overridden
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration writeTimeout;
+    private Duration callTimeout;
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private HedgePolicy hedgePolicy;
+    private LatencyModel latencyModel;
+    private MetricsListener metricsListener;
+    private UploadCache uploadCache;
+    private BulkDeletePolicy bulkDeletePolicy = BulkDeletePolicy.DEFAULT;
+    private int maxUrlLength = 4000;
+    private final Map<EndpointFamily, RateLimiter> rateLimiters =
+        new EnumMap<>(EndpointFamily.class);
+
+    /**
+     * @param baseUrl The url to make requests to (e.g. us.app.zuva.ai). The scheme and port may
+     *     optionally be included.
+     * @param token The Zuva token to use to authenticate all requests
+     */
+    public Builder(String baseUrl, String token) {
+      this.baseUrl = baseUrl;
+      this.token = token;
+    }
+
+    /**
+     * @param runtime The runtime whose connection pool, dispatcher and JSON codec the client
+     *     uses. It cannot be combined with the dispatcher, connection pool or protocol options of
+     *     this builder.
+     * @return This builder
+     */
+    public Builder runtime(DocAIRuntime runtime) {
+      this.runtime = runtime;
+      return this;
+    }
+
+    /**
+     * @param maxRequests The maximum number of requests to execute concurrently. Above this,
+     *     asynchronous requests queue in memory until running calls complete.
+     * @return This builder
+     */
+    public Builder maxRequests(int maxRequests) {
+      transport.maxRequests(maxRequests);
+      transportCustomized = true;
+      return this;
+    }
+
+    /**
+     * @param maxRequestsPerHost The maximum number of requests to execute concurrently against
+     *     the DocAI host
+     * @return This builder
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      transport.maxRequestsPerHost(maxRequestsPerHost);
+      transportCustomized = true;
+      return this;
+    }
+
+    /**
+     * @param maxIdleConnections The maximum number of idle connections to keep in the pool
+     * @param keepAlive How long an idle connection is kept before it is evicted
+     * @return This builder
+     */
+    public Builder connectionPool(int maxIdleConnections, Duration keepAlive) {
+      transport.connectionPool(maxIdleConnections, keepAlive);
+      transportCustomized = true;
+      return this;
+    }
+
+    /**
+     * @param connectTimeout The timeout for establishing a new connection, or zero for none
+     * @return This builder
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = DocAIRuntime.Builder.checkTimeout("connectTimeout", connectTimeout);
+      return this;
+    }
+
+    /**
+     * @param readTimeout The maximum time to wait for data from the server on an open connection,
+     *     or zero for none
+     * @return This builder
+     */
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = DocAIRuntime.Builder.checkTimeout("readTimeout", readTimeout);
+      return this;
+    }
+
+    /**
+     * @param writeTimeout The maximum time to wait while sending data to the server, or zero for
+     *     none
+     * @return This builder
+     */
+    public Builder writeTimeout(Duration writeTimeout) {
+      this.writeTimeout = DocAIRuntime.Builder.checkTimeout("writeTimeout", writeTimeout);
+      return this;
+    }
+
+    /**
+     * @param callTimeout The maximum time a complete call (including connecting, sending the
+     *     request and reading the response) may take, or zero for none
+     * @return This builder
+     */
+    public Builder callTimeout(Duration callTimeout) {
+      this.callTimeout = DocAIRuntime.Builder.checkTimeout("callTimeout", callTimeout);
+      return this;
+    }
+
+    /**
+     * @param preferHttp2 If true (the default), HTTP/2 is negotiated when the server supports it,
+     *     multiplexing concurrent requests over a single connection. If false, only HTTP/1.1 is
+     *     used, with one connection per concurrent request.
+     * @return This builder
+     */
+    public Builder preferHttp2(boolean preferHttp2) {
+      transport.preferHttp2(preferHttp2);
+      transportCustomized = true;
+      return this;
+    }
+
+    /**
+     * @param retryPolicy How requests that fail with a transient error are retried. By default
+     *     no request is retried.
+     * @return This builder
+     */
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Limits the rate of requests sent to an endpoint family, so that a burst of work stays within
+     * the tenant's quota instead of being turned away with 429 responses. Every attempt, including
+     * retries, takes a permit. Families without a limit are not rate limited.
+     *
+     * @param family The endpoint family to limit
+     * @param permitsPerSecond The sustained number of requests per second
+     * @param burst The number of requests that may be sent at once after a quiet period
+     * @return This builder
+     */
+    public Builder rateLimit(EndpointFamily family, double permitsPerSecond, int burst) {
+      rateLimiters.put(family, new RateLimiter(permitsPerSecond, burst));
+      return this;
+    }
+
+    /**
+     * Bounds the number of requests in flight by a limit that grows while the server responds
+     * promptly and shrinks when it signals overload with 429 or 503 responses, timeouts, or rising
+     * latency. Every attempt, including retries, holds a slot for as long as it is in flight. By
+     * default no adaptive limit is applied.
+     *
+     * @param concurrencyLimiter The limiter to apply to all requests made by this client
+     * @return This builder
+     */
+    public Builder concurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+      this.concurrencyLimiter = concurrencyLimiter;
+      return this;
+    }
+
+    /**
+     * Enables hedging of GET requests: an attempt that is slower than most recent ones is raced
+     * against a second attempt, and the first response wins. By default requests are not hedged.
+     *
+     * @param hedgePolicy When to hedge, and how much extra load hedging may add
+     * @return This builder
+     */
+    public Builder hedgePolicy(HedgePolicy hedgePolicy) {
+      this.hedgePolicy = hedgePolicy;
+      return this;
+    }
+
+    /**
+     * @param latencyModel The model in which to learn request processing times, for example one
+     *     loaded from a previous run or shared with other clients. By default each client starts
+     *     with an empty model of its own.
+     * @return This builder
+     */
+    public Builder latencyModel(LatencyModel latencyModel) {
+      this.latencyModel = latencyModel;
+      return this;
+    }
+
+    /**
+     * Reports the timing, size and outcome of every HTTP call, and every retry, to a listener. By
+     * default no metrics are recorded.
+     *
+     * @param metricsListener The listener, for example a {@link
+     *     ai.zuva.docai.metrics.MetricsRecorder}
+     * @return This builder
+     */
+    public Builder metricsListener(MetricsListener metricsListener) {
+      this.metricsListener = metricsListener;
+      return this;
+    }
+
+    /**
+     * Skips uploading documents whose content was uploaded before and has not expired, returning
+     * the earlier file instead. By default every document is uploaded.
+     *
+     * @param uploadCache The cache, for example one persisted to a file so that it survives
+     *     restarts, or shared with other clients that use the same token
+     * @return This builder
+     */
+    public Builder uploadCache(UploadCache uploadCache) {
+      this.uploadCache = uploadCache;
+      return this;
+    }
+
+    /**
+     * @param bulkDeletePolicy How many files the client's {@link #getDeletionQueue() deletion
+     *     queue} deletes at once, and how it retries transient failures. The default is {@link
+     *     BulkDeletePolicy#DEFAULT}.
+     * @return This builder
+     */
+    public Builder bulkDeletePolicy(BulkDeletePolicy bulkDeletePolicy) {
+      this.bulkDeletePolicy = bulkDeletePolicy;
+      return this;
+    }
+
+    /**
+     * @param maxUrlLength The longest URL, in characters, to send when requesting many statuses at
+     *     once. Longer lists of request IDs are split across several concurrent requests. The
+     *     default is 4000.
+     * @return This builder
+     */
+    public Builder maxUrlLength(int maxUrlLength) {
+      if (maxUrlLength < 256) {
+        throw new IllegalArgumentException("maxUrlLength must be at least 256");
+      }
+      this.maxUrlLength = maxUrlLength;
+      return this;
+    }
+
+    public DocAIClient build() {
+      return new DocAIClient(this);
+    }
+  }
+
+  private HttpUrl buildUrl(String path) {
+    return baseUrl.newBuilder().addPathSegments(path).build();
+  }
+
+  // Decodes straight from the response stream so the body is never held as a String as well as
+  // the decoded object. I/O errors are left to propagate as request failures.
+  private <T> T jsonResponseToObject(InputStream in, Class<T> valueType)
+      throws IOException, DocAIClientException {
+    try {
+      return codecs.reader(valueType).readValue(in);
     } catch (JsonProcessingException e) {
       throw (new DocAIClientException("Unable to parse response", e));
     }
   }
 
-  private static MediaType toMediaType(String... contentType) {
-    MediaType mediaType = null;
-    if (contentType.length > 0) {
-      mediaType = MediaType.parse(contentType[0]);
+  private static String toContentType(String... contentType) {
+    return contentType.length > 0 ? contentType[0] : null;
+  }
+
+  // Strings are sent as UTF-8, which is declared in the content type unless it names a charset
+  private static String toTextContentType(String... contentType) {
+    String type = toContentType(contentType);
+    if (type == null || type.toLowerCase().contains("charset=")) {
+      return type;
+    }
+    return type + "; charset=utf-8";
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      out.write(buffer, 0, n);
+    }
+    return out.toByteArray();
+  }
+
+  // Converts the body of a successful response into the value handed back to the caller
+  private interface BodyReader<T> {
+    T read(InputStream body) throws IOException, DocAIClientException;
+
+    // Whether two attempts may read at the same time, as they do when a request is hedged
+    default boolean isHedgeable() {
+      return true;
+    }
+
+    // Whether another attempt may be made after this reader has been called
+    default boolean isRetryable() {
+      return true;
     }
-    return mediaType;
   }
 
-  private String sendRequest(Request request, int expectedStatusCode)
+  // Writes the body to a destination the caller owns, which cannot be rewound. The request is
+  // never hedged, and it is not retried once the body has started to arrive.
+  private static class SinkReader implements BodyReader<Long> {
+    private final BodyReader<Long> copy;
+    private volatile boolean started;
+
+    SinkReader(BodyReader<Long> copy) {
+      this.copy = copy;
+    }
+
+    @Override
+    public Long read(InputStream body) throws IOException, DocAIClientException {
+      started = true;
+      return copy.read(body);
+    }
+
+    @Override
+    public boolean isHedgeable() {
+      return false;
+    }
+
+    @Override
+    public boolean isRetryable() {
+      return !started;
+    }
+  }
+
+  // Binary bodies are too large to download twice. A hedge of a spooled or file download could
+  // also leave a temporary file behind, or race the winner to replace the target.
+  private static <T> BodyReader<T> unhedged(BodyReader<T> reader) {
+    return new BodyReader<T>() {
+      @Override
+      public T read(InputStream body) throws IOException, DocAIClientException {
+        return reader.read(body);
+      }
+
+      @Override
+      public boolean isHedgeable() {
+        return false;
+      }
+    };
+  }
+
+  private static BodyReader<BinaryResult> spoolingReader(long spillThreshold) {
+    return unhedged(body -> BodySinks.spool(body, spillThreshold));
+  }
+
+  private static BodyReader<Long> fileReader(Path target) {
+    return unhedged(body -> BodySinks.toFile(body, target));
+  }
+
+  private BodyReader<String> stringReader() {
+    return body -> new String(readAll(body), StandardCharsets.UTF_8);
+  }
+
+  private BodyReader<byte[]> bytesReader() {
+    return unhedged(DocAIClient::readAll);
+  }
+
+  private <T> BodyReader<T> jsonReader(Class<T> valueType) {
+    if (valueType == null) {
+      return body -> null;
+    }
+    return body -> jsonResponseToObject(body, valueType);
+  }
+
+  private HttpTransport.Request newRequest(String method, HttpUrl url, HttpTransport.Body body) {
+    return new HttpTransport.Request(
+        method,
+        url.uri(),
+        Collections.singletonMap("Authorization", "Bearer " + token),
+        body);
+  }
+
+  private DocAIApiException apiException(
+      HttpTransport.Request request, HttpTransport.Response response) throws IOException {
+    return new DocAIApiException(
+        mapper,
+        request.method,
+        request.url.toString(),
+        response.statusCode(),
+        new String(readAll(response.body()), StandardCharsets.UTF_8),
+        response.header("Retry-After"));
+  }
+
+  private static DocAIClientException requestFailed(IOException e) {
+    // Response bodies are parsed by the BodyReader, so a JSON error reaching this point was raised
+    // while the request body was being serialized onto the wire
+    if (e instanceof JsonProcessingException) {
+      return new DocAIClientException("Error creating request body", e);
+    }
+    return new DocAIClientException("Http request failed", e);
+  }
+
+  private <T> T sendRequest(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader)
       throws DocAIClientException, DocAIApiException {
+    retrier.onRequest();
+    long delay = 0;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        if (hedger != null && reader.isHedgeable() && Hedger.isHedgeable(request)) {
+          return await(executeHedgedAsync(request, expectedStatusCode, reader));
+        }
+        return executeOnce(request, expectedStatusCode, reader);
+      } catch (DocAIClientException | DocAIApiException e) {
+        delay = reader.isRetryable() ? retrier.delayBeforeRetry(request, e, attempt, delay) : -1;
+        if (delay < 0) {
+          throw e;
+        }
+        recordRetry(request, attempt, delay);
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw new DocAIClientException("Interrupted while waiting to retry request", ie);
+        }
+      }
+    }
+  }
+
+  private void recordRetry(HttpTransport.Request request, int attempt, long delay) {
+    String endpoint = MeteredTransport.endpointTemplate(request.pathSegments());
+    if (metricsListener != null) {
+      metricsListener.onRetry(request.method, endpoint, attempt, delay);
+    }
+    FlightRecorderEvents.retry(request.method, endpoint, attempt, delay);
+  }
+
+  private RateLimiter rateLimiterFor(HttpTransport.Request request) {
+    if (rateLimiters.isEmpty()) {
+      return null;
+    }
+    return rateLimiters.get(EndpointFamily.of(request.pathSegments()));
+  }
+
+  private <T> T executeOnce(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader)
+      throws DocAIClientException, DocAIApiException {
+    RateLimiter limiter = rateLimiterFor(request);
+    if (limiter != null) {
+      try {
+        limiter.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DocAIClientException("Interrupted while waiting for a rate limit permit", e);
+      }
+    }
+    AdaptiveConcurrencyLimiter.Permit permit = null;
+    if (concurrencyLimiter != null) {
+      try {
+        permit = concurrencyLimiter.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DocAIClientException("Interrupted while waiting for a concurrency permit", e);
+      }
+    }
+    Throwable failure = null;
     try {
-      Response response = client.newCall(request).execute();
-      if (response.code() != expectedStatusCode) {
-        throw new DocAIApiException(
-            mapper,
-            request.method(),
-            request.url().toString(),
-            response.code(),
-            response.body().string());
+      return execute(request, expectedStatusCode, reader);
+    } catch (DocAIClientException | DocAIApiException | RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      releasePermit(permit, failure);
+    }
+  }
+
+  private <T> T execute(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader)
+      throws DocAIClientException, DocAIApiException {
+    if (VirtualThreads.isCurrentThreadVirtual()) {
+      // A blocking call would hold the HTTP client's monitors while doing socket I/O, pinning the
+      // carrier thread, and would bypass the dispatcher's limits. The call is made asynchronously
+      // instead, so only the virtual thread waits and it parks without a monitor held.
+      CompletableFuture<T> future = new CompletableFuture<>();
+      enqueue(request, expectedStatusCode, reader, null, null, future);
+      return await(future);
+    }
+    try (HttpTransport.Response response = transport.execute(request)) {
+      if (response.statusCode() != expectedStatusCode) {
+        throw apiException(request, response);
       }
-      return response.body().string();
+      return reader.read(response.body());
     } catch (IOException e) {
-      throw new DocAIClientException("Http request failed", e);
+      throw requestFailed(e);
+    }
+  }
+
+  // Hands the request to the transport's asynchronous executor instead of blocking the calling
+  // thread. The returned future completes exceptionally with a DocAIClientException or
+  // DocAIApiException, and cancelling it cancels the call in flight (or the pending retry).
+  private <T> CompletableFuture<T> sendRequestAsync(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader) {
+    return sendRequestAsync(request, expectedStatusCode, reader, retrier);
+  }
+
+  private <T> CompletableFuture<T> sendRequestAsync(
+      HttpTransport.Request request,
+      int expectedStatusCode,
+      BodyReader<T> reader,
+      Retrier retrier) {
+    retrier.onRequest();
+    CompletableFuture<T> result = new CompletableFuture<>();
+    attemptAsync(request, expectedStatusCode, reader, retrier, 1, 0, result);
+    return result;
+  }
+
+  // Requests that override the client's retry policy share a retry budget per policy
+  private Retrier retrierFor(RetryPolicy policy) {
+    return policy == retryPolicy ? retrier : policyRetriers.computeIfAbsent(policy, Retrier::new);
+  }
+
+  private <T> void attemptAsync(
+      HttpTransport.Request request,
+      int expectedStatusCode,
+      BodyReader<T> reader,
+      Retrier retrier,
+      int attempt,
+      long previousDelay,
+      CompletableFuture<T> result) {
+    if (result.isDone()) {
+      return;
+    }
+    CompletableFuture<T> call =
+        hedger != null && reader.isHedgeable() && Hedger.isHedgeable(request)
+            ? executeHedgedAsync(request, expectedStatusCode, reader)
+            : executeOnceAsync(request, expectedStatusCode, reader);
+    result.whenComplete(
+        (value, t) -> {
+          if (t instanceof CancellationException) {
+            call.cancel(false);
+          }
+        });
+    call.whenComplete(
+        (value, t) -> {
+          if (t == null) {
+            result.complete(value);
+            return;
+          }
+          long delay =
+              t instanceof DocAIException && reader.isRetryable()
+                  ? retrier.delayBeforeRetry(request, (DocAIException) t, attempt, previousDelay)
+                  : -1;
+          if (delay < 0) {
+            result.completeExceptionally(t);
+            return;
+          }
+          recordRetry(request, attempt, delay);
+          SharedScheduler.get()
+              .schedule(
+                  () ->
+                      attemptAsync(
+                          request,
+                          expectedStatusCode,
+                          reader,
+                          retrier,
+                          attempt + 1,
+                          delay,
+                          result),
+                  delay,
+                  TimeUnit.MILLISECONDS);
+        });
+  }
+
+  // Sends the request, and sends it again if the first attempt is slower than the hedge delay. The
+  // first successful response completes the returned future and the other attempt is cancelled;
+  // if every attempt fails, the last failure is reported.
+  private <T> CompletableFuture<T> executeHedgedAsync(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader) {
+    long hedgeDelay = hedger.onAttempt(request);
+    CompletableFuture<T> primary = executeTimedAsync(request, expectedStatusCode, reader);
+    if (hedgeDelay < 0) {
+      return primary;
+    }
+
+    CompletableFuture<T> result = new CompletableFuture<>();
+    AtomicInteger outstanding = new AtomicInteger(1);
+    AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+    BiConsumer<T, Throwable> onAttemptComplete =
+        (value, t) -> {
+          if (t == null) {
+            result.complete(value);
+          } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(t);
+          }
+        };
+    primary.whenComplete(onAttemptComplete);
+
+    ScheduledFuture<?> timer =
+        SharedScheduler.get()
+            .schedule(
+                () -> {
+                  if (result.isDone() || !hedger.tryHedge()) {
+                    return;
+                  }
+                  int n;
+                  do {
+                    n = outstanding.get();
+                    if (n == 0) {
+                      return;
+                    }
+                  } while (!outstanding.compareAndSet(n, n + 1));
+                  CompletableFuture<T> second =
+                      executeTimedAsync(request, expectedStatusCode, reader);
+                  hedge.set(second);
+                  second.whenComplete(onAttemptComplete);
+                  if (result.isDone()) {
+                    second.cancel(false);
+                  }
+                },
+                hedgeDelay,
+                TimeUnit.NANOSECONDS);
+
+    result.whenComplete(
+        (value, t) -> {
+          timer.cancel(false);
+          primary.cancel(false);
+          CompletableFuture<T> second = hedge.get();
+          if (second != null) {
+            second.cancel(false);
+          }
+        });
+    return result;
+  }
+
+  // Feeds the latency of a successful attempt to the hedger. The clock starts when the request is
+  // handed to the transport, so time spent waiting for the rate limiter or a concurrency permit
+  // does not make the endpoint look slow.
+  private <T> CompletableFuture<T> executeTimedAsync(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader) {
+    return executeOnceAsync(
+        request, expectedStatusCode, reader, nanos -> hedger.recordLatency(request, nanos));
+  }
+
+  // Waits for an asynchronous attempt on behalf of a synchronous caller
+  private static <T> T await(CompletableFuture<T> future)
+      throws DocAIClientException, DocAIApiException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new DocAIClientException("Interrupted while waiting for response", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof DocAIClientException) {
+        throw (DocAIClientException) cause;
+      } else if (cause instanceof DocAIApiException) {
+        throw (DocAIApiException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new DocAIClientException("Http request failed", cause);
+    }
+  }
+
+  private <T> CompletableFuture<T> executeOnceAsync(
+      HttpTransport.Request request, int expectedStatusCode, BodyReader<T> reader) {
+    return executeOnceAsync(request, expectedStatusCode, reader, null);
+  }
+
+  // latency, if not null, is given the nanoseconds from sending the request to reading a
+  // successful response
+  private <T> CompletableFuture<T> executeOnceAsync(
+      HttpTransport.Request request,
+      int expectedStatusCode,
+      BodyReader<T> reader,
+      LongConsumer latency) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    RateLimiter limiter = rateLimiterFor(request);
+    CompletableFuture<?> rateLimited =
+        limiter == null ? CompletableFuture.completedFuture(null) : limiter.acquireAsync();
+    CompletableFuture<Void> enqueued =
+        concurrencyLimiter == null
+            ? rateLimited.thenRun(
+                () -> enqueue(request, expectedStatusCode, reader, latency, null, future))
+            : rateLimited
+                .thenCompose(ignored -> concurrencyLimiter.acquireAsync())
+                .thenAccept(
+                    permit ->
+                        enqueue(request, expectedStatusCode, reader, latency, permit, future));
+    // A limiter that fails, or an enqueue that throws, must not leave the caller waiting forever
+    enqueued.whenComplete(
+        (ignored, t) -> {
+          if (t != null) {
+            future.completeExceptionally(t instanceof CompletionException ? t.getCause() : t);
+          }
+        });
+    return future;
+  }
+
+  private <T> void enqueue(
+      HttpTransport.Request request,
+      int expectedStatusCode,
+      BodyReader<T> reader,
+      LongConsumer latency,
+      AdaptiveConcurrencyLimiter.Permit permit,
+      CompletableFuture<T> future) {
+    if (future.isDone()) {
+      releasePermit(permit, new CancellationException());
+      return;
+    }
+    long start = System.nanoTime();
+    CompletableFuture<HttpTransport.Response> call;
+    try {
+      call = transport.executeAsync(request);
+    } catch (RuntimeException e) {
+      releasePermit(permit, e);
+      future.completeExceptionally(e);
+      return;
+    }
+    call.whenComplete(
+        (response, t) -> {
+          if (t != null) {
+            Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+            future.completeExceptionally(
+                cause instanceof IOException ? requestFailed((IOException) cause) : cause);
+            return;
+          }
+          try (HttpTransport.Response r = response) {
+            if (r.statusCode() != expectedStatusCode) {
+              future.completeExceptionally(apiException(request, r));
+            } else {
+              T value = reader.read(r.body());
+              if (latency != null) {
+                latency.accept(System.nanoTime() - start);
+              }
+              future.complete(value);
+            }
+          } catch (IOException e) {
+            future.completeExceptionally(requestFailed(e));
+          } catch (DocAIClientException | RuntimeException e) {
+            future.completeExceptionally(e);
+          }
+        });
+    future.whenComplete(
+        (result, t) -> {
+          if (t instanceof CancellationException) {
+            call.cancel(false);
+          }
+          releasePermit(permit, t);
+        });
+  }
+
+  // Feeds the outcome of an attempt back to the concurrency limiter. Only responses and timeouts
+  // say something about how loaded the server is; other failures release the slot unmeasured.
+  private static void releasePermit(AdaptiveConcurrencyLimiter.Permit permit, Throwable failure) {
+    if (permit == null) {
+      return;
+    }
+    if (failure == null) {
+      permit.release();
+    } else if (failure instanceof DocAIApiException) {
+      int status = ((DocAIApiException) failure).statusCode;
+      if (status == 429 || status == 503) {
+        permit.releaseDropped();
+      } else {
+        permit.release();
+      }
+    } else if (failure instanceof DocAIClientException
+        && failure.getCause() instanceof InterruptedIOException) {
+      // Transports report timeouts as InterruptedIOException
+      permit.releaseDropped();
+    } else {
+      permit.releaseIgnored();
     }
   }
 
@@ -111,13 +1075,26 @@ public class DocAIClient {
    */
   public <T> T authorizedGet(String path, int expectedStatusCode, Class<T> responseType)
       throws DocAIClientException, DocAIApiException {
-    Request request =
-        new Request.Builder()
-            .url(buildUrl(path))
-            .header("Authorization", "Bearer " + token)
-            .get()
-            .build();
-    return jsonResponseToObject(sendRequest(request, expectedStatusCode), responseType);
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(request, expectedStatusCode, jsonReader(responseType));
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedGet(String, int, Class)}
+   *
+   * <p>The request is enqueued on the client's dispatcher and no thread is blocked while it is in
+   * flight. The returned future completes exceptionally with a DocAIClientException or a
+   * DocAIApiException under the same conditions in which the blocking version would throw them.
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedGetAsync(
+      String path, int expectedStatusCode, Class<T> responseType) {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, jsonReader(responseType));
   }
 
   private HttpUrl buildUrl(String path, String queryParamKey, List<String> queryParamValues) {
@@ -156,13 +1133,170 @@ public class DocAIClient {
       int expectedStatusCode,
       Class<T> responseType)
       throws DocAIClientException, DocAIApiException {
-    Request request =
-        new Request.Builder()
-            .url(buildUrl(path, queryParamKey, queryParamValues))
-            .header("Authorization", "Bearer " + token)
-            .get()
-            .build();
-    return jsonResponseToObject(sendRequest(request, expectedStatusCode), responseType);
+    HttpTransport.Request request =
+        newRequest("GET", buildUrl(path, queryParamKey, queryParamValues), null);
+    return sendRequest(request, expectedStatusCode, jsonReader(responseType));
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedGet(String, String, List, int, Class)}
+   *
+   * @param path The path part of the URI to send the request to
+   * @param queryParamKey The param key for query params
+   * @param queryParamValues The param value for query params
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedGetAsync(
+      String path,
+      String queryParamKey,
+      List<String> queryParamValues,
+      int expectedStatusCode,
+      Class<T> responseType) {
+    HttpTransport.Request request =
+        newRequest("GET", buildUrl(path, queryParamKey, queryParamValues), null);
+    return sendRequestAsync(request, expectedStatusCode, jsonReader(responseType));
+  }
+
+  // Splits the query parameters across as many URLs as needed to keep each within maxUrlLength.
+  // A single value too long to fit is still sent, on a URL of its own.
+  private List<HttpUrl> buildChunkedUrls(
+      String path, String queryParamKey, List<String> queryParamValues) {
+    HttpUrl base = buildUrl(path);
+    int baseLength = base.toString().length() + 1;
+    int keyLength = encodedLength(queryParamKey);
+
+    List<HttpUrl> urls = new ArrayList<>();
+    HttpUrl.Builder builder = base.newBuilder();
+    int length = baseLength;
+    int count = 0;
+    for (String value : queryParamValues) {
+      int paramLength = keyLength + encodedLength(value) + 2;
+      if (count > 0 && length + paramLength > maxUrlLength) {
+        urls.add(builder.build());
+        builder = base.newBuilder();
+        length = baseLength;
+        count = 0;
+      }
+      builder.addQueryParameter(queryParamKey, value);
+      length += paramLength;
+      count++;
+    }
+    urls.add(builder.build());
+    return urls;
+  }
+
+  // The length of a query component once percent-encoded, erring on the long side
+  private static int encodedLength(String s) {
+    int length = 0;
+    for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+      boolean unreserved =
+          (b >= 'a' && b <= 'z')
+              || (b >= 'A' && b <= 'Z')
+              || (b >= '0' && b <= '9')
+              || b == '-'
+              || b == '.'
+              || b == '_'
+              || b == '~';
+      length += unreserved ? 1 : 3;
+    }
+    return length;
+  }
+
+  /**
+   * Gets the statuses of many requests, splitting the request IDs across several concurrent
+   * requests if a single URL holding all of them would be too long
+   *
+   * <p>The responses are merged with {@link MultipleRequestStatus#merge(MultipleRequestStatus)},
+   * so the result is the same as if all statuses had been requested at once.
+   *
+   * @param path The path part of the URI to send the requests to
+   * @param queryParamKey The param key for query params
+   * @param queryParamValues The param values for query params, such as request IDs
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the responses into
+   * @return The merged responses
+   * @throws DocAIClientException There was a problem sending a request, such as an IOException or
+   *     InterruptedException
+   * @throws DocAIApiException The status code in a response was anything other than
+   *     expectedStatusCode
+   */
+  public <T extends MultipleRequestStatus> T authorizedGetStatuses(
+      String path,
+      String queryParamKey,
+      List<String> queryParamValues,
+      int expectedStatusCode,
+      Class<T> responseType)
+      throws DocAIClientException, DocAIApiException {
+    List<HttpUrl> urls = buildChunkedUrls(path, queryParamKey, queryParamValues);
+    if (urls.size() == 1) {
+      HttpTransport.Request request = newRequest("GET", urls.get(0), null);
+      return sendRequest(request, expectedStatusCode, jsonReader(responseType));
+    }
+    return await(getChunksAsync(urls, expectedStatusCode, responseType));
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedGetStatuses(String, String, List, int, Class)}
+   *
+   * @param path The path part of the URI to send the requests to
+   * @param queryParamKey The param key for query params
+   * @param queryParamValues The param values for query params, such as request IDs
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the responses into
+   * @return A future that completes with the merged responses. If any request fails, it completes
+   *     exceptionally and the other requests are cancelled.
+   */
+  public <T extends MultipleRequestStatus> CompletableFuture<T> authorizedGetStatusesAsync(
+      String path,
+      String queryParamKey,
+      List<String> queryParamValues,
+      int expectedStatusCode,
+      Class<T> responseType) {
+    List<HttpUrl> urls = buildChunkedUrls(path, queryParamKey, queryParamValues);
+    if (urls.size() == 1) {
+      HttpTransport.Request request = newRequest("GET", urls.get(0), null);
+      return sendRequestAsync(request, expectedStatusCode, jsonReader(responseType));
+    }
+    return getChunksAsync(urls, expectedStatusCode, responseType);
+  }
+
+  private <T extends MultipleRequestStatus> CompletableFuture<T> getChunksAsync(
+      List<HttpUrl> urls, int expectedStatusCode, Class<T> responseType) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    List<CompletableFuture<T>> chunks = new ArrayList<>();
+    for (HttpUrl url : urls) {
+      HttpTransport.Request request = newRequest("GET", url, null);
+      CompletableFuture<T> chunk =
+          sendRequestAsync(request, expectedStatusCode, jsonReader(responseType));
+      chunk.whenComplete(
+          (value, t) -> {
+            if (t != null) {
+              result.completeExceptionally(t);
+            }
+          });
+      chunks.add(chunk);
+    }
+    CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+        .thenRun(
+            () -> {
+              T merged = chunks.get(0).join();
+              for (int i = 1; i < chunks.size(); i++) {
+                merged.merge(chunks.get(i).join());
+              }
+              result.complete(merged);
+            });
+    // Fail fast: once one chunk has failed (or the caller cancels), the rest are not needed
+    result.whenComplete(
+        (value, t) -> {
+          if (t != null) {
+            for (CompletableFuture<T> chunk : chunks) {
+              chunk.cancel(false);
+            }
+          }
+        });
+    return result;
   }
 
   /**
@@ -175,39 +1309,66 @@ public class DocAIClient {
    *
    * @param path The path part of the URI to send the request to
    * @param expectedStatusCode The status code expected for a successful response
-   * @return The response body as a String, if the request was successful
-   * @throws DocAIClientException There was a problem sending the request, such as an IOException or
-   *     InterruptedException
-   * @throws DocAIApiException The status code in the response was anything other than
-   *     expectedStatusCode
+   * @return The response body as a String, if the request was successful
+   * @throws DocAIClientException There was a problem sending the request, such as an IOException or
+   *     InterruptedException
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public String authorizedDelete(String path, int expectedStatusCode)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Request request = newRequest("DELETE", buildUrl(path), null);
+    return sendRequest(request, expectedStatusCode, stringReader());
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedDelete(String, int)}
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @return A future that completes with the response body as a String
+   */
+  public CompletableFuture<String> authorizedDeleteAsync(String path, int expectedStatusCode) {
+    HttpTransport.Request request = newRequest("DELETE", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, stringReader());
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedDelete(String, int)} that retries transient failures
+   * with the given policy instead of the client's
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param retryPolicy The retry policy. Requests made with the same policy share its retry
+   *     budget.
+   * @return A future that completes with the response body as a String
    */
-  public String authorizedDelete(String path, int expectedStatusCode)
-      throws DocAIClientException, DocAIApiException {
-    Request request =
-        new Request.Builder()
-            .url(buildUrl(path))
-            .header("Authorization", "Bearer " + token)
-            .delete()
-            .build();
-    return sendRequest(request, expectedStatusCode);
+  public CompletableFuture<String> authorizedDeleteAsync(
+      String path, int expectedStatusCode, RetryPolicy retryPolicy) {
+    HttpTransport.Request request = newRequest("DELETE", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, stringReader(), retrierFor(retryPolicy));
   }
 
   // Shared functionality of the requests which do have bodies
   private <T> T authorizedRequest(
-      String method, String path, RequestBody body, int expectedStatusCode, Class<T> responseType)
+      String method,
+      String path,
+      HttpTransport.Body body,
+      int expectedStatusCode,
+      Class<T> responseType)
       throws DocAIClientException, DocAIApiException {
-    Request.Builder builder =
-        new Request.Builder()
-            .url(buildUrl(path))
-            .header("Authorization", "Bearer " + token)
-            .method(method, body);
-
-    String response = sendRequest(builder.build(), expectedStatusCode);
-    if (responseType != null) {
-      return jsonResponseToObject(response, responseType);
-    } else {
-      return null;
-    }
+    HttpTransport.Request request = newRequest(method, buildUrl(path), body);
+    return sendRequest(request, expectedStatusCode, jsonReader(responseType));
+  }
+
+  private <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      HttpTransport.Body body,
+      int expectedStatusCode,
+      Class<T> responseType) {
+    HttpTransport.Request request = newRequest(method, buildUrl(path), body);
+    return sendRequestAsync(request, expectedStatusCode, jsonReader(responseType));
   }
 
   /**
@@ -234,11 +1395,26 @@ public class DocAIClient {
   public <T> T authorizedJsonRequest(
       String method, String path, Object body, int expectedStatusCode, Class<T> responseType)
       throws DocAIClientException, DocAIApiException {
-    String stringBody = this.JsonToStringBody(body);
-    RequestBody requestBody = RequestBody.create(stringBody, null);
+    HttpTransport.Body requestBody = new JsonRequestBody(codecs.writer(body), body);
     return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
   }
 
+  /**
+   * Asynchronous version of {@link #authorizedJsonRequest(String, String, Object, int, Class)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The object to serialize as the JSON request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedJsonRequestAsync(
+      String method, String path, Object body, int expectedStatusCode, Class<T> responseType) {
+    HttpTransport.Body requestBody = new JsonRequestBody(codecs.writer(body), body);
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
   /**
    * Makes an authorized DocAI request, returning the body of the (successful) response as a String.
    *
@@ -268,10 +1444,35 @@ public class DocAIClient {
       Class<T> responseType,
       String... contentType)
       throws DocAIClientException, DocAIApiException {
-    RequestBody requestBody = RequestBody.create(body, toMediaType(contentType));
+    HttpTransport.Body requestBody =
+        new ByteArrayBody(body.getBytes(StandardCharsets.UTF_8), toTextContentType(contentType));
     return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
   }
 
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, String, int, Class,
+   * String...)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The request body as a String
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      String body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody =
+        new ByteArrayBody(body.getBytes(StandardCharsets.UTF_8), toTextContentType(contentType));
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
   /**
    * Makes an authorized DocAI request, returning the body of the (successful) response as a String.
    *
@@ -301,10 +1502,33 @@ public class DocAIClient {
       Class<T> responseType,
       String... contentType)
       throws DocAIClientException, DocAIApiException {
-    RequestBody requestBody = RequestBody.create(body, toMediaType(contentType));
+    HttpTransport.Body requestBody = new ByteArrayBody(body, toContentType(contentType));
     return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
   }
 
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, byte[], int, Class,
+   * String...)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The request body as a byte array
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      byte[] body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody = new ByteArrayBody(body, toContentType(contentType));
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
   /**
    * Makes an authorized DocAI request, returning the body of the (successful) response as a String.
    *
@@ -335,14 +1559,217 @@ public class DocAIClient {
       Class<T> responseType,
       String... contentType)
       throws DocAIClientException, DocAIApiException, FileNotFoundException, SecurityException {
-    Request.Builder builder =
-        new Request.Builder()
-            .url(buildUrl(path))
-            .header("Authorization", "Bearer " + token)
-            .method(method, RequestBody.create(body, toMediaType(contentType)));
+    HttpTransport.Body requestBody = new FileBody(body, toContentType(contentType));
+    return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, File, int, Class,
+   * String...)}
+   *
+   * <p>The file is read by the transport when the request is sent, so if it cannot be found the
+   * returned future completes exceptionally with a DocAIClientException.
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body A Path specifying a file to upload as the request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      File body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody = new FileBody(body, toContentType(contentType));
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  /**
+   * Makes an authorized DocAI request with a file as the body, returning the body of the
+   * (successful) response as an object
+   *
+   * <p>The file is transferred to the connection in chunks with a FileChannel, so it is never held
+   * in memory.
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The file to upload as the request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return The deserialized response body, if the request was successful
+   * @throws DocAIClientException The file could not be read, or there was a problem sending the
+   *     request
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public <T> T authorizedRequest(
+      String method,
+      String path,
+      Path body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Body requestBody = pathBody(body, contentType);
+    return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, Path, int, Class,
+   * String...)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The file to upload as the request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      Path body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody;
+    try {
+      requestBody = pathBody(body, contentType);
+    } catch (DocAIClientException e) {
+      CompletableFuture<T> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  private static HttpTransport.Body pathBody(Path body, String... contentType)
+      throws DocAIClientException {
+    try {
+      return new PathBody(body, toContentType(contentType));
+    } catch (IOException e) {
+      throw new DocAIClientException("Unable to read " + body, e);
+    }
+  }
+
+  /**
+   * Makes an authorized DocAI request with the contents of a stream as the body, returning the body
+   * of the (successful) response as an object
+   *
+   * <p>The stream is read through a fixed-size buffer while the request is sent, and is not closed.
+   * If its length is not known, the body is sent with chunked transfer encoding. Since the stream
+   * can only be read once, the request is not retried.
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The stream to upload as the request body
+   * @param contentLength The number of bytes in the stream, or -1 if it is not known
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return The deserialized response body, if the request was successful
+   * @throws DocAIClientException There was a problem reading the stream or sending the request
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public <T> T authorizedRequest(
+      String method,
+      String path,
+      InputStream body,
+      long contentLength,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Body requestBody =
+        new InputStreamBody(body, contentLength, toContentType(contentType));
+    return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, InputStream, long, int,
+   * Class, String...)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The stream to upload as the request body
+   * @param contentLength The number of bytes in the stream, or -1 if it is not known
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      InputStream body,
+      long contentLength,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody =
+        new InputStreamBody(body, contentLength, toContentType(contentType));
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
+  }
+
+  /**
+   * Makes an authorized DocAI request with the remaining bytes of a buffer as the body, returning
+   * the body of the (successful) response as an object
+   *
+   * <p>The buffer's position is not changed. A direct buffer is copied to the connection a chunk at
+   * a time.
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The buffer to upload as the request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return The deserialized response body, if the request was successful
+   * @throws DocAIClientException There was a problem sending the request
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public <T> T authorizedRequest(
+      String method,
+      String path,
+      ByteBuffer body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Body requestBody = new ByteBufferBody(body, toContentType(contentType));
+    return authorizedRequest(method, path, requestBody, expectedStatusCode, responseType);
+  }
 
-    String response = sendRequest(builder.build(), expectedStatusCode);
-    return jsonResponseToObject(response, responseType);
+  /**
+   * Asynchronous version of {@link #authorizedRequest(String, String, ByteBuffer, int, Class,
+   * String...)}
+   *
+   * @param method The HTTP method to use
+   * @param path The path part of the URI to send the request to
+   * @param body The buffer to upload as the request body
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param responseType The object type to deserialize the response into
+   * @param contentType The MIME content type to specify in the request
+   * @return A future that completes with the deserialized response body
+   */
+  public <T> CompletableFuture<T> authorizedRequestAsync(
+      String method,
+      String path,
+      ByteBuffer body,
+      int expectedStatusCode,
+      Class<T> responseType,
+      String... contentType) {
+    HttpTransport.Body requestBody = new ByteBufferBody(body, toContentType(contentType));
+    return authorizedRequestAsync(method, path, requestBody, expectedStatusCode, responseType);
   }
 
   /**
@@ -364,20 +1791,132 @@ public class DocAIClient {
    */
   public byte[] authorizedGetBinary(String path, int expectedStatusCode)
       throws DocAIClientException, DocAIApiException {
-    Request request =
-        new Request.Builder()
-            .url(buildUrl(path))
-            .header("Authorization", "Bearer " + token)
-            .build();
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(request, expectedStatusCode, bytesReader());
+  }
 
-    try {
-      Response response = client.newCall(request).execute();
-      if (response.code() != expectedStatusCode) {
-        throw new DocAIApiException(mapper, "GET", path, response.code(), response.body().string());
-      }
-      return response.body().bytes();
-    } catch (IOException e) {
-      throw new DocAIClientException("Http request failed", e);
-    }
+  /**
+   * Asynchronous version of {@link #authorizedGetBinary(String, int)}
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @return A future that completes with the response body as a byte array
+   */
+  public CompletableFuture<byte[]> authorizedGetBinaryAsync(String path, int expectedStatusCode) {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, bytesReader());
+  }
+
+  /**
+   * Makes an authorized GET request, writing the body of the (successful) response to a file
+   *
+   * <p>The body is streamed to a temporary file in the same directory as the target, which replaces
+   * the target once the whole body has been received, so it is never held in memory and the
+   * target never holds a partial body.
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param target The file to write the body to, which is replaced if it exists
+   * @return The size of the body in bytes
+   * @throws DocAIClientException There was a problem sending the request or writing the file
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public long authorizedGetBinary(String path, int expectedStatusCode, Path target)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(request, expectedStatusCode, fileReader(target));
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedGetBinary(String, int, Path)}
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param target The file to write the body to, which is replaced if it exists
+   * @return A future that completes with the size of the body once it has been written
+   */
+  public CompletableFuture<Long> authorizedGetBinaryAsync(
+      String path, int expectedStatusCode, Path target) {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, fileReader(target));
+  }
+
+  /**
+   * Makes an authorized GET request, writing the body of the (successful) response to a stream as
+   * it arrives
+   *
+   * <p>The request is not retried once the body has started to arrive, since the stream cannot be
+   * rewound. The stream is not closed.
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param out The stream to write the body to
+   * @return The size of the body in bytes
+   * @throws DocAIClientException There was a problem sending the request or writing the body
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public long authorizedGetBinary(String path, int expectedStatusCode, OutputStream out)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(
+        request, expectedStatusCode, new SinkReader(body -> BodySinks.toStream(body, out)));
+  }
+
+  /**
+   * Makes an authorized GET request, writing the body of the (successful) response to a channel as
+   * it arrives
+   *
+   * <p>If the channel is a FileChannel, the body is transferred into the file from its current
+   * position, and the position is advanced past it. The request is not retried once the body has
+   * started to arrive, since the channel cannot be rewound. The channel is not closed.
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param out The channel to write the body to
+   * @return The size of the body in bytes
+   * @throws DocAIClientException There was a problem sending the request or writing the body
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public long authorizedGetBinary(String path, int expectedStatusCode, WritableByteChannel out)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(
+        request, expectedStatusCode, new SinkReader(body -> BodySinks.toChannel(body, out)));
+  }
+
+  /**
+   * Makes an authorized GET request, returning the body of the (successful) response in memory if
+   * it is small and in a temporary file otherwise
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param spillThreshold The largest body, in bytes, that is held in memory
+   * @return The body, which must be closed to delete its temporary file
+   * @throws DocAIClientException There was a problem sending the request or writing the file
+   * @throws DocAIApiException The status code in the response was anything other than
+   *     expectedStatusCode
+   */
+  public BinaryResult authorizedGetBinary(String path, int expectedStatusCode, long spillThreshold)
+      throws DocAIClientException, DocAIApiException {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequest(request, expectedStatusCode, spoolingReader(spillThreshold));
+  }
+
+  /**
+   * Asynchronous version of {@link #authorizedGetBinary(String, int, long)}
+   *
+   * @param path The path part of the URI to send the request to
+   * @param expectedStatusCode The status code expected for a successful response
+   * @param spillThreshold The largest body, in bytes, that is held in memory
+   * @return A future that completes with the body, which must be closed to delete its temporary
+   *     file
+   */
+  public CompletableFuture<BinaryResult> authorizedGetBinaryAsync(
+      String path, int expectedStatusCode, long spillThreshold) {
+    HttpTransport.Request request = newRequest("GET", buildUrl(path), null);
+    return sendRequestAsync(request, expectedStatusCode, spoolingReader(spillThreshold));
   }
 }
@@ -0,0 +1,318 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * The transport and JSON codec shared by a group of DocAIClients
+ *
+ * <p>A runtime owns an HTTP dispatcher (with its threads and request limits), a connection pool
+ * and a configured Jackson ObjectMapper, whose readers and writers are built once per type.
+ * Clients created from the same runtime, for example one per tenant token, are lightweight views
+ * of it: they reuse its pooled connections and TLS sessions and its serializer caches, and their
+ * requests count against the same dispatcher limits. Each client still has its own token,
+ * timeouts, retry policy and rate limits.
+ *
+ * <p>Sharing is opt-in: a client created with {@link DocAIClient#DocAIClient(String, String)}, or
+ * built without {@link DocAIClient.Builder#runtime(DocAIRuntime)}, has a runtime of its own. Pass
+ * {@link #shared()}, which has the default transport settings, or a runtime of your own to share
+ * it between clients.
+ */
+public class DocAIRuntime implements AutoCloseable {
+  final HttpTransport transport;
+  final JsonCodecs codecs;
+  private final boolean closeable;
+
+  private static class SharedHolder {
+    static final DocAIRuntime SHARED = new DocAIRuntime(new Builder(), false);
+  }
+
+  private DocAIRuntime(Builder builder, boolean closeable) {
+    if (builder.transport != null) {
+      transport = builder.transport;
+    } else if ("jdk".equals(System.getProperty(HttpTransport.TRANSPORT_PROPERTY))) {
+      transport = jdkTransport(builder.settings());
+    } else {
+      transport = okHttpTransport(builder);
+    }
+    this.closeable = closeable;
+    codecs = new JsonCodecs(builder.jsonAcceleration);
+  }
+
+  private static HttpTransport okHttpTransport(Builder builder) {
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(builder.maxRequests);
+    dispatcher.setMaxRequestsPerHost(builder.maxRequestsPerHost);
+    OkHttpClient client =
+        new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(
+                new ConnectionPool(
+                    builder.maxIdleConnections,
+                    builder.keepAlive.toMillis(),
+                    TimeUnit.MILLISECONDS))
+            .connectTimeout(builder.connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(builder.readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .writeTimeout(builder.writeTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .callTimeout(builder.callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .protocols(builder.protocols)
+            .build();
+    return new OkHttpTransport(client, builder.maxIdleConnections, builder.keepAlive);
+  }
+
+  // The JDK transport is compiled for Java 11, so it is only loaded when it is asked for
+  private static HttpTransport jdkTransport(ClientSettings settings) {
+    try {
+      return (HttpTransport)
+          Class.forName("ai.zuva.docai.JdkHttpTransport")
+              .getDeclaredMethod("fromSettings", ClientSettings.class)
+              .invoke(null, settings);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new IllegalStateException("The jdk transport requires Java 11 or later", e);
+    }
+  }
+
+  /**
+   * Returns a process-wide runtime that clients can share by passing it to {@link
+   * DocAIClient.Builder#runtime(DocAIRuntime)}
+   *
+   * @return The process-wide runtime with the default transport settings. It cannot be closed.
+   */
+  public static DocAIRuntime shared() {
+    return SharedHolder.SHARED;
+  }
+
+  /**
+   * Creates a client that uses this runtime
+   *
+   * @param baseUrl The url to make requests to (e.g. us.app.zuva.ai). The scheme and port may
+   *     optionally be included.
+   * @param token The Zuva token to use to authenticate all requests
+   * @return A client with this runtime's default timeouts. Use {@link
+   *     DocAIClient.Builder#runtime(DocAIRuntime)} to configure it further.
+   */
+  public DocAIClient newClient(String baseUrl, String token) {
+    return new DocAIClient.Builder(baseUrl, token).runtime(this).build();
+  }
+
+  /**
+   * Returns the transport settings of this runtime
+   *
+   * @return The dispatcher, connection pool and protocol settings, and the default timeouts of
+   *     clients that do not override them
+   */
+  public ClientSettings getSettings() {
+    return transport.getSettings();
+  }
+
+  /**
+   * Returns the Jackson module that generates (de)serialization code for this runtime
+   *
+   * @return The class name of the Blackbird or Afterburner module in use, or null if neither is on
+   *     the classpath (or acceleration was disabled) and fields are accessed by reflection
+   */
+  public String getJsonAccelerator() {
+    return codecs.accelerator;
+  }
+
+  /**
+   * Returns the transport that sends the requests of this runtime's clients
+   *
+   * @return The transport given to the builder, or the one built from its settings
+   */
+  public HttpTransport getTransport() {
+    return transport;
+  }
+
+  /**
+   * Closes the runtime's transport, which stops its threads and closes idle pooled connections.
+   * Requests that are already queued still run, but clients of this runtime must not be used to
+   * send new requests.
+   */
+  @Override
+  public void close() {
+    if (closeable) {
+      transport.close();
+    }
+  }
+
+  /**
+   * Builder for a DocAIRuntime with non-default transport settings
+   *
+   * <p>The defaults are those of {@link #shared()}: at most 64 concurrent requests (5 per host), 5
+   * idle pooled connections kept alive for 5 minutes, 10 second connect/read/write timeouts, no
+   * overall call timeout, and HTTP/2 preferred over HTTP/1.1 where the server supports it. Since
+   * all clients of a runtime share its dispatcher, maxRequestsPerHost bounds the requests that all
+   * of them together send to one host.
+   */
+  public static class Builder {
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private int maxIdleConnections = 5;
+    private Duration keepAlive = Duration.ofMinutes(5);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration writeTimeout = Duration.ofSeconds(10);
+    private Duration callTimeout = Duration.ZERO;
+    private List<Protocol> protocols = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+    private boolean jsonAcceleration = true;
+    private HttpTransport transport;
+
+    /**
+     * @param maxRequests The maximum number of requests to execute concurrently. Above this,
+     *     asynchronous requests queue in memory until running calls complete.
+     * @return This builder
+     */
+    public Builder maxRequests(int maxRequests) {
+      if (maxRequests < 1) {
+        throw new IllegalArgumentException("maxRequests must be positive");
+      }
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    /**
+     * @param maxRequestsPerHost The maximum number of requests to execute concurrently against
+     *     the DocAI host
+     * @return This builder
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      if (maxRequestsPerHost < 1) {
+        throw new IllegalArgumentException("maxRequestsPerHost must be positive");
+      }
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    /**
+     * @param maxIdleConnections The maximum number of idle connections to keep in the pool
+     * @param keepAlive How long an idle connection is kept before it is evicted
+     * @return This builder
+     */
+    public Builder connectionPool(int maxIdleConnections, Duration keepAlive) {
+      if (maxIdleConnections < 0) {
+        throw new IllegalArgumentException("maxIdleConnections must not be negative");
+      }
+      if (keepAlive.isNegative() || keepAlive.isZero()) {
+        throw new IllegalArgumentException("keepAlive must be positive");
+      }
+      this.maxIdleConnections = maxIdleConnections;
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * @param connectTimeout The default timeout for establishing a new connection, or zero for
+     *     none
+     * @return This builder
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = checkTimeout("connectTimeout", connectTimeout);
+      return this;
+    }
+
+    /**
+     * @param readTimeout The default maximum time to wait for data from the server on an open
+     *     connection, or zero for none
+     * @return This builder
+     */
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = checkTimeout("readTimeout", readTimeout);
+      return this;
+    }
+
+    /**
+     * @param writeTimeout The default maximum time to wait while sending data to the server, or
+     *     zero for none
+     * @return This builder
+     */
+    public Builder writeTimeout(Duration writeTimeout) {
+      this.writeTimeout = checkTimeout("writeTimeout", writeTimeout);
+      return this;
+    }
+
+    /**
+     * @param callTimeout The default maximum time a complete call (including connecting, sending
+     *     the request and reading the response) may take, or zero for none
+     * @return This builder
+     */
+    public Builder callTimeout(Duration callTimeout) {
+      this.callTimeout = checkTimeout("callTimeout", callTimeout);
+      return this;
+    }
+
+    /**
+     * @param preferHttp2 If true (the default), HTTP/2 is negotiated when the server supports it,
+     *     multiplexing concurrent requests over a single connection. If false, only HTTP/1.1 is
+     *     used, with one connection per concurrent request.
+     * @return This builder
+     */
+    public Builder preferHttp2(boolean preferHttp2) {
+      this.protocols =
+          preferHttp2
+              ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+              : Collections.singletonList(Protocol.HTTP_1_1);
+      return this;
+    }
+
+    /**
+     * @param jsonAcceleration If true (the default), and jackson-module-blackbird (Java 9 and
+     *     later) or jackson-module-afterburner is on the classpath, it is registered so that
+     *     responses are decoded with generated code instead of reflection. If false, or neither
+     *     module is present, reflection is used.
+     * @return This builder
+     */
+    public Builder jsonAcceleration(boolean jsonAcceleration) {
+      this.jsonAcceleration = jsonAcceleration;
+      return this;
+    }
+
+    /**
+     * @param transport The transport to send requests with, such as a JdkHttpTransport. The
+     *     dispatcher, connection pool, timeout and protocol settings of this builder are then not
+     *     used. By default an {@link OkHttpTransport} is built from them, or a JdkHttpTransport if
+     *     the system property {@value HttpTransport#TRANSPORT_PROPERTY} is "jdk".
+     * @return This builder
+     */
+    public Builder transport(HttpTransport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    private ClientSettings settings() {
+      List<String> names = new ArrayList<>();
+      for (Protocol protocol : protocols) {
+        names.add(protocol.toString());
+      }
+      return new ClientSettings(
+          maxRequests,
+          maxRequestsPerHost,
+          maxIdleConnections,
+          keepAlive,
+          connectTimeout,
+          readTimeout,
+          writeTimeout,
+          callTimeout,
+          names);
+    }
+
+    static Duration checkTimeout(String name, Duration timeout) {
+      if (timeout.isNegative()) {
+        throw new IllegalArgumentException(name + " must not be negative");
+      }
+      return timeout;
+    }
+
+    public DocAIRuntime build() {
+      return new DocAIRuntime(this, true);
+    }
+  }
+}
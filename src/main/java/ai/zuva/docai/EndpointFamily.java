@@ -0,0 +1,58 @@
+package ai.zuva.docai;
+
+import java.util.List;
+
+/**
+ * The groups of DocAI endpoints that share a request quota. The single and bulk forms of an
+ * endpoint (e.g. api/v2/ocr/{id} and api/v2/ocrs) belong to the same family.
+ */
+public enum EndpointFamily {
+  FILES,
+  OCR,
+  EXTRACTION,
+  CLASSIFICATION,
+  MLC,
+  LANGUAGE,
+  NORMALIZATION,
+  FIELDS,
+  // Any endpoint that is not part of one of the families above
+  OTHER;
+
+  /**
+   * Finds the family of the endpoint with the given path segments
+   *
+   * @param pathSegments The decoded segments of the request path, e.g. [api, v2, ocr, {id}]
+   * @return The family the endpoint belongs to
+   */
+  public static EndpointFamily of(List<String> pathSegments) {
+    int i = pathSegments.indexOf("v2");
+    if (i < 1 || !pathSegments.get(i - 1).equals("api") || i + 1 >= pathSegments.size()) {
+      return OTHER;
+    }
+    switch (pathSegments.get(i + 1)) {
+      case "files":
+        return FILES;
+      case "ocr":
+      case "ocrs":
+        return OCR;
+      case "extraction":
+      case "extractions":
+        return EXTRACTION;
+      case "classification":
+      case "classifications":
+        return CLASSIFICATION;
+      case "mlc":
+      case "mlcs":
+        return MLC;
+      case "language":
+      case "languages":
+        return LANGUAGE;
+      case "normalization":
+        return NORMALIZATION;
+      case "fields":
+        return FIELDS;
+      default:
+        return OTHER;
+    }
+  }
+}
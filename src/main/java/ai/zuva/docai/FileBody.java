@@ -0,0 +1,41 @@
+package ai.zuva.docai;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// A request body read from a file each time it is written, so the file is never held in memory
+class FileBody implements HttpTransport.Body {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final File file;
+  private final String contentType;
+
+  FileBody(File file, String contentType) {
+    this.file = file;
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return file.length();
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        out.write(buffer, 0, n);
+      }
+    }
+  }
+}
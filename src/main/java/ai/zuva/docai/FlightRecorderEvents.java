@@ -0,0 +1,105 @@
+package ai.zuva.docai;
+
+/**
+ * Java Flight Recorder events for the SDK's HTTP calls, status polls, file uploads and retries
+ *
+ * <p>On Java 11 and later the SDK emits these events whenever a recording that enables them is
+ * running, so SDK activity appears on the same timeline as GC, lock and thread events:
+ *
+ * <ul>
+ *   <li>{@code ai.zuva.docai.HttpCall}: method, endpoint template, status code, bytes sent and
+ *       received, and the error of calls that failed without a response
+ *   <li>{@code ai.zuva.docai.StatusPoll}: one per status request made by {@code pollStatus}, with
+ *       the request ID, the poll number and the observed state
+ *   <li>{@code ai.zuva.docai.FileUpload}: one per {@code File.submitFile} call, with the size,
+ *       content type and resulting file ID
+ *   <li>{@code ai.zuva.docai.Retry}: one per retried request, with the failed attempt and the delay
+ *       before the next one
+ * </ul>
+ *
+ * <p>The events are enabled in the default and profile settings. An event that is disabled costs a
+ * check of a flag, so they can be left on in production. On Java 8 no events are emitted.
+ */
+public final class FlightRecorderEvents {
+  private static final Recorder RECORDER = load();
+
+  private FlightRecorderEvents() {}
+
+  // Receives the events; implemented with jdk.jfr by JfrRecorder in the java11 source set. Each
+  // method returns null if its event is not enabled in any running recording.
+  abstract static class Recorder {
+    abstract HttpCall httpCall();
+
+    abstract StatusPoll statusPoll(String requestId, int poll);
+
+    abstract Upload fileUpload(long size, String contentType);
+
+    abstract void retry(String method, String endpoint, int attempt, long delayMillis);
+  }
+
+  interface HttpCall {
+    // statusCode is 0 if the call failed without a response
+    void end(
+        String method,
+        String endpoint,
+        int statusCode,
+        long bytesSent,
+        long bytesReceived,
+        Throwable error);
+  }
+
+  interface StatusPoll {
+    // state is null if the status request failed
+    void end(ProcessingState state);
+  }
+
+  /** A file upload that has started, which is timed until {@link #end} is called */
+  public interface Upload {
+    /** @param fileId The ID of the uploaded file, or null if the upload failed */
+    void end(String fileId);
+  }
+
+  private static final Upload NO_UPLOAD = fileId -> {};
+
+  // The recorder is compiled for Java 11, so it is only loaded if the runtime has jdk.jfr
+  private static Recorder load() {
+    try {
+      Class.forName("jdk.jfr.Event");
+      return (Recorder)
+          Class.forName("ai.zuva.docai.JfrRecorder").getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /** @return True if the runtime supports Java Flight Recorder events */
+  public static boolean isAvailable() {
+    return RECORDER != null;
+  }
+
+  /**
+   * Starts timing a file upload. Called by {@code File.submitFile}.
+   *
+   * @param size The size of the file in bytes
+   * @param contentType The content type given for the file, or null
+   * @return The upload, whose {@link Upload#end} commits the event
+   */
+  public static Upload fileUpload(long size, String contentType) {
+    Upload upload = RECORDER == null ? null : RECORDER.fileUpload(size, contentType);
+    return upload == null ? NO_UPLOAD : upload;
+  }
+
+  static HttpCall httpCall() {
+    return RECORDER == null ? null : RECORDER.httpCall();
+  }
+
+  static StatusPoll statusPoll(String requestId, int poll) {
+    return RECORDER == null ? null : RECORDER.statusPoll(requestId, poll);
+  }
+
+  static void retry(String method, String endpoint, int attempt, long delayMillis) {
+    if (RECORDER != null) {
+      RECORDER.retry(method, endpoint, attempt, delayMillis);
+    }
+  }
+}
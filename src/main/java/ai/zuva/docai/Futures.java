@@ -0,0 +1,90 @@
+package ai.zuva.docai;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Helpers for deriving futures from those returned by the asynchronous API
+ *
+ * <p>A future derived with {@link CompletableFuture#thenApply} or {@link
+ * CompletableFuture#whenComplete} does not cancel its source when it is cancelled, so cancelling
+ * it would leave the HTTP call running. The futures returned by these helpers pass cancellation
+ * on to their source.
+ */
+public final class Futures {
+  private Futures() {}
+
+  /**
+   * Like {@code source.thenApply(fn)}, except that cancelling the result cancels the source
+   *
+   * @param source The future to derive from
+   * @param fn The function to apply to the value of the source
+   * @param <T> The type of the source's value
+   * @param <U> The type of the result's value
+   * @return The derived future
+   */
+  public static <T, U> CompletableFuture<U> map(
+      CompletableFuture<T> source, Function<? super T, ? extends U> fn) {
+    return linkCancellation(source.thenApply(fn), source);
+  }
+
+  /**
+   * Like {@code source.thenCompose(fn)}, except that cancelling the result cancels the source, or
+   * the future returned by {@code fn} once the source has completed
+   *
+   * @param source The future to derive from
+   * @param fn The function that starts the next step with the value of the source
+   * @param <T> The type of the source's value
+   * @param <U> The type of the result's value
+   * @return The derived future
+   */
+  public static <T, U> CompletableFuture<U> compose(
+      CompletableFuture<T> source, Function<? super T, ? extends CompletableFuture<U>> fn) {
+    CompletableFuture<U> result = linkCancellation(new CompletableFuture<>(), source);
+    source.whenComplete(
+        (value, t) -> {
+          if (t != null) {
+            result.completeExceptionally(t);
+            return;
+          }
+          CompletableFuture<U> next;
+          try {
+            next = fn.apply(value);
+          } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+          }
+          linkCancellation(result, next);
+          next.whenComplete(
+              (u, e) -> {
+                if (e == null) {
+                  result.complete(u);
+                } else {
+                  result.completeExceptionally(e);
+                }
+              });
+        });
+    return result;
+  }
+
+  /**
+   * Makes cancelling a derived future cancel the future it was derived from
+   *
+   * @param derived The derived future
+   * @param source The future that completes the derived one
+   * @param <T> The type of the derived future's value
+   * @return The derived future
+   */
+  public static <T> CompletableFuture<T> linkCancellation(
+      CompletableFuture<T> derived, Future<?> source) {
+    derived.whenComplete(
+        (value, t) -> {
+          if (t instanceof CancellationException) {
+            source.cancel(false);
+          }
+        });
+    return derived;
+  }
+}
@@ -0,0 +1,102 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+
+/**
+ * Configures request hedging for the idempotent GETs made by a DocAIClient
+ *
+ * <p>When an attempt has not completed within a percentile of the recent latency of its endpoint,
+ * such as api/v2/ocr/{id}/text, a second, identical attempt is sent. Whichever responds first is
+ * used and the other is cancelled, so a single slow connection no longer dominates tail latency.
+ * Hedges are limited by a budget: over time, at most maxExtraLoad hedges are sent for each GET.
+ *
+ * <p>Hedging only applies to GET requests whose response is decoded in memory, such as {@link
+ * DocAIClient#authorizedGet(String, int, Class)}. Binary downloads are too large to fetch twice,
+ * and requests that create, modify or delete resources are never hedged.
+ */
+public class HedgePolicy {
+  /** Hedges at the 95th percentile, after at least 10ms, adding at most 5% more load. */
+  public static final HedgePolicy DEFAULT = new Builder().build();
+
+  public final double percentile;
+  public final Duration minDelay;
+  public final double maxExtraLoad;
+  public final int latencyWindow;
+  public final int minSamples;
+
+  private HedgePolicy(Builder builder) {
+    this.percentile = builder.percentile;
+    this.minDelay = builder.minDelay;
+    this.maxExtraLoad = builder.maxExtraLoad;
+    this.latencyWindow = builder.latencyWindow;
+    this.minSamples = builder.minSamples;
+  }
+
+  public static class Builder {
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(10);
+    private double maxExtraLoad = 0.05;
+    private int latencyWindow = 1000;
+    private int minSamples = 20;
+
+    /**
+     * @param percentile The fraction of recent attempts (e.g. 0.95) that an attempt must be slower
+     *     than before it is hedged
+     * @return This builder
+     */
+    public Builder percentile(double percentile) {
+      if (!(percentile > 0 && percentile < 1)) {
+        throw new IllegalArgumentException("percentile must be between 0 and 1");
+      }
+      this.percentile = percentile;
+      return this;
+    }
+
+    /**
+     * @param minDelay The shortest time to wait before hedging, however fast recent attempts were
+     * @return This builder
+     */
+    public Builder minDelay(Duration minDelay) {
+      if (minDelay.isNegative()) {
+        throw new IllegalArgumentException("minDelay must not be negative");
+      }
+      this.minDelay = minDelay;
+      return this;
+    }
+
+    /**
+     * @param maxExtraLoad The maximum number of hedges, as a fraction of GET requests, that the
+     *     client sends over time (e.g. 0.05 for 5%)
+     * @return This builder
+     */
+    public Builder maxExtraLoad(double maxExtraLoad) {
+      if (!(maxExtraLoad > 0 && maxExtraLoad <= 1)) {
+        throw new IllegalArgumentException("maxExtraLoad must be greater than 0 and at most 1");
+      }
+      this.maxExtraLoad = maxExtraLoad;
+      return this;
+    }
+
+    /**
+     * @param latencyWindow The number of recent latencies per endpoint that the percentile is
+     *     computed over
+     * @param minSamples The number of latencies an endpoint needs before its requests are hedged
+     * @return This builder
+     */
+    public Builder latencyWindow(int latencyWindow, int minSamples) {
+      if (latencyWindow < 1) {
+        throw new IllegalArgumentException("latencyWindow must be positive");
+      }
+      if (minSamples < 1 || minSamples > latencyWindow) {
+        throw new IllegalArgumentException("minSamples must be between 1 and latencyWindow");
+      }
+      this.latencyWindow = latencyWindow;
+      this.minSamples = minSamples;
+      return this;
+    }
+
+    public HedgePolicy build() {
+      return new HedgePolicy(this);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package ai.zuva.docai;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Applies a HedgePolicy on behalf of one client: tracks recent GET latencies per endpoint and
+// holds that client's hedge budget. Endpoints are keyed by their path template, so that a fast
+// status poll and a slower results fetch in the same family keep separate windows.
+class Hedger {
+  // The budget is kept in thousandths of a hedge so that fractional ratios add up exactly
+  private static final long UNIT = 1000;
+  // At most this many hedges can be sent in a burst, however long the client has been idle
+  private static final long MAX_BURST = 10;
+
+  private final HedgePolicy policy;
+  private final long depositPerRequest;
+  private final AtomicLong balance = new AtomicLong();
+  private final AtomicLong hedges = new AtomicLong();
+  private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+  Hedger(HedgePolicy policy) {
+    this.policy = policy;
+    this.depositPerRequest = Math.round(policy.maxExtraLoad * UNIT);
+  }
+
+  static boolean isHedgeable(HttpTransport.Request request) {
+    return "GET".equals(request.method);
+  }
+
+  /**
+   * Called once for every hedgeable attempt
+   *
+   * @return The delay in nanoseconds after which the attempt should be hedged, or -1 if there are
+   *     not yet enough latency samples for its endpoint
+   */
+  long onAttempt(HttpTransport.Request request) {
+    long current;
+    do {
+      current = balance.get();
+      if (current >= MAX_BURST * UNIT) {
+        break;
+      }
+    } while (!balance.compareAndSet(
+        current, Math.min(MAX_BURST * UNIT, current + depositPerRequest)));
+
+    long threshold = windowFor(request).threshold();
+    return threshold < 0 ? -1 : Math.max(threshold, policy.minDelay.toNanos());
+  }
+
+  // Withdraws one hedge from the budget, returning false if the budget is exhausted
+  boolean tryHedge() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < UNIT) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - UNIT));
+    hedges.incrementAndGet();
+    return true;
+  }
+
+  void recordLatency(HttpTransport.Request request, long nanos) {
+    windowFor(request).add(nanos);
+  }
+
+  long getHedgeCount() {
+    return hedges.get();
+  }
+
+  private LatencyWindow windowFor(HttpTransport.Request request) {
+    return windows.computeIfAbsent(
+        MeteredTransport.endpointTemplate(request.pathSegments()),
+        endpoint -> new LatencyWindow(policy));
+  }
+
+  // A ring buffer of recent latencies. The percentile is recomputed after every tenth of the
+  // window has been replaced, rather than on every sample.
+  private static class LatencyWindow {
+    private final double percentile;
+    private final int minSamples;
+    private final long[] samples;
+    private final int refreshInterval;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private volatile long threshold = -1;
+
+    LatencyWindow(HedgePolicy policy) {
+      this.percentile = policy.percentile;
+      this.minSamples = policy.minSamples;
+      this.samples = new long[policy.latencyWindow];
+      this.refreshInterval = Math.max(1, policy.latencyWindow / 10);
+    }
+
+    synchronized void add(long nanos) {
+      samples[next] = nanos;
+      next = (next + 1) % samples.length;
+      count = Math.min(count + 1, samples.length);
+      if (count >= minSamples && (threshold < 0 || ++sinceRefresh >= refreshInterval)) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        threshold = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        sinceRefresh = 0;
+      }
+    }
+
+    long threshold() {
+      return threshold;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.metrics.CallPhases;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends HTTP requests on behalf of a {@link DocAIRuntime}
+ *
+ * <p>DocAIClient builds requests, applies retries, rate and concurrency limits and hedging, and
+ * decodes responses; a transport only moves bytes. {@link OkHttpTransport} is used by default.
+ * On Java 11 and later, JdkHttpTransport (based on java.net.http.HttpClient) can be passed to
+ * {@link DocAIRuntime.Builder#transport(HttpTransport)} instead, or selected for runtimes built
+ * without an explicit transport by setting the system property {@value #TRANSPORT_PROPERTY} to
+ * "jdk".
+ *
+ * <p>Implementations must report timeouts as an {@link java.io.InterruptedIOException}, so that
+ * the client's concurrency limiter can tell them apart from other I/O failures.
+ */
+public interface HttpTransport extends AutoCloseable {
+  String TRANSPORT_PROPERTY = "ai.zuva.docai.transport";
+
+  /**
+   * Sends a request and waits for the response headers
+   *
+   * @param request The request to send
+   * @return The response, whose body the caller must close
+   * @throws IOException The request could not be sent, or no response was received
+   */
+  Response execute(Request request) throws IOException;
+
+  /**
+   * Sends a request without blocking the calling thread
+   *
+   * @param request The request to send
+   * @return A future that completes with the response, whose body the caller must close, or
+   *     exceptionally with an IOException. Cancelling the future cancels the request.
+   */
+  CompletableFuture<Response> executeAsync(Request request);
+
+  /**
+   * Returns a transport that shares this transport's connections but applies different timeouts
+   *
+   * @param connectTimeout The connect timeout, or null to keep this transport's
+   * @param readTimeout The read timeout, or null to keep this transport's
+   * @param writeTimeout The write timeout, or null to keep this transport's
+   * @param callTimeout The call timeout, or null to keep this transport's
+   * @return A transport with the given timeouts. Timeouts that the implementation cannot change
+   *     without giving up shared connections keep this transport's values.
+   */
+  HttpTransport withTimeouts(
+      Duration connectTimeout, Duration readTimeout, Duration writeTimeout, Duration callTimeout);
+
+  /** @return The effective settings of this transport */
+  ClientSettings getSettings();
+
+  /** Releases the transport's threads and pooled connections. */
+  @Override
+  void close();
+
+  /** A request body, which may be written more than once if the request is retried */
+  interface Body {
+    /** @return True if the body can only be written once, so the request cannot be retried */
+    default boolean isOneShot() {
+      return false;
+    }
+
+    /** @return The MIME type of the body, or null if none is specified */
+    String contentType();
+
+    /** @return The length of the body in bytes, or -1 if it is not known before it is written */
+    long contentLength();
+
+    /**
+     * Writes the body
+     *
+     * @param out The stream to write to. It must not be closed.
+     * @throws IOException The body could not be produced or written
+     */
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  /** The response to a request, whose headers have been received */
+  interface Response extends Closeable {
+    int statusCode();
+
+    /**
+     * @param name The name of a header, which is matched case-insensitively
+     * @return The header's value, or null if the response does not have it
+     */
+    String header(String name);
+
+    /** @return The response body. It is closed when the response is closed. */
+    InputStream body();
+
+    /**
+     * @return The time spent in each phase of the call, once the response has been closed, or null
+     *     if the transport does not record them
+     */
+    default CallPhases phases() {
+      return null;
+    }
+
+    @Override
+    void close();
+  }
+
+  /** An HTTP request */
+  final class Request {
+    public final String method;
+    public final URI url;
+    public final Map<String, String> headers;
+    public final Body body;
+
+    public Request(String method, URI url, Map<String, String> headers, Body body) {
+      this.method = method;
+      this.url = url;
+      this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+      this.body = body;
+    }
+
+    /** @return The decoded segments of the URL's path, without empty segments */
+    public List<String> pathSegments() {
+      List<String> segments = new ArrayList<>();
+      String path = url.getPath();
+      if (path != null) {
+        for (String segment : path.split("/")) {
+          if (!segment.isEmpty()) {
+            segments.add(segment);
+          }
+        }
+      }
+      return segments;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package ai.zuva.docai;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A request body read from a stream through a fixed-size buffer. The stream can only be read once,
+// so a request with this body is never retried.
+class InputStreamBody implements HttpTransport.Body {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream in;
+  private final long contentLength;
+  private final String contentType;
+  private final AtomicBoolean written = new AtomicBoolean();
+
+  InputStreamBody(InputStream in, long contentLength, String contentType) {
+    this.in = in;
+    this.contentLength = contentLength;
+    this.contentType = contentType;
+  }
+
+  @Override
+  public boolean isOneShot() {
+    return true;
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    if (!written.compareAndSet(false, true)) {
+      throw new IOException("A request body read from a stream can only be sent once");
+    }
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long total = 0;
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      out.write(buffer, 0, n);
+      total += n;
+    }
+    if (contentLength >= 0 && total != contentLength) {
+      throw new IOException(
+          "Stream provided " + total + " bytes, but its length was given as " + contentLength);
+    }
+  }
+}
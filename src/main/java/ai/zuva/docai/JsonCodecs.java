@@ -0,0 +1,62 @@
+package ai.zuva.docai;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// The JSON codec of a DocAIRuntime. An ObjectReader or ObjectWriter is built once for each type,
+// so that the (de)serializer lookup happens on first use instead of on every request.
+class JsonCodecs {
+  // Optional modules that replace reflective field access with generated code, in order of
+  // preference. Blackbird needs Java 9 or later; Afterburner also works on Java 8.
+  private static final String BLACKBIRD = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+  private static final String AFTERBURNER =
+      "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+  final ObjectMapper mapper;
+  final String accelerator;
+  private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  JsonCodecs(boolean accelerate) {
+    mapper = new ObjectMapper();
+    mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE);
+    Module module = accelerate ? loadAccelerator() : null;
+    if (module != null) {
+      mapper.registerModule(module);
+    }
+    accelerator = module == null ? null : module.getClass().getName();
+  }
+
+  ObjectReader reader(Class<?> type) {
+    ObjectReader reader = readers.get(type);
+    return reader != null ? reader : readers.computeIfAbsent(type, mapper::readerFor);
+  }
+
+  // The writer serializes into a sink owned by OkHttp, so it must not close it when it is done
+  ObjectWriter writer(Object value) {
+    Class<?> type = value == null ? Object.class : value.getClass();
+    ObjectWriter writer = writers.get(type);
+    return writer != null
+        ? writer
+        : writers.computeIfAbsent(
+            type, t -> mapper.writerFor(t).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+  }
+
+  private static Module loadAccelerator() {
+    boolean java8 = System.getProperty("java.specification.version", "").startsWith("1.");
+    for (String name : java8 ? new String[] {AFTERBURNER} : new String[] {BLACKBIRD, AFTERBURNER}) {
+      try {
+        return (Module) Class.forName(name).getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+        // Not on the classpath, or built for another Jackson version; reflection is used instead
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,35 @@
+package ai.zuva.docai;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// A request body that serializes its value straight into the connection's stream with a streaming
+// Jackson generator, so that a large payload is never built up as a String or byte array first.
+// The value is serialized again each time the body is written, which keeps the body replayable.
+class JsonRequestBody implements HttpTransport.Body {
+  private final ObjectWriter writer;
+  private final Object value;
+
+  // The writer must not close its target, since the stream belongs to the transport
+  JsonRequestBody(ObjectWriter writer, Object value) {
+    this.writer = writer;
+    this.value = value;
+  }
+
+  @Override
+  public String contentType() {
+    return null;
+  }
+
+  @Override
+  public long contentLength() {
+    // Unknown until serialized, so the body is sent with chunked transfer encoding
+    return -1;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    writer.writeValue(out, value);
+  }
+}
@@ -0,0 +1,289 @@
+package ai.zuva.docai;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Learns how long requests take to process, so that polling can wait for the expected completion
+ * time instead of sending many early status requests
+ *
+ * <p>The model keeps a histogram of submit-to-complete times for each service, and for each
+ * service and file size bucket. The histograms have logarithmic bins (each about 20% wider than
+ * the previous one, from 50ms to several hours) and age: once a histogram holds maxSamples
+ * samples, every count is halved, so that the model follows changes in server performance.
+ *
+ * <p>Every DocAIClient has a model, which it fills as requests created through it complete. A
+ * model can be shared between clients with {@link DocAIClient.Builder#latencyModel(LatencyModel)},
+ * and saved with {@link #save(OutputStream)} so that a restarted application can {@link
+ * #load(InputStream)} it instead of learning from scratch.
+ */
+public class LatencyModel {
+  private static final long MIN_NANOS = Duration.ofMillis(50).toNanos();
+  private static final double BIN_RATIO = 1.2;
+  private static final int BINS = 80;
+  // Files up to 16KB, then one bucket for each factor of 4 in size, up to 1GB and above
+  private static final int SIZE_BUCKETS = 10;
+  private static final int UNKNOWN_SIZE = -1;
+  private static final int ALL_SIZES = -2;
+  private static final int MAX_TRACKED_FILES = 10000;
+
+  public final int minSamples;
+  public final long maxSamples;
+
+  private final Map<EndpointFamily, Map<Integer, Histogram>> histograms =
+      new EnumMap<>(EndpointFamily.class);
+  // The sizes of recently uploaded files, used to find the size bucket of requests that use them
+  private final Map<String, Long> fileSizes =
+      new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+          return size() > MAX_TRACKED_FILES;
+        }
+      };
+
+  /** Creates an empty model that predicts after 5 samples and ages after 10000. */
+  public LatencyModel() {
+    this(5, 10000);
+  }
+
+  /**
+   * Creates an empty model
+   *
+   * @param minSamples The number of samples a histogram needs before it is used for predictions
+   * @param maxSamples The number of samples at which a histogram's counts are halved
+   */
+  public LatencyModel(int minSamples, long maxSamples) {
+    if (minSamples < 1) {
+      throw new IllegalArgumentException("minSamples must be positive");
+    }
+    if (maxSamples < minSamples * 2L) {
+      throw new IllegalArgumentException("maxSamples must be at least twice minSamples");
+    }
+    this.minSamples = minSamples;
+    this.maxSamples = maxSamples;
+  }
+
+  /**
+   * Remembers the size of an uploaded file, so that requests processing it are modelled by size
+   *
+   * @param fileId The ID of the file
+   * @param size The size of the file in bytes
+   */
+  public synchronized void recordFileSize(String fileId, long size) {
+    fileSizes.put(fileId, size);
+  }
+
+  /**
+   * @param fileId The ID of a file
+   * @return The size of the file in bytes, or -1 if it was not uploaded through this model's client
+   */
+  public synchronized long getFileSize(String fileId) {
+    Long size = fileId == null ? null : fileSizes.get(fileId);
+    return size == null ? -1 : size;
+  }
+
+  /**
+   * Adds one observed processing time to the model
+   *
+   * @param service The service that processed the request
+   * @param fileSize The size in bytes of the processed file, or -1 if unknown
+   * @param elapsed The time from submitting the request to observing that it was complete
+   */
+  public synchronized void record(EndpointFamily service, long fileSize, Duration elapsed) {
+    Map<Integer, Histogram> byBucket =
+        histograms.computeIfAbsent(service, s -> new LinkedHashMap<>());
+    long nanos = elapsed.toNanos();
+    byBucket.computeIfAbsent(ALL_SIZES, b -> new Histogram()).add(nanos, maxSamples);
+    byBucket.computeIfAbsent(sizeBucket(fileSize), b -> new Histogram()).add(nanos, maxSamples);
+  }
+
+  /**
+   * Predicts how much longer a request will take, given that it has not completed yet
+   *
+   * @param service The service processing the request
+   * @param fileSize The size in bytes of the processed file, or -1 if unknown
+   * @param elapsed The time since the request was submitted
+   * @param quantile The probability (e.g. 0.5) that the request will have completed after the
+   *     returned time, given that it has not completed after elapsed
+   * @return The predicted remaining time, or null if there are not enough samples for the service
+   *     or the request has already taken longer than every sample
+   */
+  public synchronized Duration predictRemaining(
+      EndpointFamily service, long fileSize, Duration elapsed, double quantile) {
+    Map<Integer, Histogram> byBucket = histograms.get(service);
+    if (byBucket == null) {
+      return null;
+    }
+    Histogram histogram = byBucket.get(sizeBucket(fileSize));
+    if (histogram == null || histogram.total < minSamples) {
+      histogram = byBucket.get(ALL_SIZES);
+    }
+    if (histogram == null || histogram.total < minSamples) {
+      return null;
+    }
+    long elapsedNanos = elapsed.toNanos();
+    long predicted = histogram.conditionalQuantile(elapsedNanos, quantile);
+    return predicted < 0 ? null : Duration.ofNanos(Math.max(0, predicted - elapsedNanos));
+  }
+
+  /**
+   * Writes the model's histograms as JSON
+   *
+   * @param out The stream to write to. It is not closed.
+   * @throws IOException The model could not be written
+   */
+  public void save(OutputStream out) throws IOException {
+    Snapshot snapshot = new Snapshot();
+    synchronized (this) {
+      for (Map.Entry<EndpointFamily, Map<Integer, Histogram>> service : histograms.entrySet()) {
+        for (Map.Entry<Integer, Histogram> bucket : service.getValue().entrySet()) {
+          SnapshotHistogram h = new SnapshotHistogram();
+          h.service = service.getKey();
+          h.sizeBucket = bucket.getKey();
+          h.counts = bucket.getValue().counts.clone();
+          snapshot.histograms.add(h);
+        }
+      }
+    }
+    new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, snapshot);
+  }
+
+  /**
+   * Adds the histograms written by {@link #save(OutputStream)} to this model
+   *
+   * @param in The stream to read from. It is not closed.
+   * @throws IOException The model could not be read
+   */
+  public void load(InputStream in) throws IOException {
+    Snapshot snapshot =
+        new ObjectMapper()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .readValue(in, Snapshot.class);
+    if (snapshot.version != Snapshot.VERSION) {
+      throw new IOException("Unsupported latency model version " + snapshot.version);
+    }
+    synchronized (this) {
+      for (SnapshotHistogram h : snapshot.histograms) {
+        if (h.service == null || h.counts == null || h.counts.length != BINS) {
+          throw new IOException("Malformed latency model histogram");
+        }
+        Histogram histogram =
+            histograms
+                .computeIfAbsent(h.service, s -> new LinkedHashMap<>())
+                .computeIfAbsent(h.sizeBucket, b -> new Histogram());
+        histogram.merge(h.counts, maxSamples);
+      }
+    }
+  }
+
+  static int sizeBucket(long fileSize) {
+    if (fileSize < 0) {
+      return UNKNOWN_SIZE;
+    }
+    long units = fileSize >> 14;
+    if (units == 0) {
+      return 0;
+    }
+    int log4 = (63 - Long.numberOfLeadingZeros(units)) / 2;
+    return Math.min(SIZE_BUCKETS - 1, 1 + log4);
+  }
+
+  private static int bin(long nanos) {
+    if (nanos <= MIN_NANOS) {
+      return 0;
+    }
+    int bin = (int) (Math.log((double) nanos / MIN_NANOS) / Math.log(BIN_RATIO)) + 1;
+    return Math.min(BINS - 1, bin);
+  }
+
+  // The upper bound of a bin, which is used as the predicted time for samples in it
+  private static long binUpperBound(int bin) {
+    return (long) (MIN_NANOS * Math.pow(BIN_RATIO, bin));
+  }
+
+  private static class Histogram {
+    final long[] counts = new long[BINS];
+    long total;
+
+    void add(long nanos, long maxSamples) {
+      counts[bin(nanos)]++;
+      total++;
+      if (total >= maxSamples) {
+        halve();
+      }
+    }
+
+    void merge(long[] other, long maxSamples) {
+      for (int i = 0; i < BINS; i++) {
+        counts[i] += Math.max(0, other[i]);
+        total += Math.max(0, other[i]);
+      }
+      while (total >= maxSamples) {
+        halve();
+      }
+    }
+
+    private void halve() {
+      total = 0;
+      for (int i = 0; i < BINS; i++) {
+        counts[i] /= 2;
+        total += counts[i];
+      }
+    }
+
+    // The time by which the given fraction of the samples slower than elapsed had completed, or -1
+    // if there are no such samples
+    long conditionalQuantile(long elapsedNanos, double quantile) {
+      int first = bin(elapsedNanos);
+      long remaining = 0;
+      for (int i = first; i < BINS; i++) {
+        remaining += counts[i];
+      }
+      if (remaining == 0) {
+        // Already slower than every sample, so the samples say nothing about when it will finish
+        return -1;
+      }
+      double target = quantile * remaining;
+      long seen = 0;
+      for (int i = first; i < BINS; i++) {
+        seen += counts[i];
+        if (seen >= target) {
+          return binUpperBound(i);
+        }
+      }
+      return binUpperBound(BINS - 1);
+    }
+  }
+
+  static class Snapshot {
+    static final int VERSION = 1;
+
+    @JsonProperty("version")
+    public int version = VERSION;
+
+    @JsonProperty("histograms")
+    public List<SnapshotHistogram> histograms = new ArrayList<>();
+  }
+
+  static class SnapshotHistogram {
+    @JsonProperty("service")
+    public EndpointFamily service;
+
+    @JsonProperty("size_bucket")
+    public int sizeBucket;
+
+    @JsonProperty("counts")
+    public long[] counts;
+  }
+}
@@ -0,0 +1,343 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.metrics.CallPhases;
+import ai.zuva.docai.metrics.MetricsListener;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reports every call made through another transport to a MetricsListener, if there is one, and as
+// a Flight Recorder event. A call is timed from the moment it is handed to the transport until its
+// response is closed, so the time to read the response body is included.
+class MeteredTransport implements HttpTransport {
+  // The path segments of DocAI endpoints that are not IDs
+  private static final Set<String> NAMED_SEGMENTS =
+      new HashSet<>(
+          Arrays.asList(
+              "api",
+              "v2",
+              "files",
+              "ocr",
+              "ocrs",
+              "extraction",
+              "extractions",
+              "classification",
+              "classifications",
+              "mlc",
+              "mlcs",
+              "language",
+              "languages",
+              "normalization",
+              "currency",
+              "date",
+              "duration",
+              "fields",
+              "accuracy",
+              "metadata",
+              "train",
+              "validation-details",
+              "results",
+              "text",
+              "images",
+              "layouts"));
+
+  private final HttpTransport delegate;
+  private final MetricsListener listener;
+
+  MeteredTransport(HttpTransport delegate, MetricsListener listener) {
+    this.delegate = delegate;
+    this.listener = listener;
+  }
+
+  // The path of the request from "api" onwards, with every segment that is not part of the API's
+  // vocabulary replaced by {id}, so that the number of distinct templates stays small
+  static String endpointTemplate(List<String> pathSegments) {
+    int start = pathSegments.indexOf("api");
+    StringBuilder template = new StringBuilder();
+    for (int i = Math.max(start, 0); i < pathSegments.size(); i++) {
+      if (template.length() > 0) {
+        template.append('/');
+      }
+      String segment = pathSegments.get(i);
+      template.append(NAMED_SEGMENTS.contains(segment) ? segment : "{id}");
+    }
+    return template.toString();
+  }
+
+  // The ID in the path of a status or results call to a processing service, such as
+  // api/v2/ocr/{id}/text, which is the DocAI request ID
+  static String requestId(List<String> pathSegments) {
+    int api = pathSegments.indexOf("api");
+    if (api < 0 || pathSegments.size() < api + 4) {
+      return null;
+    }
+    switch (pathSegments.get(api + 2)) {
+      case "ocr":
+      case "extraction":
+      case "classification":
+      case "mlc":
+      case "language":
+        return pathSegments.get(api + 3);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    Call call = newCall(request);
+    if (call == null) {
+      return delegate.execute(request);
+    }
+    try {
+      return call.responded(delegate.execute(call.request));
+    } catch (IOException | RuntimeException e) {
+      call.failed(e);
+      throw e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Response> executeAsync(Request request) {
+    Call call = newCall(request);
+    if (call == null) {
+      return delegate.executeAsync(request);
+    }
+    CompletableFuture<Response> sent = delegate.executeAsync(call.request);
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    sent.whenComplete(
+        (response, t) -> {
+          if (t != null) {
+            Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+            call.failed(cause == null ? t : cause);
+            result.completeExceptionally(t);
+            return;
+          }
+          Response metered = call.responded(response);
+          if (!result.complete(metered)) {
+            metered.close();
+          }
+        });
+    result.whenComplete(
+        (response, t) -> {
+          if (t instanceof CancellationException) {
+            sent.cancel(false);
+          }
+        });
+    return result;
+  }
+
+  @Override
+  public HttpTransport withTimeouts(
+      Duration connectTimeout, Duration readTimeout, Duration writeTimeout, Duration callTimeout) {
+    return new MeteredTransport(
+        delegate.withTimeouts(connectTimeout, readTimeout, writeTimeout, callTimeout), listener);
+  }
+
+  @Override
+  public ClientSettings getSettings() {
+    return delegate.getSettings();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  // Returns null if there is nothing to report the call to
+  private Call newCall(Request request) {
+    FlightRecorderEvents.HttpCall event = FlightRecorderEvents.httpCall();
+    return listener == null && event == null ? null : new Call(request, event);
+  }
+
+  private class Call {
+    final Request request;
+    final String endpoint;
+    final FlightRecorderEvents.HttpCall event;
+    final long start;
+    final AtomicLong bytesSent = new AtomicLong();
+    final AtomicLong bytesReceived = new AtomicLong();
+    final AtomicBoolean finished = new AtomicBoolean();
+
+    Call(Request original, FlightRecorderEvents.HttpCall event) {
+      this.event = event;
+      endpoint = endpointTemplate(original.pathSegments());
+      request =
+          original.body == null
+              ? original
+              : new Request(
+                  original.method,
+                  original.url,
+                  original.headers,
+                  new CountingBody(original.body, bytesSent));
+      if (listener != null) {
+        listener.onCallStart(request.method, endpoint);
+      }
+      start = System.nanoTime();
+    }
+
+    Response responded(Response response) {
+      return new MeteredResponse(response, this);
+    }
+
+    void failed(Throwable error) {
+      if (finished.compareAndSet(false, true)) {
+        if (event != null) {
+          event.end(request.method, endpoint, 0, bytesSent.get(), 0, error);
+        }
+        if (listener != null) {
+          listener.onFailure(
+              request.method, endpoint, error, System.nanoTime() - start, bytesSent.get());
+        }
+      }
+    }
+
+    void closed(int statusCode, CallPhases phases) {
+      if (finished.compareAndSet(false, true)) {
+        if (event != null) {
+          event.end(
+              request.method, endpoint, statusCode, bytesSent.get(), bytesReceived.get(), null);
+        }
+        if (listener == null) {
+          return;
+        }
+        listener.onResponse(
+            request.method,
+            endpoint,
+            statusCode,
+            System.nanoTime() - start,
+            bytesSent.get(),
+            bytesReceived.get());
+        if (phases != null) {
+          listener.onCallPhases(
+              request.method, endpoint, requestId(request.pathSegments()), phases);
+        }
+      }
+    }
+  }
+
+  private static class CountingBody implements Body {
+    private final Body body;
+    private final AtomicLong written;
+
+    CountingBody(Body body, AtomicLong written) {
+      this.body = body;
+      this.written = written;
+    }
+
+    @Override
+    public boolean isOneShot() {
+      return body.isOneShot();
+    }
+
+    @Override
+    public String contentType() {
+      return body.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+      return body.contentLength();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+      body.writeTo(
+          new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+              out.write(b);
+              written.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+              out.write(b, off, len);
+              written.addAndGet(len);
+            }
+          });
+    }
+  }
+
+  private static class MeteredResponse implements Response {
+    private final Response response;
+    private final Call call;
+    private InputStream body;
+
+    MeteredResponse(Response response, Call call) {
+      this.response = response;
+      this.call = call;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String header(String name) {
+      return response.header(name);
+    }
+
+    @Override
+    public CallPhases phases() {
+      return response.phases();
+    }
+
+    @Override
+    public synchronized InputStream body() {
+      if (body == null) {
+        body =
+            new FilterInputStream(response.body()) {
+              @Override
+              public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                  call.bytesReceived.incrementAndGet();
+                }
+                return b;
+              }
+
+              @Override
+              public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                  call.bytesReceived.addAndGet(n);
+                }
+                return n;
+              }
+
+              @Override
+              public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                call.bytesReceived.addAndGet(skipped);
+                return skipped;
+              }
+            };
+      }
+      return body;
+    }
+
+    @Override
+    public void close() {
+      int statusCode = response.statusCode();
+      try {
+        response.close();
+      } finally {
+        call.closed(statusCode, response.phases());
+      }
+    }
+  }
+}
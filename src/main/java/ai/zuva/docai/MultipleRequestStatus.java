@@ -1,6 +1,7 @@
 package ai.zuva.docai;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MultipleRequestStatus {
@@ -12,4 +13,30 @@ public class MultipleRequestStatus {
 
   @JsonProperty("errors")
   public Map<String, RequestErrors> requestErrors;
+
+  /**
+   * Returns the statuses that were found, regardless of the type of request
+   *
+   * @return The statuses keyed by request ID, or null if none were returned
+   */
+  public Map<String, ? extends RequestStatus> statusesById() {
+    return null;
+  }
+
+  /**
+   * Adds the statuses and errors of another response for the same type of request to this one, as
+   * when one request for many statuses is split into several
+   *
+   * @param other The response to add
+   */
+  public void merge(MultipleRequestStatus other) {
+    numFound += other.numFound;
+    numErrors += other.numErrors;
+    if (other.requestErrors != null) {
+      if (requestErrors == null) {
+        requestErrors = new LinkedHashMap<>();
+      }
+      requestErrors.putAll(other.requestErrors);
+    }
+  }
 }
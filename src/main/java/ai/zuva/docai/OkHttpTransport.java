@@ -0,0 +1,225 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.metrics.CallPhases;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+
+/**
+ * The default {@link HttpTransport}, which sends requests with OkHttp
+ *
+ * <p>Asynchronous requests are enqueued on the OkHttp dispatcher, which bounds the number of
+ * requests in flight, and connections are kept in OkHttp's connection pool. The transport times the
+ * phases of each call (dispatcher queue, DNS, connect, TLS, request, time to first byte and
+ * response) with an OkHttp EventListener, which it installs in front of any listener the client
+ * already has.
+ */
+public class OkHttpTransport implements HttpTransport {
+  private final OkHttpClient client;
+  private final int maxIdleConnections;
+  private final Duration keepAlive;
+
+  /**
+   * Creates a transport for an existing OkHttp client
+   *
+   * @param client The client to send requests with. Transports derived with {@link
+   *     #withTimeouts(Duration, Duration, Duration, Duration)} share its dispatcher and pool.
+   * @param maxIdleConnections The maximum number of idle connections of the client's pool, as
+   *     reported by {@link #getSettings()}
+   * @param keepAlive The keep-alive time of the client's pool, as reported by {@link
+   *     #getSettings()}
+   */
+  public OkHttpTransport(OkHttpClient client, int maxIdleConnections, Duration keepAlive) {
+    if (client.eventListenerFactory() instanceof PhaseTimingListener.Factory) {
+      this.client = client;
+    } else {
+      this.client =
+          client
+              .newBuilder()
+              .eventListenerFactory(new PhaseTimingListener.Factory(client.eventListenerFactory()))
+              .build();
+    }
+    this.maxIdleConnections = maxIdleConnections;
+    this.keepAlive = keepAlive;
+  }
+
+  /** @return The OkHttp client that sends this transport's requests */
+  public OkHttpClient getClient() {
+    return client;
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    PhaseTimingListener.Timer timer = new PhaseTimingListener.Timer();
+    return new OkResponse(client.newCall(toOkHttp(request, timer)).execute(), timer);
+  }
+
+  @Override
+  public CompletableFuture<Response> executeAsync(Request request) {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    PhaseTimingListener.Timer timer = new PhaseTimingListener.Timer();
+    Call call = client.newCall(toOkHttp(request, timer));
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            future.completeExceptionally(e);
+          }
+
+          @Override
+          public void onResponse(Call call, okhttp3.Response response) {
+            OkResponse r = new OkResponse(response, timer);
+            if (!future.complete(r)) {
+              r.close();
+            }
+          }
+        });
+    future.whenComplete(
+        (response, t) -> {
+          if (t instanceof CancellationException) {
+            call.cancel();
+          }
+        });
+    return future;
+  }
+
+  @Override
+  public HttpTransport withTimeouts(
+      Duration connectTimeout, Duration readTimeout, Duration writeTimeout, Duration callTimeout) {
+    OkHttpClient.Builder builder = client.newBuilder();
+    if (connectTimeout != null) {
+      builder.connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    if (readTimeout != null) {
+      builder.readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    if (writeTimeout != null) {
+      builder.writeTimeout(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    if (callTimeout != null) {
+      builder.callTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    return new OkHttpTransport(builder.build(), maxIdleConnections, keepAlive);
+  }
+
+  @Override
+  public ClientSettings getSettings() {
+    List<String> protocols = new ArrayList<>();
+    for (Protocol protocol : client.protocols()) {
+      protocols.add(protocol.toString());
+    }
+    return new ClientSettings(
+        client.dispatcher().getMaxRequests(),
+        client.dispatcher().getMaxRequestsPerHost(),
+        maxIdleConnections,
+        keepAlive,
+        Duration.ofMillis(client.connectTimeoutMillis()),
+        Duration.ofMillis(client.readTimeoutMillis()),
+        Duration.ofMillis(client.writeTimeoutMillis()),
+        Duration.ofMillis(client.callTimeoutMillis()),
+        protocols);
+  }
+
+  @Override
+  public void close() {
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+  }
+
+  private static okhttp3.Request toOkHttp(Request request, PhaseTimingListener.Timer timer) {
+    okhttp3.Request.Builder builder =
+        new okhttp3.Request.Builder()
+            .url(request.url.toString())
+            .tag(PhaseTimingListener.Timer.class, timer);
+    for (Map.Entry<String, String> header : request.headers.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    RequestBody body = null;
+    if (request.body != null) {
+      body = new StreamingBody(request.body);
+    } else if ("POST".equals(request.method) || "PUT".equals(request.method)) {
+      // OkHttp requires a body for these methods
+      body = RequestBody.create(new byte[0], null);
+    }
+    return builder.method(request.method, body).build();
+  }
+
+  // Writes the body straight into the connection's sink
+  private static class StreamingBody extends RequestBody {
+    private final Body body;
+
+    StreamingBody(Body body) {
+      this.body = body;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return body.contentType() == null ? null : MediaType.parse(body.contentType());
+    }
+
+    @Override
+    public long contentLength() {
+      return body.contentLength();
+    }
+
+    @Override
+    public boolean isOneShot() {
+      return body.isOneShot();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      body.writeTo(sink.outputStream());
+    }
+  }
+
+  private static class OkResponse implements Response {
+    private final okhttp3.Response response;
+    private final PhaseTimingListener.Timer timer;
+
+    OkResponse(okhttp3.Response response, PhaseTimingListener.Timer timer) {
+      this.response = response;
+      this.timer = timer;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.code();
+    }
+
+    @Override
+    public String header(String name) {
+      return response.header(name);
+    }
+
+    @Override
+    public InputStream body() {
+      ResponseBody body = response.body();
+      return body.byteStream();
+    }
+
+    @Override
+    public CallPhases phases() {
+      return timer.phases();
+    }
+
+    @Override
+    public void close() {
+      response.close();
+    }
+  }
+}
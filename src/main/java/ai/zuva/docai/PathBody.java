@@ -0,0 +1,51 @@
+package ai.zuva.docai;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A request body transferred from a file each time it is written. FileChannel.transferTo moves the
+// file to the connection in chunks, so the file is never held in memory.
+class PathBody implements HttpTransport.Body {
+  private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+  private final Path path;
+  private final long size;
+  private final String contentType;
+
+  PathBody(Path path, String contentType) throws IOException {
+    this.path = path;
+    this.size = Files.size(path);
+    this.contentType = contentType;
+  }
+
+  @Override
+  public String contentType() {
+    return contentType;
+  }
+
+  @Override
+  public long contentLength() {
+    return size;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    WritableByteChannel target = Channels.newChannel(out);
+    try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+      long position = 0;
+      while (position < size) {
+        long n = in.transferTo(position, Math.min(TRANSFER_SIZE, size - position), target);
+        if (n <= 0) {
+          throw new IOException(path + " is shorter than its length when the upload started");
+        }
+        position += n;
+      }
+    }
+  }
+}
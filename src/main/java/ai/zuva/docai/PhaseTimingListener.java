@@ -0,0 +1,264 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.metrics.CallPhases;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Records when each phase of an OkHttp call starts and ends, and forwards every event to the
+// listener the OkHttp client was configured with. Only calls sent by OkHttpTransport carry a
+// Timer tag; other calls on the same client just get the configured listener.
+class PhaseTimingListener extends EventListener {
+  private final EventListener delegate;
+  private final Timer timer;
+
+  // Per-call timestamps from System.nanoTime(), 0 if the event has not happened. Events of one call
+  // are delivered one after another, though not always on the same thread.
+  static class Timer {
+    volatile long callStart;
+    volatile long dispatched;
+    volatile long dnsStart;
+    volatile long dnsEnd;
+    volatile long connectStart;
+    volatile long connectEnd;
+    volatile long tlsStart;
+    volatile long tlsEnd;
+    volatile long requestStart;
+    volatile long requestEnd;
+    volatile long responseStart;
+    volatile long responseEnd;
+    volatile String protocol;
+
+    CallPhases phases() {
+      return new CallPhases(
+          between(callStart, dispatched),
+          between(dnsStart, dnsEnd),
+          between(connectStart, connectEnd),
+          between(tlsStart, tlsEnd),
+          between(requestStart, requestEnd),
+          between(requestEnd, responseStart),
+          between(responseStart, responseEnd),
+          protocol != null && connectStart == 0,
+          protocol);
+    }
+
+    private static long between(long start, long end) {
+      return start == 0 || end == 0 ? -1 : Math.max(0, end - start);
+    }
+
+    // The first event after the dispatcher has started the call
+    void dispatched() {
+      if (dispatched == 0) {
+        dispatched = System.nanoTime();
+      }
+    }
+  }
+
+  static class Factory implements EventListener.Factory {
+    final EventListener.Factory delegate;
+
+    Factory(EventListener.Factory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public EventListener create(Call call) {
+      EventListener listener = delegate.create(call);
+      Timer timer = call.request().tag(Timer.class);
+      return timer == null ? listener : new PhaseTimingListener(listener, timer);
+    }
+  }
+
+  private PhaseTimingListener(EventListener delegate, Timer timer) {
+    this.delegate = delegate;
+    this.timer = timer;
+  }
+
+  @Override
+  public void callStart(Call call) {
+    timer.callStart = System.nanoTime();
+    delegate.callStart(call);
+  }
+
+  @Override
+  public void proxySelectStart(Call call, HttpUrl url) {
+    timer.dispatched();
+    delegate.proxySelectStart(call, url);
+  }
+
+  @Override
+  public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+    delegate.proxySelectEnd(call, url, proxies);
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    timer.dispatched();
+    if (timer.dnsStart == 0) {
+      timer.dnsStart = System.nanoTime();
+    }
+    delegate.dnsStart(call, domainName);
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    timer.dnsEnd = System.nanoTime();
+    delegate.dnsEnd(call, domainName, inetAddressList);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    timer.dispatched();
+    if (timer.connectStart == 0) {
+      timer.connectStart = System.nanoTime();
+    }
+    delegate.connectStart(call, inetSocketAddress, proxy);
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    if (timer.tlsStart == 0) {
+      timer.tlsStart = System.nanoTime();
+    }
+    delegate.secureConnectStart(call);
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    timer.tlsEnd = System.nanoTime();
+    delegate.secureConnectEnd(call, handshake);
+  }
+
+  @Override
+  public void connectEnd(
+      Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    timer.connectEnd = System.nanoTime();
+    delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+  }
+
+  @Override
+  public void connectFailed(
+      Call call,
+      InetSocketAddress inetSocketAddress,
+      Proxy proxy,
+      Protocol protocol,
+      IOException ioe) {
+    delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+  }
+
+  @Override
+  public void connectionAcquired(Call call, Connection connection) {
+    timer.dispatched();
+    timer.protocol = connection.protocol().toString();
+    delegate.connectionAcquired(call, connection);
+  }
+
+  @Override
+  public void connectionReleased(Call call, Connection connection) {
+    delegate.connectionReleased(call, connection);
+  }
+
+  @Override
+  public void requestHeadersStart(Call call) {
+    if (timer.requestStart == 0) {
+      timer.requestStart = System.nanoTime();
+    }
+    delegate.requestHeadersStart(call);
+  }
+
+  @Override
+  public void requestHeadersEnd(Call call, Request request) {
+    timer.requestEnd = System.nanoTime();
+    delegate.requestHeadersEnd(call, request);
+  }
+
+  @Override
+  public void requestBodyStart(Call call) {
+    delegate.requestBodyStart(call);
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    timer.requestEnd = System.nanoTime();
+    delegate.requestBodyEnd(call, byteCount);
+  }
+
+  @Override
+  public void requestFailed(Call call, IOException ioe) {
+    delegate.requestFailed(call, ioe);
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    if (timer.responseStart == 0) {
+      timer.responseStart = System.nanoTime();
+    }
+    delegate.responseHeadersStart(call);
+  }
+
+  @Override
+  public void responseHeadersEnd(Call call, Response response) {
+    delegate.responseHeadersEnd(call, response);
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    delegate.responseBodyStart(call);
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    timer.responseEnd = System.nanoTime();
+    delegate.responseBodyEnd(call, byteCount);
+  }
+
+  @Override
+  public void responseFailed(Call call, IOException ioe) {
+    delegate.responseFailed(call, ioe);
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    delegate.callEnd(call);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    delegate.callFailed(call, ioe);
+  }
+
+  @Override
+  public void canceled(Call call) {
+    delegate.canceled(call);
+  }
+
+  @Override
+  public void satisfactionFailure(Call call, Response response) {
+    delegate.satisfactionFailure(call, response);
+  }
+
+  @Override
+  public void cacheHit(Call call, Response response) {
+    delegate.cacheHit(call, response);
+  }
+
+  @Override
+  public void cacheMiss(Call call) {
+    delegate.cacheMiss(call);
+  }
+
+  @Override
+  public void cacheConditionalHit(Call call, Response cachedResponse) {
+    delegate.cacheConditionalHit(call, cachedResponse);
+  }
+}
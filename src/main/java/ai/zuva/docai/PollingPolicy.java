@@ -0,0 +1,211 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Configures how {@link BaseRequest#pollStatus(PollingPolicy)} waits for a request to finish
+ *
+ * <p>The first status request is sent after initialDelay. The interval before each following
+ * request starts at initialInterval and grows with the chosen backoff, up to maxInterval. Each
+ * interval is then randomized by up to plus or minus jitter (a fraction of the interval), so that
+ * many requests created at once do not poll in lockstep. Polling stops when the request completes
+ * or fails, or when timeout has elapsed since polling started.
+ *
+ * <p>Short requests such as language and classification often finish in a few hundred
+ * milliseconds; a policy with a sub-second initial interval and backoff returns promptly for those
+ * while still polling slowly for long-running extractions. Once the client's {@link LatencyModel}
+ * has learned typical processing times, a predictive policy goes further and skips the status
+ * requests that would almost certainly have found the request still processing.
+ */
+public class PollingPolicy {
+  public enum Backoff {
+    /** Every interval is initialInterval */
+    FIXED,
+    /** Each interval is multiplier times the previous one */
+    EXPONENTIAL,
+    /** Each interval is the sum of the previous two, starting with initialInterval twice */
+    FIBONACCI
+  }
+
+  /** Polls every 250ms at first, backing off exponentially to every 5s, for up to 10 minutes. */
+  public static final PollingPolicy DEFAULT = new Builder().build();
+
+  public final Duration initialDelay;
+  public final Duration initialInterval;
+  public final Duration maxInterval;
+  public final Backoff backoff;
+  public final double multiplier;
+  public final double jitter;
+  public final Duration timeout;
+  public final double predictionQuantile;
+
+  private PollingPolicy(Builder builder) {
+    this.initialDelay = builder.initialDelay;
+    this.initialInterval = builder.initialInterval;
+    this.maxInterval = builder.maxInterval;
+    this.backoff = builder.backoff;
+    this.multiplier = builder.multiplier;
+    this.jitter = builder.jitter;
+    this.timeout = builder.timeout;
+    this.predictionQuantile = builder.predictionQuantile;
+  }
+
+  /**
+   * Creates a policy that polls at a fixed interval, without jitter
+   *
+   * @param interval The time to wait between status requests
+   * @param timeout The time to wait for a complete (or failed) status before giving up
+   * @return The polling policy
+   */
+  public static PollingPolicy fixed(Duration interval, Duration timeout) {
+    return new Builder()
+        .initialDelay(Duration.ZERO)
+        .interval(interval, interval, Backoff.FIXED)
+        .jitter(0)
+        .timeout(timeout)
+        .predictive(0)
+        .build();
+  }
+
+  /**
+   * Returns the base interval after a number of status requests, before jitter is applied
+   *
+   * @param polls The number of status requests sent so far (at least 1)
+   * @return The time to wait before the next status request
+   */
+  public Duration intervalAfter(int polls) {
+    long initial = initialInterval.toNanos();
+    long max = maxInterval.toNanos();
+    double interval;
+    switch (backoff) {
+      case EXPONENTIAL:
+        interval = initial * Math.pow(multiplier, polls - 1);
+        break;
+      case FIBONACCI:
+        double previous = 0;
+        interval = initial;
+        for (int i = 1; i < polls && interval < max; i++) {
+          double next = previous + interval;
+          previous = interval;
+          interval = next;
+        }
+        break;
+      default:
+        interval = initial;
+    }
+    return Duration.ofNanos((long) Math.min(max, interval));
+  }
+
+  // The interval after the given number of polls, with jitter applied
+  Duration delayAfter(int polls) {
+    Duration interval = intervalAfter(polls);
+    if (jitter == 0) {
+      return interval;
+    }
+    double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+    return Duration.ofNanos((long) (interval.toNanos() * factor));
+  }
+
+  public static class Builder {
+    private Duration initialDelay = Duration.ZERO;
+    private Duration initialInterval = Duration.ofMillis(250);
+    private Duration maxInterval = Duration.ofSeconds(5);
+    private Backoff backoff = Backoff.EXPONENTIAL;
+    private double multiplier = 2;
+    private double jitter = 0.1;
+    private Duration timeout = Duration.ofMinutes(10);
+    private double predictionQuantile = 0.5;
+
+    /**
+     * @param initialDelay The time to wait before the first status request
+     * @return This builder
+     */
+    public Builder initialDelay(Duration initialDelay) {
+      if (initialDelay.isNegative()) {
+        throw new IllegalArgumentException("initialDelay must not be negative");
+      }
+      this.initialDelay = initialDelay;
+      return this;
+    }
+
+    /**
+     * @param initialInterval The time to wait after the first status request
+     * @param maxInterval The longest time to wait between status requests
+     * @param backoff How the interval grows from one status request to the next
+     * @return This builder
+     */
+    public Builder interval(Duration initialInterval, Duration maxInterval, Backoff backoff) {
+      if (initialInterval.isNegative() || initialInterval.isZero()) {
+        throw new IllegalArgumentException("initialInterval must be positive");
+      }
+      if (maxInterval.compareTo(initialInterval) < 0) {
+        throw new IllegalArgumentException("maxInterval must not be less than initialInterval");
+      }
+      this.initialInterval = initialInterval;
+      this.maxInterval = maxInterval;
+      this.backoff = backoff;
+      return this;
+    }
+
+    /**
+     * @param multiplier The factor each interval is multiplied by, with {@link
+     *     Backoff#EXPONENTIAL} backoff
+     * @return This builder
+     */
+    public Builder multiplier(double multiplier) {
+      if (!(multiplier >= 1)) {
+        throw new IllegalArgumentException("multiplier must be at least 1");
+      }
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * @param jitter The largest fraction (between 0 and 1) by which an interval is randomly
+     *     lengthened or shortened
+     * @return This builder
+     */
+    public Builder jitter(double jitter) {
+      if (!(jitter >= 0 && jitter < 1)) {
+        throw new IllegalArgumentException("jitter must be at least 0 and less than 1");
+      }
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * @param timeout The time to wait for a complete (or failed) status before giving up, measured
+     *     from the start of polling
+     * @return This builder
+     */
+    public Builder timeout(Duration timeout) {
+      if (timeout.isNegative() || timeout.isZero()) {
+        throw new IllegalArgumentException("timeout must be positive");
+      }
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * @param predictionQuantile If positive, and the client's {@link LatencyModel} has learned how
+     *     long similar requests take, status requests are timed so that this fraction (e.g. 0.5)
+     *     of similar requests would have completed by then, within the interval limits. The first
+     *     status request is then sent near the expected completion time. Only the first two status
+     *     requests are timed this way; a request that is still running after them follows the
+     *     backoff schedule. Use 0 to always follow the backoff schedule.
+     * @return This builder
+     */
+    public Builder predictive(double predictionQuantile) {
+      if (!(predictionQuantile >= 0 && predictionQuantile < 1)) {
+        throw new IllegalArgumentException("predictionQuantile must be at least 0 and less than 1");
+      }
+      this.predictionQuantile = predictionQuantile;
+      return this;
+    }
+
+    public PollingPolicy build() {
+      return new PollingPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A token bucket that limits the rate at which requests are sent to one endpoint family
+ *
+ * <p>The bucket holds up to burst permits and refills at permitsPerSecond. Permits are handed out
+ * in arrival order by reserving the next free slot with a single compare-and-set, so acquiring a
+ * permit never takes a lock, and a caller that has to wait does so without holding anything that
+ * other callers need. Each acquisition reports how long the caller had to wait.
+ */
+public class RateLimiter {
+  public final double permitsPerSecond;
+  public final int burst;
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  // The theoretical arrival time of the next permit, on the System.nanoTime() clock
+  private final AtomicLong nextPermitNanos;
+
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * @param permitsPerSecond The sustained rate at which permits are issued
+   * @param burst The number of permits that may be issued at once after a quiet period
+   */
+  public RateLimiter(double permitsPerSecond, int burst) {
+    if (!(permitsPerSecond > 0)) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be positive");
+    }
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    this.toleranceNanos = (burst - 1) * intervalNanos;
+    this.nextPermitNanos = new AtomicLong(System.nanoTime());
+  }
+
+  // Reserves the next permit and returns how long the caller must wait before using it
+  private long reserve() {
+    while (true) {
+      long now = System.nanoTime();
+      long next = nextPermitNanos.get();
+      long base = next - now > 0 ? next : now;
+      if (nextPermitNanos.compareAndSet(next, base + intervalNanos)) {
+        long wait = Math.max(0, next - toleranceNanos - now);
+        record(wait);
+        return wait;
+      }
+    }
+  }
+
+  private void record(long waitNanos) {
+    acquired.increment();
+    if (waitNanos > 0) {
+      delayed.increment();
+      totalWaitNanos.add(waitNanos);
+      maxWaitNanos.accumulate(waitNanos);
+    }
+  }
+
+  /**
+   * Blocks until a permit is available
+   *
+   * @return How long the caller waited for the permit
+   * @throws InterruptedException The thread was interrupted while waiting. The permit is not
+   *     returned to the bucket.
+   */
+  public Duration acquire() throws InterruptedException {
+    long wait = reserve();
+    long deadline = System.nanoTime() + wait;
+    for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(this, remaining);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+    return Duration.ofNanos(wait);
+  }
+
+  /**
+   * Reserves a permit without blocking the calling thread
+   *
+   * @return A future that completes, with the time waited, once the permit may be used
+   */
+  public CompletableFuture<Duration> acquireAsync() {
+    long wait = reserve();
+    if (wait == 0) {
+      return CompletableFuture.completedFuture(Duration.ZERO);
+    }
+    CompletableFuture<Duration> future = new CompletableFuture<>();
+    SharedScheduler.get()
+        .schedule(() -> future.complete(Duration.ofNanos(wait)), wait, TimeUnit.NANOSECONDS);
+    return future;
+  }
+
+  /**
+   * Takes a permit only if one is available immediately
+   *
+   * @return true if a permit was taken
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      long now = System.nanoTime();
+      long next = nextPermitNanos.get();
+      if (next - toleranceNanos - now > 0) {
+        return false;
+      }
+      long base = next - now > 0 ? next : now;
+      if (nextPermitNanos.compareAndSet(next, base + intervalNanos)) {
+        record(0);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @return The number of permits issued and the time callers have spent waiting for them
+   */
+  public Stats getStats() {
+    return new Stats(
+        acquired.sum(),
+        delayed.sum(),
+        Duration.ofNanos(totalWaitNanos.sum()),
+        Duration.ofNanos(maxWaitNanos.get()));
+  }
+
+  public static class Stats {
+    public final long acquired;
+    // The number of permits for which the caller had to wait
+    public final long delayed;
+    public final Duration totalWait;
+    public final Duration maxWait;
+
+    Stats(long acquired, long delayed, Duration totalWait, Duration maxWait) {
+      this.acquired = acquired;
+      this.delayed = delayed;
+      this.totalWait = totalWait;
+      this.maxWait = maxWait;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "acquired=%d, delayed=%d, totalWait=%s, maxWait=%s",
+          acquired, delayed, totalWait, maxWait);
+    }
+  }
+}
@@ -0,0 +1,243 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.exception.DocAIClientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waits for many outstanding requests at once, polling their statuses in batches
+ *
+ * <p>Instead of each request polling its own status in a loop, requests of every type are
+ * registered with a single tracker. On each round the tracker groups the outstanding requests by
+ * type and client, and fetches their statuses with the bulk status endpoints (e.g.
+ * api/v2/extractions or api/v2/ocrs), up to maxBatchSize requests per call. Types without a bulk
+ * endpoint, such as field training requests, are polled one at a time. All polling is
+ * asynchronous, so no thread is blocked while requests are processed.
+ *
+ * <p>The next round starts pollingInterval after the previous one has finished, so a slow server
+ * is never sent overlapping rounds.
+ */
+public class RequestTracker implements AutoCloseable {
+  // A request that a bulk status response neither returns nor reports an error for this many times
+  // in a row is failed, rather than tracked forever
+  static final int MAX_MISSED_POLLS = 3;
+
+  public final Duration pollingInterval;
+  public final int maxBatchSize;
+
+  // Keyed by registration order, so that batches are formed in the order requests were tracked
+  private final ConcurrentSkipListMap<Long, Entry> entries = new ConcurrentSkipListMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Object scheduleLock = new Object();
+  // Guarded by scheduleLock
+  private ScheduledFuture<?> nextRound;
+  private boolean closed;
+
+  private static class Entry {
+    final BaseRequest request;
+    final CompletableFuture<RequestStatus> future = new CompletableFuture<>();
+    // Only touched by the round that polls this entry, and rounds never overlap
+    int missedPolls;
+
+    Entry(BaseRequest request) {
+      this.request = request;
+    }
+  }
+
+  /** Creates a tracker that polls every second, with up to 100 requests per bulk status call. */
+  public RequestTracker() {
+    this(Duration.ofSeconds(1), 100);
+  }
+
+  /**
+   * Creates a tracker
+   *
+   * @param pollingInterval The time to wait between rounds of status requests
+   * @param maxBatchSize The largest number of requests whose statuses are fetched in one call
+   */
+  public RequestTracker(Duration pollingInterval, int maxBatchSize) {
+    if (pollingInterval.isNegative() || pollingInterval.isZero()) {
+      throw new IllegalArgumentException("pollingInterval must be positive");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be positive");
+    }
+    this.pollingInterval = pollingInterval;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Starts tracking a request
+   *
+   * @param request The request to wait for
+   * @return A future that completes with the status of the request once it is complete or failed.
+   *     It completes exceptionally with a DocAIApiException if the status cannot be requested, or
+   *     a DocAIClientException if the API does not know the request or leaves it out of several
+   *     consecutive bulk status responses. Cancelling the future stops tracking the request.
+   */
+  public CompletableFuture<RequestStatus> track(BaseRequest request) {
+    Entry entry = new Entry(request);
+    synchronized (scheduleLock) {
+      if (closed) {
+        entry.future.completeExceptionally(
+            new DocAIClientException("The request tracker has been closed"));
+        return entry.future;
+      }
+      long key = sequence.getAndIncrement();
+      entries.put(key, entry);
+      entry.future.whenComplete((status, t) -> entries.remove(key));
+      if (nextRound == null) {
+        scheduleRound();
+      }
+    }
+    return entry.future;
+  }
+
+  /** @return The number of requests that have not yet completed or failed */
+  public int getPendingCount() {
+    return entries.size();
+  }
+
+  /** Stops polling. Requests that are still being tracked have their futures cancelled. */
+  @Override
+  public void close() {
+    synchronized (scheduleLock) {
+      closed = true;
+      if (nextRound != null) {
+        nextRound.cancel(false);
+        nextRound = null;
+      }
+    }
+    for (Entry entry : entries.values()) {
+      entry.future.cancel(false);
+    }
+  }
+
+  // Must be called with scheduleLock held
+  private void scheduleRound() {
+    nextRound =
+        SharedScheduler.get()
+            .schedule(this::pollRound, pollingInterval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void pollRound() {
+    // Group by client as well as type, since each bulk call is made with one request's client
+    Map<List<Object>, List<Entry>> groups = new LinkedHashMap<>();
+    for (Entry entry : entries.values()) {
+      List<Object> key = Arrays.asList(entry.request.client, entry.request.getClass());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+    }
+
+    List<CompletableFuture<?>> calls = new ArrayList<>();
+    for (List<Entry> group : groups.values()) {
+      for (int from = 0; from < group.size(); from += maxBatchSize) {
+        calls.add(pollBatch(group.subList(from, Math.min(group.size(), from + maxBatchSize))));
+      }
+    }
+
+    CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (ignored, t) -> {
+              synchronized (scheduleLock) {
+                if (closed || entries.isEmpty()) {
+                  nextRound = null;
+                } else {
+                  scheduleRound();
+                }
+              }
+            });
+  }
+
+  private CompletableFuture<?> pollBatch(List<Entry> batch) {
+    List<String> requestIds = new ArrayList<>();
+    for (Entry entry : batch) {
+      requestIds.add(entry.request.requestId);
+    }
+
+    CompletableFuture<? extends MultipleRequestStatus> bulk =
+        batch.get(0).request.getBatchStatusesAsync(requestIds);
+    if (bulk == null) {
+      List<CompletableFuture<?>> calls = new ArrayList<>();
+      for (Entry entry : batch) {
+        calls.add(
+            entry
+                .request
+                .getStatusAsync()
+                .handle(
+                    (status, t) -> {
+                      if (t != null) {
+                        onPollFailure(Collections.singletonList(entry), t);
+                      } else {
+                        onStatus(entry, status);
+                      }
+                      return null;
+                    }));
+      }
+      return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]));
+    }
+
+    return bulk.handle(
+        (statuses, t) -> {
+          if (t != null) {
+            onPollFailure(batch, t);
+            return null;
+          }
+          Map<String, ? extends RequestStatus> found = statuses.statusesById();
+          for (Entry entry : batch) {
+            String requestId = entry.request.requestId;
+            RequestErrors errors =
+                statuses.requestErrors == null ? null : statuses.requestErrors.get(requestId);
+            if (found != null && found.containsKey(requestId)) {
+              entry.missedPolls = 0;
+              onStatus(entry, found.get(requestId));
+            } else if (errors != null) {
+              String message = errors.reqError == null ? null : errors.reqError.message;
+              entry.future.completeExceptionally(
+                  new DocAIClientException(
+                      String.format("Unable to get status of request %s: %s", requestId, message)));
+            } else if (++entry.missedPolls >= MAX_MISSED_POLLS) {
+              entry.future.completeExceptionally(
+                  new DocAIClientException(
+                      String.format(
+                          "Request %s was missing from %d consecutive status responses",
+                          requestId, entry.missedPolls)));
+            }
+          }
+          return null;
+        });
+  }
+
+  private static void onStatus(Entry entry, RequestStatus status) {
+    if (status != null && status.status != null && (status.isComplete() || status.isFailed())) {
+      entry.request.recordCompletion(status);
+      entry.future.complete(status);
+    }
+  }
+
+  // Transient failures are retried on the next round, but an error that will not go away (such as
+  // an invalid token) fails the requests instead of being polled forever
+  private static void onPollFailure(List<Entry> batch, Throwable t) {
+    Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+    if (cause instanceof CancellationException) {
+      return;
+    }
+    if (cause instanceof DocAIApiException && !((DocAIApiException) cause).isRetryable()) {
+      for (Entry entry : batch) {
+        entry.future.completeExceptionally(cause);
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package ai.zuva.docai;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.exception.DocAIException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Applies a RetryPolicy on behalf of one client, and holds that client's retry budget
+class Retrier {
+  // The budget is kept in thousandths of a retry so that fractional ratios add up exactly
+  private static final long UNIT = 1000;
+
+  private final RetryPolicy policy;
+  private final long depositPerRequest;
+  private final long maxBalance;
+  private final AtomicLong balance;
+
+  Retrier(RetryPolicy policy) {
+    this.policy = policy;
+    this.depositPerRequest = Math.round(policy.maxRetryRatio * UNIT);
+    this.maxBalance = Math.max(policy.minRetryReserve, 1) * UNIT;
+    this.balance = new AtomicLong(policy.minRetryReserve * UNIT);
+  }
+
+  // Called once for every original request
+  void onRequest() {
+    if (policy.maxAttempts < 2 || depositPerRequest == 0) {
+      return;
+    }
+    long current;
+    do {
+      current = balance.get();
+      if (current >= maxBalance) {
+        return;
+      }
+    } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+  }
+
+  /**
+   * Decides whether a failed attempt should be retried
+   *
+   * @param request The request that failed
+   * @param e The failure
+   * @param attempt The number of attempts made so far
+   * @param previousDelayMillis The delay before the previous attempt, or 0 after the first one
+   * @return The delay in milliseconds before the next attempt, or -1 if the failure should be
+   *     reported to the caller
+   */
+  long delayBeforeRetry(
+      HttpTransport.Request request, DocAIException e, int attempt, long previousDelayMillis) {
+    if (attempt >= policy.maxAttempts || !isRetryable(request, e)) {
+      return -1;
+    }
+
+    long base = policy.baseDelay.toMillis();
+    long cap = policy.maxDelay.toMillis();
+    // Decorrelated jitter: a random delay between the base and three times the previous delay
+    long upper = Math.max(base, previousDelayMillis * 3);
+    long delay = Math.min(cap, base + ThreadLocalRandom.current().nextLong(upper - base + 1));
+
+    if (policy.honorRetryAfter && e instanceof DocAIApiException) {
+      DocAIApiException apiException = (DocAIApiException) e;
+      if (apiException.retryAfter != null) {
+        long retryAfter = apiException.retryAfter.toMillis();
+        if (retryAfter > cap) {
+          return -1;
+        }
+        delay = Math.max(delay, retryAfter);
+      }
+    }
+
+    if (!withdraw()) {
+      return -1;
+    }
+    return delay;
+  }
+
+  private boolean withdraw() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < UNIT) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - UNIT));
+    return true;
+  }
+
+  private boolean isRetryable(HttpTransport.Request request, DocAIException e) {
+    if (request.body != null && request.body.isOneShot()) {
+      return false;
+    }
+    boolean idempotent = policy.retryNonIdempotent || isIdempotent(request.method);
+
+    if (e instanceof DocAIApiException) {
+      DocAIApiException apiException = (DocAIApiException) e;
+      // A 429 means the request was turned away before it was processed, so it is always safe
+      return apiException.isRetryable() && (idempotent || apiException.statusCode == 429);
+    }
+
+    Throwable cause = e.getCause();
+    if (!(cause instanceof IOException) || cause instanceof JsonProcessingException) {
+      return false;
+    }
+    // If no connection could be made the request cannot have reached the server
+    return idempotent || cause instanceof ConnectException;
+  }
+
+  private static boolean isIdempotent(String method) {
+    switch (method) {
+      case "GET":
+      case "HEAD":
+      case "PUT":
+      case "DELETE":
+      case "OPTIONS":
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package ai.zuva.docai;
+
+import java.time.Duration;
+
+/**
+ * Configures how a DocAIClient retries requests that fail with a transient error
+ *
+ * <p>Idempotent requests (GET, PUT, DELETE) are retried when the server responds with a status for
+ * which {@link ai.zuva.docai.exception.DocAIApiException#isRetryable()} is true, or when the
+ * request fails with an I/O error. Other requests, such as POSTs that create DocAI requests, are
+ * only retried when it is known that the server did not process them: when the response is a 429,
+ * or when no connection could be established. {@link Builder#retryNonIdempotent(boolean)} lifts
+ * that restriction.
+ *
+ * <p>The delay between attempts uses exponential backoff with decorrelated jitter, and a
+ * Retry-After header sent by the server is honored as the minimum delay. To keep retries from
+ * amplifying an overload, retries are also limited by a budget: over time, at most maxRetryRatio
+ * retries are sent for each original request.
+ */
+public class RetryPolicy {
+  /** Never retries; failures are reported to the caller immediately. */
+  public static final RetryPolicy NONE = new Builder().maxAttempts(1).build();
+
+  /** Up to 3 attempts, starting at 100ms and backing off to at most 10s, with a 10% budget. */
+  public static final RetryPolicy DEFAULT = new Builder().build();
+
+  public final int maxAttempts;
+  public final Duration baseDelay;
+  public final Duration maxDelay;
+  public final double maxRetryRatio;
+  public final int minRetryReserve;
+  public final boolean retryNonIdempotent;
+  public final boolean honorRetryAfter;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.baseDelay = builder.baseDelay;
+    this.maxDelay = builder.maxDelay;
+    this.maxRetryRatio = builder.maxRetryRatio;
+    this.minRetryReserve = builder.minRetryReserve;
+    this.retryNonIdempotent = builder.retryNonIdempotent;
+    this.honorRetryAfter = builder.honorRetryAfter;
+  }
+
+  public static class Builder {
+    private int maxAttempts = 3;
+    private Duration baseDelay = Duration.ofMillis(100);
+    private Duration maxDelay = Duration.ofSeconds(10);
+    private double maxRetryRatio = 0.1;
+    private int minRetryReserve = 10;
+    private boolean retryNonIdempotent = false;
+    private boolean honorRetryAfter = true;
+
+    /**
+     * @param maxAttempts The maximum number of times a request is sent, including the first
+     *     attempt
+     * @return This builder
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be positive");
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * @param baseDelay The smallest delay before a retry
+     * @param maxDelay The largest delay before a retry. A Retry-After longer than this is not
+     *     waited out, and the failure is reported instead.
+     * @return This builder
+     */
+    public Builder backoff(Duration baseDelay, Duration maxDelay) {
+      if (baseDelay.isNegative() || baseDelay.isZero()) {
+        throw new IllegalArgumentException("baseDelay must be positive");
+      }
+      if (maxDelay.compareTo(baseDelay) < 0) {
+        throw new IllegalArgumentException("maxDelay must not be less than baseDelay");
+      }
+      this.baseDelay = baseDelay;
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * @param maxRetryRatio The maximum number of retries, as a fraction of original requests,
+     *     that the client sends over time
+     * @param minRetryReserve The number of retries that may be sent regardless of the ratio, so
+     *     that a client which has only sent a few requests can still retry them
+     * @return This builder
+     */
+    public Builder retryBudget(double maxRetryRatio, int minRetryReserve) {
+      if (maxRetryRatio < 0) {
+        throw new IllegalArgumentException("maxRetryRatio must not be negative");
+      }
+      if (minRetryReserve < 0) {
+        throw new IllegalArgumentException("minRetryReserve must not be negative");
+      }
+      this.maxRetryRatio = maxRetryRatio;
+      this.minRetryReserve = minRetryReserve;
+      return this;
+    }
+
+    /**
+     * @param retryNonIdempotent If true, POST requests are retried under the same conditions as
+     *     idempotent requests. This may create duplicate DocAI requests or files.
+     * @return This builder
+     */
+    public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+      this.retryNonIdempotent = retryNonIdempotent;
+      return this;
+    }
+
+    /**
+     * @param honorRetryAfter If true (the default), a Retry-After header sent by the server is
+     *     used as the minimum delay before the next attempt
+     * @return This builder
+     */
+    public Builder honorRetryAfter(boolean honorRetryAfter) {
+      this.honorRetryAfter = honorRetryAfter;
+      return this;
+    }
+
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package ai.zuva.docai;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+// A single daemon thread that runs the SDK's timers, such as the delay before an asynchronous
+// retry. Scheduled tasks must only hand work off (e.g. enqueue a call) and never block.
+final class SharedScheduler {
+  private static final ScheduledExecutorService INSTANCE =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread t = new Thread(r, "docai-scheduler");
+            t.setDaemon(true);
+            return t;
+          });
+
+  private SharedScheduler() {}
+
+  static ScheduledExecutorService get() {
+    return INSTANCE;
+  }
+}
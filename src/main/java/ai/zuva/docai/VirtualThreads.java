@@ -0,0 +1,51 @@
+package ai.zuva.docai;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Access to virtual threads (Java 21 and later) from code that must still run on Java 8
+final class VirtualThreads {
+  private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+  private VirtualThreads() {}
+
+  private static MethodHandle findIsVirtual() {
+    try {
+      return MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  static boolean isAvailable() {
+    return IS_VIRTUAL != null;
+  }
+
+  static boolean isCurrentThreadVirtual() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+
+  // An executor that starts a virtual thread for each task, or null before Java 21
+  static ExecutorService newPerTaskExecutor() {
+    if (IS_VIRTUAL == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+}
@@ -2,9 +2,27 @@ package ai.zuva.docai.classification;
 
 import ai.zuva.docai.MultipleRequestStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ClassificationMultipleResults extends MultipleRequestStatus {
   @JsonProperty("statuses")
   public Map<String, ClassificationResult> statuses;
+
+  @Override
+  public Map<String, ClassificationResult> statusesById() {
+    return statuses;
+  }
+
+  @Override
+  public void merge(MultipleRequestStatus other) {
+    super.merge(other);
+    Map<String, ClassificationResult> more = ((ClassificationMultipleResults) other).statuses;
+    if (more != null) {
+      if (statuses == null) {
+        statuses = new LinkedHashMap<>();
+      }
+      statuses.putAll(more);
+    }
+  }
 }
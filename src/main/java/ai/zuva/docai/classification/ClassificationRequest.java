@@ -2,12 +2,16 @@ package ai.zuva.docai.classification;
 
 import ai.zuva.docai.BaseRequest;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ClassificationRequest extends BaseRequest {
   public final String fileId;
@@ -70,7 +74,42 @@ public class ClassificationRequest extends BaseRequest {
             new ClassificationRequestBody(files),
             202,
             ClassificationResultsBody.class);
+    return toRequests(client, resp);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, File)}
+   *
+   * @param client The client to use to make the request
+   * @param file The file to classify
+   * @return A future that completes with a ClassificationRequest
+   */
+  public static CompletableFuture<ClassificationRequest> createRequestAsync(
+      DocAIClient client, File file) {
+    return Futures.map(createRequestsAsync(client, new File[] {file}), r -> r[0]);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequests(DocAIClient, File[])}
+   *
+   * @param client The client to use to make the request
+   * @param files The files to classify
+   * @return A future that completes with an array of ClassificationRequests
+   */
+  public static CompletableFuture<ClassificationRequest[]> createRequestsAsync(
+      DocAIClient client, File[] files) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST",
+            "api/v2/classification",
+            new ClassificationRequestBody(files),
+            202,
+            ClassificationResultsBody.class),
+        resp -> toRequests(client, resp));
+  }
 
+  private static ClassificationRequest[] toRequests(
+      DocAIClient client, ClassificationResultsBody resp) {
     ClassificationRequest[] classificationRequests = new ClassificationRequest[resp.results.length];
     for (int i = 0; i < classificationRequests.length; i++) {
       classificationRequests[i] = new ClassificationRequest(client, resp.results[i]);
@@ -98,6 +137,16 @@ public class ClassificationRequest extends BaseRequest {
     this.fileId = fileId;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.CLASSIFICATION;
+  }
+
+  @Override
+  protected String getFileId() {
+    return fileId;
+  }
+
   /**
    * Get classification status and results.
    *
@@ -113,6 +162,16 @@ public class ClassificationRequest extends BaseRequest {
         "api/v2/classification/" + requestId, 200, ClassificationResult.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the status and results of the request
+   */
+  public CompletableFuture<ClassificationResult> getStatusAsync() {
+    return client.authorizedGetAsync(
+        "api/v2/classification/" + requestId, 200, ClassificationResult.class);
+  }
+
   /**
    * Get multiple classification statuses and results
    *
@@ -146,7 +205,7 @@ public class ClassificationRequest extends BaseRequest {
   public static ClassificationMultipleResults getStatuses(
       DocAIClient client, List<String> classificationRequestIds)
       throws DocAIClientException, DocAIApiException {
-    return client.authorizedGet(
+    return client.authorizedGetStatuses(
         "api/v2/classifications",
         "request_id",
         classificationRequestIds,
@@ -154,6 +213,29 @@ public class ClassificationRequest extends BaseRequest {
         ClassificationMultipleResults.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatuses(DocAIClient, List)}
+   *
+   * @param client The client to use to make the request
+   * @param classificationRequestIds list of Classification Request IDs
+   * @return A future that completes with the statuses and results of all requests
+   */
+  public static CompletableFuture<ClassificationMultipleResults> getStatusesAsync(
+      DocAIClient client, List<String> classificationRequestIds) {
+    return client.authorizedGetStatusesAsync(
+        "api/v2/classifications",
+        "request_id",
+        classificationRequestIds,
+        200,
+        ClassificationMultipleResults.class);
+  }
+
+  @Override
+  protected CompletableFuture<ClassificationMultipleResults> getBatchStatusesAsync(
+      List<String> requestIds) {
+    return getStatusesAsync(client, requestIds);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -197,4 +279,38 @@ public class ClassificationRequest extends BaseRequest {
     return (ClassificationResult)
         super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return A ClassificationResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public ClassificationResult pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (ClassificationResult) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return A ClassificationResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public ClassificationResult pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (ClassificationResult) super.pollStatus(policy, showProgress);
+  }
 }
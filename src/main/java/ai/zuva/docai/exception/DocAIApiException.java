@@ -3,6 +3,11 @@ package ai.zuva.docai.exception;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 public class DocAIApiException extends DocAIException {
   public final int statusCode;
@@ -14,6 +19,9 @@ public class DocAIApiException extends DocAIException {
   public final String code;
   public final String message;
 
+  // The delay requested by the server's Retry-After header, or null if it did not send one
+  public final Duration retryAfter;
+
   // The standard error response defined in the Zuva DocAI api
   // See https://zuva.ai/documentation/using-the-apis/error-handling/
   static class ErrorBody {
@@ -23,6 +31,16 @@ public class DocAIApiException extends DocAIException {
 
   public DocAIApiException(
       ObjectMapper mapper, String method, String uri, int statusCode, String body) {
+    this(mapper, method, uri, statusCode, body, null);
+  }
+
+  public DocAIApiException(
+      ObjectMapper mapper,
+      String method,
+      String uri,
+      int statusCode,
+      String body,
+      String retryAfterHeader) {
     super(
         String.format(
             "%s %s failed with status code %s.%nMessage:%n%s", method, uri, statusCode, body));
@@ -31,6 +49,7 @@ public class DocAIApiException extends DocAIException {
     this.uri = uri;
     this.statusCode = statusCode;
     this.body = body;
+    this.retryAfter = parseRetryAfter(retryAfterHeader);
 
     String code;
     String message;
@@ -45,4 +64,44 @@ public class DocAIApiException extends DocAIException {
     this.code = code;
     this.message = message;
   }
+
+  /**
+   * Indicates whether the failure is transient, so that the same request may succeed if it is sent
+   * again later: request timeouts (408), rate limiting (429) and server-side errors (500, 502, 503,
+   * 504). All other status codes describe a problem with the request itself.
+   *
+   * @return true if the request may be retried
+   */
+  public boolean isRetryable() {
+    switch (statusCode) {
+      case 408:
+      case 429:
+      case 500:
+      case 502:
+      case 503:
+      case 504:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  // Retry-After is either a number of seconds or an HTTP date
+  static Duration parseRetryAfter(String header) {
+    if (header == null || header.trim().isEmpty()) {
+      return null;
+    }
+    String value = header.trim();
+    try {
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+    } catch (NumberFormatException ignored) {
+    }
+    try {
+      Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+      Duration delay = Duration.between(Instant.now(), at);
+      return delay.isNegative() ? Duration.ZERO : delay;
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
 }
@@ -2,9 +2,27 @@ package ai.zuva.docai.extraction;
 
 import ai.zuva.docai.MultipleRequestStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class ExtractionMultipleStatuses extends MultipleRequestStatus {
   @JsonProperty("statuses")
   public Map<String, ExtractionStatus> statuses;
+
+  @Override
+  public Map<String, ExtractionStatus> statusesById() {
+    return statuses;
+  }
+
+  @Override
+  public void merge(MultipleRequestStatus other) {
+    super.merge(other);
+    Map<String, ExtractionStatus> more = ((ExtractionMultipleStatuses) other).statuses;
+    if (more != null) {
+      if (statuses == null) {
+        statuses = new LinkedHashMap<>();
+      }
+      statuses.putAll(more);
+    }
+  }
 }
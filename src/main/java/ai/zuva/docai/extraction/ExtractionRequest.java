@@ -2,6 +2,9 @@ package ai.zuva.docai.extraction;
 
 import ai.zuva.docai.BaseRequest;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
@@ -9,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ExtractionRequest extends BaseRequest {
   public final String fileId;
@@ -88,7 +92,43 @@ public class ExtractionRequest extends BaseRequest {
             new ExtractionRequestBody(files, fieldIds),
             202,
             ExtractionStatuses.class);
+    return toRequests(client, resp);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, File, String[])}
+   *
+   * @param client The client to use to make the request
+   * @param file The file to analyze
+   * @param fieldIds The IDs of the fields to extract from the file
+   * @return A future that completes with an ExtractionRequest object
+   */
+  public static CompletableFuture<ExtractionRequest> createRequestAsync(
+      DocAIClient client, File file, String[] fieldIds) {
+    return Futures.map(createRequestsAsync(client, new File[] {file}, fieldIds), r -> r[0]);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequests(DocAIClient, File[], String[])}
+   *
+   * @param client The client to use to make the request
+   * @param files The files to analyze
+   * @param fieldIds The IDs of the fields to extract from the files
+   * @return A future that completes with an array of ExtractionRequest objects
+   */
+  public static CompletableFuture<ExtractionRequest[]> createRequestsAsync(
+      DocAIClient client, File[] files, String[] fieldIds) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST",
+            "api/v2/extraction",
+            new ExtractionRequestBody(files, fieldIds),
+            202,
+            ExtractionStatuses.class),
+        resp -> toRequests(client, resp));
+  }
 
+  private static ExtractionRequest[] toRequests(DocAIClient client, ExtractionStatuses resp) {
     ExtractionRequest[] extractionRequests = new ExtractionRequest[resp.statuses.length];
     for (int i = 0; i < extractionRequests.length; i++) {
       extractionRequests[i] = new ExtractionRequest(client, resp.statuses[i]);
@@ -115,6 +155,16 @@ public class ExtractionRequest extends BaseRequest {
     this.fieldIds = null;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.EXTRACTION;
+  }
+
+  @Override
+  protected String getFileId() {
+    return fileId;
+  }
+
   /**
    * Gets status of the extraction request
    *
@@ -127,6 +177,16 @@ public class ExtractionRequest extends BaseRequest {
         String.format("api/v2/extraction/%s", requestId), 200, ExtractionStatus.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the request status
+   */
+  public CompletableFuture<ExtractionStatus> getStatusAsync() {
+    return client.authorizedGetAsync(
+        String.format("api/v2/extraction/%s", requestId), 200, ExtractionStatus.class);
+  }
+
   /**
    * Get multiple extraction statuses
    *
@@ -158,7 +218,24 @@ public class ExtractionRequest extends BaseRequest {
   public static ExtractionMultipleStatuses getStatuses(
       DocAIClient client, List<String> extractionRequestIds)
       throws DocAIClientException, DocAIApiException {
-    return client.authorizedGet(
+    return client.authorizedGetStatuses(
+        "api/v2/extractions",
+        "request_id",
+        extractionRequestIds,
+        200,
+        ExtractionMultipleStatuses.class);
+  }
+
+  /**
+   * Asynchronous version of {@link #getStatuses(DocAIClient, List)}
+   *
+   * @param client The client to use to make the request
+   * @param extractionRequestIds list of Extraction Request IDs
+   * @return A future that completes with the statuses of all requests
+   */
+  public static CompletableFuture<ExtractionMultipleStatuses> getStatusesAsync(
+      DocAIClient client, List<String> extractionRequestIds) {
+    return client.authorizedGetStatusesAsync(
         "api/v2/extractions",
         "request_id",
         extractionRequestIds,
@@ -166,6 +243,12 @@ public class ExtractionRequest extends BaseRequest {
         ExtractionMultipleStatuses.class);
   }
 
+  @Override
+  protected CompletableFuture<ExtractionMultipleStatuses> getBatchStatusesAsync(
+      List<String> requestIds) {
+    return getStatusesAsync(client, requestIds);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -210,6 +293,40 @@ public class ExtractionRequest extends BaseRequest {
         super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
 
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return An ExtractionStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public ExtractionStatus pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (ExtractionStatus) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return An ExtractionStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public ExtractionStatus pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (ExtractionStatus) super.pollStatus(policy, showProgress);
+  }
+
   /**
    * Get results of a successful extraction request
    *
@@ -225,4 +342,16 @@ public class ExtractionRequest extends BaseRequest {
             "api/v2/extraction/" + requestId + "/results/text", 200, ExtractionResultsBody.class)
         .results;
   }
+
+  /**
+   * Asynchronous version of {@link #getResults()}
+   *
+   * @return A future that completes with the results of the extraction
+   */
+  public CompletableFuture<ExtractionResults[]> getResultsAsync() {
+    return Futures.map(
+        client.authorizedGetAsync(
+            "api/v2/extraction/" + requestId + "/results/text", 200, ExtractionResultsBody.class),
+        body -> body.results);
+  }
 }
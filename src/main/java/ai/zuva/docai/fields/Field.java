@@ -1,10 +1,12 @@
 package ai.zuva.docai.fields;
 
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.Futures;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.concurrent.CompletableFuture;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Field {
@@ -33,6 +35,16 @@ public class Field {
     return client.authorizedGet("api/v2/fields", 200, FieldListElement[].class);
   }
 
+  /**
+   * Asynchronous version of {@link #listFields(DocAIClient)}
+   *
+   * @param client The client to use to make the request
+   * @return A future that completes with a list of all the fields available to the client
+   */
+  public static CompletableFuture<FieldListElement[]> listFieldsAsync(DocAIClient client) {
+    return client.authorizedGetAsync("api/v2/fields", 200, FieldListElement[].class);
+  }
+
   /**
    * Queries the Zuva DocAI API for metadata about the field
    *
@@ -45,6 +57,16 @@ public class Field {
         String.format("api/v2/fields/%s/metadata", fieldId), 200, FieldMetadata.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getMetadata()}
+   *
+   * @return A future that completes with a FieldMetadata object
+   */
+  public CompletableFuture<FieldMetadata> getMetadataAsync() {
+    return client.authorizedGetAsync(
+        String.format("api/v2/fields/%s/metadata", fieldId), 200, FieldMetadata.class);
+  }
+
   // NameAndDescription is used to serialize an update metadata request
   static class NameAndDescription {
     public String name;
@@ -74,6 +96,22 @@ public class Field {
         null);
   }
 
+  /**
+   * Asynchronous version of {@link #updateMetadata(String, String)}
+   *
+   * @param name The new name for the field
+   * @param description The new description of the field
+   * @return A future that completes once the field has been updated
+   */
+  public CompletableFuture<Void> updateMetadataAsync(String name, String description) {
+    return client.authorizedJsonRequestAsync(
+        "PUT",
+        String.format("api/v2/fields/%s/metadata", fieldId),
+        new NameAndDescription(name, description),
+        204,
+        null);
+  }
+
   /**
    * Queries the Zuva DocAI API for the field's accuracy scores
    *
@@ -86,6 +124,16 @@ public class Field {
         String.format("api/v2/fields/%s/accuracy", fieldId), 200, FieldAccuracy.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getAccuracy()}
+   *
+   * @return A future that completes with a FieldAccuracy object
+   */
+  public CompletableFuture<FieldAccuracy> getAccuracyAsync() {
+    return client.authorizedGetAsync(
+        String.format("api/v2/fields/%s/accuracy", fieldId), 200, FieldAccuracy.class);
+  }
+
   /**
    * Queries the Zuva DocAI API for the field's validation details
    *
@@ -100,6 +148,18 @@ public class Field {
         FieldValidation[].class);
   }
 
+  /**
+   * Asynchronous version of {@link #getValidationDetails()}
+   *
+   * @return A future that completes with an array of FieldValidation objects
+   */
+  public CompletableFuture<FieldValidation[]> getValidationDetailsAsync() {
+    return client.authorizedGetAsync(
+        String.format("api/v2/fields/%s/validation-details", fieldId),
+        200,
+        FieldValidation[].class);
+  }
+
   /**
    * Send a request to train this field from examples
    *
@@ -118,6 +178,18 @@ public class Field {
     return TrainingRequest.createRequest(client, fieldId, trainingExamples);
   }
 
+  /**
+   * Asynchronous version of {@link #createTrainingRequest(TrainingExample[])}
+   *
+   * @param trainingExamples An array of Training examples describing the character spans that this
+   *     field should extract from each training file
+   * @return A future that completes with a TrainingRequest object
+   */
+  public CompletableFuture<TrainingRequest> createTrainingRequestAsync(
+      TrainingExample[] trainingExamples) {
+    return TrainingRequest.createRequestAsync(client, fieldId, trainingExamples);
+  }
+
   static class CreateFieldRequest {
     @JsonProperty("field_name")
     public String name;
@@ -156,4 +228,24 @@ public class Field {
             CreateFieldResponse.class);
     return new Field(client, response.fieldId);
   }
+
+  /**
+   * Asynchronous version of {@link #createField(DocAIClient, String, String)}
+   *
+   * @param client The client to use to make the request
+   * @param name The name of the field
+   * @param description The description of the field
+   * @return A future that completes with a Field object representing the new untrained field
+   */
+  public static CompletableFuture<Field> createFieldAsync(
+      DocAIClient client, String name, String description) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST",
+            "api/v2/fields",
+            new CreateFieldRequest(name, description),
+            201,
+            CreateFieldResponse.class),
+        response -> new Field(client, response.fieldId));
+  }
 }
@@ -2,8 +2,12 @@ package ai.zuva.docai.fields;
 
 import ai.zuva.docai.BaseRequest;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
+import java.util.concurrent.CompletableFuture;
 
 public class TrainingRequest extends BaseRequest {
 
@@ -36,6 +40,26 @@ public class TrainingRequest extends BaseRequest {
     return new TrainingRequest(client, trainingStatus);
   }
 
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, String, TrainingExample[])}
+   *
+   * @param client The client to use to make the request
+   * @param fieldId The ID of the custom field to train
+   * @param trainingExamples The examples to train on
+   * @return A future that completes with a TrainingRequest object
+   */
+  public static CompletableFuture<TrainingRequest> createRequestAsync(
+      DocAIClient client, String fieldId, TrainingExample[] trainingExamples) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST",
+            String.format("api/v2/fields/%s/train", fieldId),
+            trainingExamples,
+            202,
+            TrainingStatus.class),
+        trainingStatus -> new TrainingRequest(client, trainingStatus));
+  }
+
   /**
    * Constructs a new object representing a pre-existing training request
    *
@@ -53,6 +77,11 @@ public class TrainingRequest extends BaseRequest {
     this.fieldId = trainingStatus.fieldId;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.FIELDS;
+  }
+
   /**
    * Gets status of a training request
    *
@@ -68,6 +97,16 @@ public class TrainingRequest extends BaseRequest {
         String.format("api/v2/fields/%s/train/%s", fieldId, requestId), 200, TrainingStatus.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the request status
+   */
+  public CompletableFuture<TrainingStatus> getStatusAsync() {
+    return client.authorizedGetAsync(
+        String.format("api/v2/fields/%s/train/%s", fieldId, requestId), 200, TrainingStatus.class);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -110,4 +149,38 @@ public class TrainingRequest extends BaseRequest {
       throws DocAIClientException, DocAIApiException, InterruptedException {
     return (TrainingStatus) super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return A TrainingStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public TrainingStatus pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (TrainingStatus) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return A TrainingStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public TrainingStatus pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (TrainingStatus) super.pollStatus(policy, showProgress);
+  }
 }
@@ -0,0 +1,55 @@
+package ai.zuva.docai.files;
+
+import ai.zuva.docai.RetryPolicy;
+
+/**
+ * Configures how {@link File#deleteFiles} and a client's {@link DeletionQueue} delete files
+ *
+ * <p>Deletions are sent while fewer than maxParallelism are in flight. A deletion that fails with a
+ * transient error is retried with retryPolicy, which replaces the client's own retry policy for
+ * these requests. A file that no longer exists (404) counts as deleted, since it may have expired
+ * or have been deleted by an earlier attempt whose response was lost.
+ */
+public class BulkDeletePolicy {
+  /** 16 deletions at a time, retried with {@link RetryPolicy#DEFAULT} */
+  public static final BulkDeletePolicy DEFAULT = new Builder().build();
+
+  public final int maxParallelism;
+  public final RetryPolicy retryPolicy;
+
+  private BulkDeletePolicy(Builder builder) {
+    this.maxParallelism = builder.maxParallelism;
+    this.retryPolicy = builder.retryPolicy;
+  }
+
+  public static class Builder {
+    private int maxParallelism = 16;
+    private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+
+    /**
+     * @param maxParallelism The largest number of deletions in flight at once. The client's
+     *     dispatcher and concurrency limiter still apply.
+     * @return This builder
+     */
+    public Builder maxParallelism(int maxParallelism) {
+      if (maxParallelism < 1) {
+        throw new IllegalArgumentException("maxParallelism must be positive");
+      }
+      this.maxParallelism = maxParallelism;
+      return this;
+    }
+
+    /**
+     * @param retryPolicy How to retry deletions that fail with a transient error
+     * @return This builder
+     */
+    public Builder retryPolicy(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    public BulkDeletePolicy build() {
+      return new BulkDeletePolicy(this);
+    }
+  }
+}
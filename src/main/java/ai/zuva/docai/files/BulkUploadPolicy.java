@@ -0,0 +1,80 @@
+package ai.zuva.docai.files;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Configures how {@link File#submitFiles} uploads a batch of documents
+ *
+ * <p>Uploads are started in input order while fewer than maxParallelism are in flight and the
+ * sizes of the documents in flight add up to no more than maxBytesInFlight. A document larger than
+ * the budget is uploaded on its own, and documents of unknown size do not count towards it.
+ */
+public class BulkUploadPolicy {
+  /** 8 uploads at a time, with up to 256 MiB in flight and no progress reports */
+  public static final BulkUploadPolicy DEFAULT = new Builder().build();
+
+  public final int maxParallelism;
+  public final long maxBytesInFlight;
+  public final Consumer<UploadProgress> progressListener;
+  public final Duration progressInterval;
+
+  private BulkUploadPolicy(Builder builder) {
+    this.maxParallelism = builder.maxParallelism;
+    this.maxBytesInFlight = builder.maxBytesInFlight;
+    this.progressListener = builder.progressListener;
+    this.progressInterval = builder.progressInterval;
+  }
+
+  public static class Builder {
+    private int maxParallelism = 8;
+    private long maxBytesInFlight = 256L * 1024 * 1024;
+    private Consumer<UploadProgress> progressListener;
+    private Duration progressInterval = Duration.ofSeconds(1);
+
+    /**
+     * @param maxParallelism The largest number of uploads in flight at once. The client's
+     *     dispatcher and concurrency limiter still apply.
+     * @return This builder
+     */
+    public Builder maxParallelism(int maxParallelism) {
+      if (maxParallelism < 1) {
+        throw new IllegalArgumentException("maxParallelism must be positive");
+      }
+      this.maxParallelism = maxParallelism;
+      return this;
+    }
+
+    /**
+     * @param maxBytesInFlight The largest total size of the documents being uploaded at once
+     * @return This builder
+     */
+    public Builder maxBytesInFlight(long maxBytesInFlight) {
+      if (maxBytesInFlight < 1) {
+        throw new IllegalArgumentException("maxBytesInFlight must be positive");
+      }
+      this.maxBytesInFlight = maxBytesInFlight;
+      return this;
+    }
+
+    /**
+     * @param progressListener Called with the progress of the batch as uploads finish, at most
+     *     once per interval, and once more when the whole batch has finished. It is called on the
+     *     threads that complete uploads, so it must return quickly.
+     * @param interval The shortest time between two progress reports
+     * @return This builder
+     */
+    public Builder progressListener(Consumer<UploadProgress> progressListener, Duration interval) {
+      if (interval.isNegative()) {
+        throw new IllegalArgumentException("interval must not be negative");
+      }
+      this.progressListener = progressListener;
+      this.progressInterval = interval;
+      return this;
+    }
+
+    public BulkUploadPolicy build() {
+      return new BulkUploadPolicy(this);
+    }
+  }
+}
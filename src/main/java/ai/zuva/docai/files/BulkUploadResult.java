@@ -0,0 +1,30 @@
+package ai.zuva.docai.files;
+
+import java.util.List;
+import java.util.Map;
+
+/** The outcome of {@link File#submitFiles} */
+public class BulkUploadResult {
+  /** The uploaded files, in the order of their sources, with null for each upload that failed */
+  public final List<File> files;
+
+  /**
+   * The cause of each failed upload, keyed by the index of its source: usually a
+   * DocAIApiException or DocAIClientException
+   */
+  public final Map<Integer, Throwable> failures;
+
+  /** The final progress of the batch, with its throughput */
+  public final UploadProgress progress;
+
+  BulkUploadResult(List<File> files, Map<Integer, Throwable> failures, UploadProgress progress) {
+    this.files = files;
+    this.failures = failures;
+    this.progress = progress;
+  }
+
+  /** @return True if every document was uploaded */
+  public boolean isSuccessful() {
+    return failures.isEmpty();
+  }
+}
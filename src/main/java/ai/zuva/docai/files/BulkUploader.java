@@ -0,0 +1,164 @@
+package ai.zuva.docai.files;
+
+import ai.zuva.docai.DocAIClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs one batch of File.submitFiles. Uploads are started from a drain loop, so an upload that
+// completes on the thread that started it does not start the next one recursively, and no thread
+// waits while uploads are in flight.
+class BulkUploader {
+  private final DocAIClient client;
+  private final List<FileSource> sources;
+  private final BulkUploadPolicy policy;
+  private final CompletableFuture<BulkUploadResult> result = new CompletableFuture<>();
+  private final Map<Integer, CompletableFuture<File>> uploads = new ConcurrentHashMap<>();
+  private final AtomicInteger wip = new AtomicInteger();
+  private final long start = System.nanoTime();
+
+  // Guarded by this
+  private final File[] files;
+  private final Map<Integer, Throwable> failures = new TreeMap<>();
+  private int next;
+  private int inFlight;
+  private long bytesInFlight;
+  private int uploaded;
+  private long uploadedBytes;
+  private long lastReport = start;
+
+  BulkUploader(DocAIClient client, List<FileSource> sources, BulkUploadPolicy policy) {
+    this.client = client;
+    this.sources = sources;
+    this.policy = policy;
+    this.files = new File[sources.size()];
+  }
+
+  CompletableFuture<BulkUploadResult> start() {
+    result.whenComplete(
+        (r, t) -> {
+          if (t instanceof CancellationException) {
+            for (CompletableFuture<File> upload : uploads.values()) {
+              upload.cancel(false);
+            }
+          }
+        });
+    if (sources.isEmpty()) {
+      result.complete(finish(System.nanoTime()));
+    } else {
+      drain();
+    }
+    return result;
+  }
+
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      startReady();
+    } while (wip.decrementAndGet() != 0);
+  }
+
+  // Starts uploads in input order while the parallelism and byte budgets allow
+  private void startReady() {
+    while (true) {
+      int index;
+      FileSource source;
+      long cost;
+      synchronized (this) {
+        if (result.isDone() || next == sources.size() || inFlight >= policy.maxParallelism) {
+          return;
+        }
+        source = sources.get(next);
+        cost = Math.max(source.size, 0);
+        if (inFlight > 0 && bytesInFlight + cost > policy.maxBytesInFlight) {
+          return;
+        }
+        index = next++;
+        inFlight++;
+        bytesInFlight += cost;
+      }
+      CompletableFuture<File> upload;
+      try {
+        upload = source.submit(client);
+      } catch (RuntimeException e) {
+        upload = new CompletableFuture<>();
+        upload.completeExceptionally(e);
+      }
+      uploads.put(index, upload);
+      // The batch may have been cancelled after the upload was started, but before it was added
+      if (result.isCancelled()) {
+        upload.cancel(false);
+      }
+      upload.whenComplete(
+          (file, t) -> {
+            uploads.remove(index);
+            finished(index, source, cost, file, t);
+          });
+    }
+  }
+
+  private void finished(int index, FileSource source, long cost, File file, Throwable t) {
+    long now = System.nanoTime();
+    UploadProgress report = null;
+    BulkUploadResult done = null;
+    synchronized (this) {
+      inFlight--;
+      bytesInFlight -= cost;
+      if (t == null) {
+        files[index] = file;
+        uploaded++;
+        uploadedBytes += cost;
+      } else {
+        Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+        failures.put(index, cause == null ? t : cause);
+      }
+      boolean last = uploaded + failures.size() == sources.size();
+      if (policy.progressListener != null
+          && (last || now - lastReport >= policy.progressInterval.toNanos())) {
+        lastReport = now;
+        report = progress(now);
+      }
+      if (last) {
+        done = finish(now);
+      }
+    }
+    try {
+      if (report != null) {
+        policy.progressListener.accept(report);
+      }
+    } finally {
+      if (done != null) {
+        result.complete(done);
+      } else {
+        drain();
+      }
+    }
+  }
+
+  private synchronized UploadProgress progress(long now) {
+    return new UploadProgress(
+        sources.size(),
+        uploaded,
+        failures.size(),
+        inFlight,
+        uploadedBytes,
+        Duration.ofNanos(now - start));
+  }
+
+  private synchronized BulkUploadResult finish(long now) {
+    return new BulkUploadResult(
+        Collections.unmodifiableList(Arrays.asList(files.clone())),
+        Collections.unmodifiableMap(new TreeMap<>(failures)),
+        progress(now));
+  }
+}
@@ -0,0 +1,159 @@
+package ai.zuva.docai.files;
+
+import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.exception.DocAIApiException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes files in the background, a bounded number at a time
+ *
+ * <p>Every client has a queue, to which {@link File#deleteInBackground()} adds a file once its
+ * results have been retrieved, so that cleanup overlaps with the rest of the pipeline instead of
+ * running one blocking delete at a time at the end. {@link DocAIClient#close()} waits for the
+ * queue to drain.
+ */
+public class DeletionQueue {
+  private final DocAIClient client;
+  private final BulkDeletePolicy policy;
+  private final AtomicInteger wip = new AtomicInteger();
+
+  // Guarded by this
+  private final Queue<String> queued = new ArrayDeque<>();
+  private final Map<String, Throwable> failures = new LinkedHashMap<>();
+  private final List<CompletableFuture<Map<String, Throwable>>> waiters = new ArrayList<>();
+  private int inFlight;
+
+  /**
+   * @param client The client to delete files with
+   * @param policy How many files to delete at once, and how to retry transient failures
+   */
+  public DeletionQueue(DocAIClient client, BulkDeletePolicy policy) {
+    this.client = client;
+    this.policy = policy;
+  }
+
+  /**
+   * Queues a file for deletion, and returns without waiting for it
+   *
+   * @param fileId The ID of the file
+   */
+  public void add(String fileId) {
+    synchronized (this) {
+      queued.add(fileId);
+    }
+    run();
+  }
+
+  /** @return The number of files that are queued or being deleted */
+  public synchronized int pending() {
+    return queued.size() + inFlight;
+  }
+
+  /**
+   * Waits until every queued file has been deleted, or has failed to be deleted
+   *
+   * @return The files that could not be deleted since the queue was last drained, by file ID, with
+   *     the cause of each failure
+   * @throws InterruptedException Thread interrupted while waiting. Deletions continue in the
+   *     background.
+   */
+  public Map<String, Throwable> drain() throws InterruptedException {
+    try {
+      return drainAsync().get();
+    } catch (ExecutionException e) {
+      // Failures of single deletions are part of the result, so draining itself cannot fail
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #drain()}
+   *
+   * @return A future that completes with the files that could not be deleted, once the queue is
+   *     empty and no deletion is in flight
+   */
+  public CompletableFuture<Map<String, Throwable>> drainAsync() {
+    CompletableFuture<Map<String, Throwable>> waiter = new CompletableFuture<>();
+    synchronized (this) {
+      waiters.add(waiter);
+    }
+    run();
+    return waiter;
+  }
+
+  // Starts deletions from a drain loop, so a deletion that completes on the thread that started it
+  // does not start the next one recursively. Completes the waiters once the queue is idle.
+  private void run() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      startReady();
+      notifyIfIdle();
+    } while (wip.decrementAndGet() != 0);
+  }
+
+  private void startReady() {
+    while (true) {
+      String fileId;
+      synchronized (this) {
+        if (queued.isEmpty() || inFlight >= policy.maxParallelism) {
+          return;
+        }
+        fileId = queued.poll();
+        inFlight++;
+      }
+      CompletableFuture<String> delete;
+      try {
+        UploadCache.forget(client, fileId);
+        delete = client.authorizedDeleteAsync("api/v2/files/" + fileId, 204, policy.retryPolicy);
+      } catch (RuntimeException e) {
+        delete = new CompletableFuture<>();
+        delete.completeExceptionally(e);
+      }
+      delete.whenComplete((body, t) -> finished(fileId, t));
+    }
+  }
+
+  private void finished(String fileId, Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    synchronized (this) {
+      inFlight--;
+      if (cause != null && !isNotFound(cause)) {
+        failures.put(fileId, cause);
+      }
+    }
+    run();
+  }
+
+  private void notifyIfIdle() {
+    List<CompletableFuture<Map<String, Throwable>>> idle;
+    Map<String, Throwable> result;
+    synchronized (this) {
+      if (waiters.isEmpty() || !queued.isEmpty() || inFlight > 0) {
+        return;
+      }
+      idle = new ArrayList<>(waiters);
+      waiters.clear();
+      result = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+      failures.clear();
+    }
+    for (CompletableFuture<Map<String, Throwable>> waiter : idle) {
+      waiter.complete(result);
+    }
+  }
+
+  private static boolean isNotFound(Throwable t) {
+    return t instanceof DocAIApiException && ((DocAIApiException) t).statusCode == 404;
+  }
+}
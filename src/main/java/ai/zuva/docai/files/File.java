@@ -1,11 +1,25 @@
 package ai.zuva.docai.files;
 
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.FlightRecorderEvents;
+import ai.zuva.docai.Futures;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 public class File {
   private final DocAIClient client;
@@ -31,28 +45,322 @@ public class File {
 
   public static File submitFile(DocAIClient client, java.io.File f, String... contentType)
       throws DocAIClientException, DocAIApiException, FileNotFoundException, SecurityException {
-    SubmitFileResponse resp =
-        client.authorizedRequest(
-            "POST", "api/v2/files", f, 201, SubmitFileResponse.class, contentType);
-    return new File(client, resp);
+    return upload(
+        client,
+        UploadCache.keyOf(client, f.toPath(), contentType),
+        f.length(),
+        contentType,
+        () ->
+            client.authorizedRequest(
+                "POST", "api/v2/files", f, 201, SubmitFileResponse.class, contentType));
   }
 
   public static File submitFile(DocAIClient client, String s, String... contentType)
       throws DocAIClientException, DocAIApiException {
-    SubmitFileResponse resp =
-        client.authorizedRequest(
-            "POST", "api/v2/files", s, 201, SubmitFileResponse.class, contentType);
-    return new File(client, resp);
+    return upload(
+        client,
+        UploadCache.keyOf(client, s, contentType),
+        utf8Length(s),
+        contentType,
+        () ->
+            client.authorizedRequest(
+                "POST", "api/v2/files", s, 201, SubmitFileResponse.class, contentType));
   }
 
   public static File submitFile(DocAIClient client, byte[] ba, String... contentType)
       throws DocAIClientException, DocAIApiException {
-    SubmitFileResponse resp =
-        client.authorizedRequest(
-            "POST", "api/v2/files", ba, 201, SubmitFileResponse.class, contentType);
+    return upload(
+        client,
+        UploadCache.keyOf(client, ba, contentType),
+        ba.length,
+        contentType,
+        () ->
+            client.authorizedRequest(
+                "POST", "api/v2/files", ba, 201, SubmitFileResponse.class, contentType));
+  }
+
+  // Transfers the file to the connection in chunks, so it is never held in memory
+  public static File submitFile(DocAIClient client, Path p, String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    return upload(
+        client,
+        UploadCache.keyOf(client, p, contentType),
+        sizeOf(p),
+        contentType,
+        () ->
+            client.authorizedRequest(
+                "POST", "api/v2/files", p, 201, SubmitFileResponse.class, contentType));
+  }
+
+  // Reads the stream through a fixed-size buffer while it is uploaded, without closing it. If
+  // contentLength is -1 the stream is sent with chunked transfer encoding. The stream can only be
+  // read once, so the upload is not retried. It is only hashed as it is sent, so it is cached
+  // after the upload rather than looked up before it.
+  public static File submitFile(
+      DocAIClient client, InputStream in, long contentLength, String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    InputStream hashed = UploadCache.hashing(client, in);
+    File file =
+        upload(
+            client,
+            null,
+            contentLength,
+            contentType,
+            () ->
+                client.authorizedRequest(
+                    "POST",
+                    "api/v2/files",
+                    hashed,
+                    contentLength,
+                    201,
+                    SubmitFileResponse.class,
+                    contentType));
+    return UploadCache.remember(
+        client, UploadCache.keyOf(client, hashed, contentType), contentLength, file);
+  }
+
+  // Uploads the buffer from its position to its limit, without changing its position
+  public static File submitFile(DocAIClient client, ByteBuffer buffer, String... contentType)
+      throws DocAIClientException, DocAIApiException {
+    return upload(
+        client,
+        UploadCache.keyOf(client, buffer, contentType),
+        buffer.remaining(),
+        contentType,
+        () ->
+            client.authorizedRequest(
+                "POST", "api/v2/files", buffer, 201, SubmitFileResponse.class, contentType));
+  }
+
+  // The async variants return a future that completes exceptionally with a DocAIClientException
+  // or DocAIApiException instead of throwing
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, java.io.File f, String... contentType) {
+    return uploadWhenHashed(
+        client,
+        UploadCache.keyOfAsync(client, f.toPath(), contentType),
+        f.length(),
+        contentType,
+        () ->
+            client.authorizedRequestAsync(
+                "POST", "api/v2/files", f, 201, SubmitFileResponse.class, contentType));
+  }
+
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, String s, String... contentType) {
+    return uploadAsync(
+        client,
+        UploadCache.keyOf(client, s, contentType),
+        utf8Length(s),
+        contentType,
+        () ->
+            client.authorizedRequestAsync(
+                "POST", "api/v2/files", s, 201, SubmitFileResponse.class, contentType));
+  }
+
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, byte[] ba, String... contentType) {
+    return uploadAsync(
+        client,
+        UploadCache.keyOf(client, ba, contentType),
+        ba.length,
+        contentType,
+        () ->
+            client.authorizedRequestAsync(
+                "POST", "api/v2/files", ba, 201, SubmitFileResponse.class, contentType));
+  }
+
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, Path p, String... contentType) {
+    return uploadWhenHashed(
+        client,
+        UploadCache.keyOfAsync(client, p, contentType),
+        sizeOf(p),
+        contentType,
+        () ->
+            client.authorizedRequestAsync(
+                "POST", "api/v2/files", p, 201, SubmitFileResponse.class, contentType));
+  }
+
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, InputStream in, long contentLength, String... contentType) {
+    InputStream hashed = UploadCache.hashing(client, in);
+    return Futures.map(
+        uploadAsync(
+            client,
+            null,
+            contentLength,
+            contentType,
+            () ->
+                client.authorizedRequestAsync(
+                    "POST",
+                    "api/v2/files",
+                    hashed,
+                    contentLength,
+                    201,
+                    SubmitFileResponse.class,
+                    contentType)),
+        file ->
+            UploadCache.remember(
+                client, UploadCache.keyOf(client, hashed, contentType), contentLength, file));
+  }
+
+  public static CompletableFuture<File> submitFileAsync(
+      DocAIClient client, ByteBuffer buffer, String... contentType) {
+    return uploadAsync(
+        client,
+        UploadCache.keyOf(client, buffer, contentType),
+        buffer.remaining(),
+        contentType,
+        () ->
+            client.authorizedRequestAsync(
+                "POST", "api/v2/files", buffer, 201, SubmitFileResponse.class, contentType));
+  }
+
+  /**
+   * Uploads a batch of documents concurrently with the {@link BulkUploadPolicy#DEFAULT} policy
+   *
+   * @param client The client to upload with
+   * @param sources The documents to upload
+   * @return The uploaded files in the order of their sources, and the failures
+   * @throws InterruptedException Thread interrupted while waiting for the uploads; the uploads in
+   *     flight are cancelled
+   */
+  public static BulkUploadResult submitFiles(
+      DocAIClient client, Collection<? extends FileSource> sources) throws InterruptedException {
+    return submitFiles(client, sources, BulkUploadPolicy.DEFAULT);
+  }
+
+  /**
+   * Uploads a batch of documents concurrently, and waits for all of them
+   *
+   * <p>A failed upload does not stop the batch: its cause is recorded in the result and the other
+   * documents are still uploaded. Uploads that fail with a transient error are retried by the
+   * client's retry policy as usual.
+   *
+   * @param client The client to upload with
+   * @param sources The documents to upload
+   * @param policy How many documents, and how many bytes, to upload at once, and where to report
+   *     progress
+   * @return The uploaded files in the order of their sources, and the failures
+   * @throws InterruptedException Thread interrupted while waiting for the uploads; the uploads in
+   *     flight are cancelled
+   */
+  public static BulkUploadResult submitFiles(
+      DocAIClient client, Collection<? extends FileSource> sources, BulkUploadPolicy policy)
+      throws InterruptedException {
+    CompletableFuture<BulkUploadResult> result = submitFilesAsync(client, sources, policy);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(false);
+      throw e;
+    } catch (ExecutionException e) {
+      // Failures of single uploads are part of the result, so the batch itself cannot fail
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #submitFiles(DocAIClient, Collection, BulkUploadPolicy)}
+   *
+   * @param client The client to upload with
+   * @param sources The documents to upload
+   * @param policy How many documents, and how many bytes, to upload at once, and where to report
+   *     progress
+   * @return A future that completes with the result once every upload has finished. Cancelling it
+   *     cancels the uploads in flight and starts no more.
+   */
+  public static CompletableFuture<BulkUploadResult> submitFilesAsync(
+      DocAIClient client, Collection<? extends FileSource> sources, BulkUploadPolicy policy) {
+    return new BulkUploader(client, new ArrayList<>(sources), policy).start();
+  }
+
+  // Sends the upload request for one of the submitFile overloads. X is the checked exception the
+  // request throws beyond the usual two, if any.
+  @FunctionalInterface
+  private interface Post<X extends Exception> {
+    SubmitFileResponse send() throws DocAIClientException, DocAIApiException, X;
+  }
+
+  // Returns the cached file for key, or uploads the document with post and caches it. A null key
+  // skips the cache, and size is -1 if it is not known.
+  private static <X extends Exception> File upload(
+      DocAIClient client, String key, long size, String[] contentType, Post<X> post)
+      throws DocAIClientException, DocAIApiException, X {
+    File cached = UploadCache.lookup(client, key);
+    if (cached != null) {
+      return cached;
+    }
+    FlightRecorderEvents.Upload upload = FlightRecorderEvents.fileUpload(size, first(contentType));
+    String fileId = null;
+    try {
+      SubmitFileResponse resp = post.send();
+      fileId = resp.fileId;
+      return UploadCache.remember(client, key, size, uploaded(client, resp, size));
+    } finally {
+      upload.end(fileId);
+    }
+  }
+
+  // Like uploadAsync, for a document whose key is still being computed
+  private static CompletableFuture<File> uploadWhenHashed(
+      DocAIClient client,
+      CompletableFuture<String> key,
+      long size,
+      String[] contentType,
+      Supplier<CompletableFuture<SubmitFileResponse>> post) {
+    return Futures.compose(key, k -> uploadAsync(client, k, size, contentType, post));
+  }
+
+  // Asynchronous version of upload, which also joins an upload of the same document in flight
+  private static CompletableFuture<File> uploadAsync(
+      DocAIClient client,
+      String key,
+      long size,
+      String[] contentType,
+      Supplier<CompletableFuture<SubmitFileResponse>> post) {
+    return UploadCache.dedupe(
+        client,
+        key,
+        size,
+        () -> {
+          FlightRecorderEvents.Upload upload =
+              FlightRecorderEvents.fileUpload(size, first(contentType));
+          CompletableFuture<SubmitFileResponse> sent = post.get();
+          return Futures.linkCancellation(
+              sent.thenApply(resp -> uploaded(client, resp, size))
+                  .whenComplete((file, t) -> upload.end(file == null ? null : file.fileId)),
+              sent);
+        });
+  }
+
+  // Remembers the size of a newly uploaded file, so that the processing time of requests on it can
+  // be predicted from its size
+  private static File uploaded(DocAIClient client, SubmitFileResponse resp, long size) {
+    if (size >= 0) {
+      client.getLatencyModel().recordFileSize(resp.fileId, size);
+    }
     return new File(client, resp);
   }
 
+  // The size of a file, or -1 if it cannot be read, in which case the upload fails
+  private static long sizeOf(Path p) {
+    try {
+      return Files.size(p);
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  private static String first(String[] contentType) {
+    return contentType.length > 0 ? contentType[0] : null;
+  }
+
+  private static long utf8Length(String s) {
+    return s.getBytes(StandardCharsets.UTF_8).length;
+  }
+
   public File(DocAIClient client, String fileId) {
     this.client = client;
     this.fileId = fileId;
@@ -67,9 +375,78 @@ public class File {
   }
 
   public void delete() throws DocAIClientException, DocAIApiException {
+    UploadCache.forget(client, fileId);
     client.authorizedDelete("api/v2/files/" + fileId, 204);
   }
 
+  public CompletableFuture<Void> deleteAsync() {
+    UploadCache.forget(client, fileId);
+    return Futures.map(client.authorizedDeleteAsync("api/v2/files/" + fileId, 204), body -> null);
+  }
+
+  /**
+   * Queues the file for deletion on the client's {@link DocAIClient#getDeletionQueue() deletion
+   * queue}, and returns without waiting for it. {@link DocAIClient#close()} waits for the queued
+   * files to be deleted.
+   */
+  public void deleteInBackground() {
+    client.getDeletionQueue().add(fileId);
+  }
+
+  /**
+   * Deletes many files concurrently with the {@link BulkDeletePolicy#DEFAULT} policy
+   *
+   * @param client The client to delete the files with
+   * @param fileIds The IDs of the files
+   * @return The files that could not be deleted, by file ID, with the cause of each failure
+   * @throws InterruptedException Thread interrupted while waiting. Deletions continue in the
+   *     background.
+   */
+  public static Map<String, Throwable> deleteFiles(
+      DocAIClient client, Collection<String> fileIds) throws InterruptedException {
+    return deleteFiles(client, fileIds, BulkDeletePolicy.DEFAULT);
+  }
+
+  /**
+   * Deletes many files concurrently, and waits for all of them
+   *
+   * <p>A failed deletion does not stop the others. Files that no longer exist count as deleted.
+   *
+   * @param client The client to delete the files with
+   * @param fileIds The IDs of the files
+   * @param policy How many files to delete at once, and how to retry transient failures
+   * @return The files that could not be deleted, by file ID, with the cause of each failure
+   * @throws InterruptedException Thread interrupted while waiting. Deletions continue in the
+   *     background.
+   */
+  public static Map<String, Throwable> deleteFiles(
+      DocAIClient client, Collection<String> fileIds, BulkDeletePolicy policy)
+      throws InterruptedException {
+    DeletionQueue queue = new DeletionQueue(client, policy);
+    for (String fileId : fileIds) {
+      queue.add(fileId);
+    }
+    return queue.drain();
+  }
+
+  /**
+   * Asynchronous version of {@link #deleteFiles(DocAIClient, Collection, BulkDeletePolicy)}
+   *
+   * @param client The client to delete the files with
+   * @param fileIds The IDs of the files
+   * @param policy How many files to delete at once, and how to retry transient failures
+   * @return A future that completes with the files that could not be deleted, once every deletion
+   *     has finished
+   */
+  public static CompletableFuture<Map<String, Throwable>> deleteFilesAsync(
+      DocAIClient client, Collection<String> fileIds, BulkDeletePolicy policy) {
+    DeletionQueue queue = new DeletionQueue(client, policy);
+    for (String fileId : fileIds) {
+      queue.add(fileId);
+    }
+    return queue.drainAsync();
+  }
+
   // Returns an array of the file IDs of the given files
   public static String[] toFileIdArray(File[] files) {
     String[] fileIds = new String[files.length];
@@ -0,0 +1,101 @@
+package ai.zuva.docai.files;
+
+import ai.zuva.docai.DocAIClient;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A document to upload with {@link File#submitFiles}, from any of the sources that {@link
+ * File#submitFile} accepts
+ */
+public class FileSource {
+  /** A description of the source, such as the file name, used in error messages */
+  public final String name;
+
+  /** The size of the document in bytes, or -1 if it is not known before it is uploaded */
+  public final long size;
+
+  private final Function<DocAIClient, CompletableFuture<File>> upload;
+
+  private FileSource(
+      String name, long size, Function<DocAIClient, CompletableFuture<File>> upload) {
+    this.name = name;
+    this.size = size;
+    this.upload = upload;
+  }
+
+  CompletableFuture<File> submit(DocAIClient client) {
+    return upload.apply(client);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /** A file on disk, read when it is uploaded */
+  public static FileSource of(java.io.File f, String... contentType) {
+    return new FileSource(
+        f.getPath(), f.length(), client -> File.submitFileAsync(client, f, contentType));
+  }
+
+  /** A file on disk, read when it is uploaded */
+  public static FileSource of(Path p, String... contentType) {
+    long size;
+    try {
+      size = Files.size(p);
+    } catch (IOException e) {
+      // The upload reports the error
+      size = -1;
+    }
+    return new FileSource(
+        p.toString(), size, client -> File.submitFileAsync(client, p, contentType));
+  }
+
+  /** A document held in memory */
+  public static FileSource of(byte[] ba, String... contentType) {
+    return new FileSource(
+        "byte[" + ba.length + "]",
+        ba.length,
+        client -> File.submitFileAsync(client, ba, contentType));
+  }
+
+  /** A text document, uploaded as UTF-8 */
+  public static FileSource of(String s, String... contentType) {
+    return new FileSource(
+        "String",
+        s.getBytes(StandardCharsets.UTF_8).length,
+        client -> File.submitFileAsync(client, s, contentType));
+  }
+
+  /**
+   * A document read from a stream
+   *
+   * @param name A description of the stream, used in error messages
+   * @param in The stream, which is read once when it is uploaded and is not closed
+   * @param contentLength The number of bytes in the stream, or -1 if it is not known
+   * @param contentType The MIME content type of the document
+   * @return The source
+   */
+  public static FileSource of(
+      String name, InputStream in, long contentLength, String... contentType) {
+    return new FileSource(
+        name,
+        contentLength,
+        client -> File.submitFileAsync(client, in, contentLength, contentType));
+  }
+
+  /** The remaining bytes of a buffer, which is not modified */
+  public static FileSource of(ByteBuffer buffer, String... contentType) {
+    return new FileSource(
+        buffer.toString(),
+        buffer.remaining(),
+        client -> File.submitFileAsync(client, buffer, contentType));
+  }
+}
@@ -0,0 +1,586 @@
+package ai.zuva.docai.files;
+
+import ai.zuva.docai.DocAIClient;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the files uploaded through a client by the SHA-256 hash of their content, so that a
+ * byte-identical document is not uploaded again while the first upload has not expired
+ *
+ * <p>The cache is enabled with {@link DocAIClient.Builder#uploadCache(UploadCache)}. Documents
+ * given as a byte array, String, ByteBuffer or file are hashed before they are uploaded, and a
+ * document that was uploaded before with the same content type is returned as the earlier {@link
+ * File} without contacting the server. Documents given as an InputStream can only be read once, so
+ * they are always uploaded; they are hashed as they are sent, so that later copies of them are
+ * found. Concurrent asynchronous uploads of the same document share a single upload.
+ *
+ * <p>Entries are scoped to the server and token of the client that uploaded them, so a cache
+ * shared by clients for several tenants never hands one tenant's file to another. The token itself
+ * is not stored, only its SHA-256 hash.
+ *
+ * <p>An entry is only used while the file has at least {@code minRemainingLifetime} left before
+ * its expiration, so that the requests created on it can finish. Files deleted with {@link
+ * File#delete()} are removed from the cache. A cache opened on a file appends every entry to it
+ * as a line of JSON, so that it survives restarts, and rewrites the file without the stale lines
+ * once they outnumber the live entries.
+ */
+public class UploadCache {
+  /** The default time a cached file must have left before it expires to be reused */
+  public static final Duration DEFAULT_MIN_REMAINING_LIFETIME = Duration.ofHours(1);
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int BUFFER_SIZE = 64 * 1024;
+  // The file is not compacted until it has at least this many lines
+  private static final int MIN_COMPACTION_LINES = 1000;
+  // Hashes the files given to the asynchronous uploads, which must not read a whole document on the
+  // calling thread: that may be one of the transport's callback threads.
+  private static final ExecutorService HASHING = newHashingPool();
+
+  /** The time a cached file must have left before it expires to be reused */
+  public final Duration minRemainingLifetime;
+
+  private final Path file;
+  // Guarded by this; held only briefly and never during I/O
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private final ConcurrentMap<String, Pending> pending = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  // Serializes writes to the file. A lock rather than a monitor, so that a virtual thread writing
+  // an entry does not pin its carrier.
+  private final ReentrantLock fileLock = new ReentrantLock();
+  // Guarded by fileLock
+  private int lines;
+
+  /** Creates an empty cache that is kept in memory only */
+  public UploadCache() {
+    this.minRemainingLifetime = DEFAULT_MIN_REMAINING_LIFETIME;
+    this.file = null;
+  }
+
+  /**
+   * Opens a cache that is persisted to a file, with the default minimum remaining lifetime
+   *
+   * @param file The file that holds the cache. It is created if it does not exist.
+   * @throws IOException The file could not be read or rewritten
+   */
+  public UploadCache(Path file) throws IOException {
+    this(file, DEFAULT_MIN_REMAINING_LIFETIME);
+  }
+
+  /**
+   * Opens a cache that is persisted to a file
+   *
+   * <p>Expired entries, and lines left incomplete by a crash, are dropped, and the file is
+   * rewritten with the remaining entries.
+   *
+   * @param file The file that holds the cache, or null to keep the cache in memory only. It is
+   *     created if it does not exist.
+   * @param minRemainingLifetime The time a cached file must have left before it expires to be
+   *     reused
+   * @throws IOException The file could not be read or rewritten
+   */
+  public UploadCache(Path file, Duration minRemainingLifetime) throws IOException {
+    if (minRemainingLifetime.isNegative()) {
+      throw new IllegalArgumentException("minRemainingLifetime must not be negative");
+    }
+    this.minRemainingLifetime = minRemainingLifetime;
+    this.file = file;
+    if (file != null) {
+      load();
+      fileLock.lock();
+      try {
+        compact();
+      } finally {
+        fileLock.unlock();
+      }
+    }
+  }
+
+  /** @return The number of uploads that were avoided because the document was in the cache */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /** @return The number of files in the cache, including any that have expired since */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Removes a file from the cache, for example one that was deleted by another client
+   *
+   * @param fileId The ID of the file
+   */
+  public void invalidate(String fileId) {
+    boolean removed = false;
+    synchronized (this) {
+      for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+        if (it.next().fileId.equals(fileId)) {
+          it.remove();
+          removed = true;
+        }
+      }
+    }
+    if (removed) {
+      Entry tombstone = new Entry();
+      tombstone.fileId = fileId;
+      tombstone.deleted = true;
+      append(tombstone);
+    }
+  }
+
+  // The cache key of a document, or null if the client does not cache uploads
+  static String keyOf(DocAIClient client, byte[] ba, String[] contentType) {
+    if (client.getUploadCache() == null) {
+      return null;
+    }
+    MessageDigest digest = sha256();
+    digest.update(ba);
+    return key(client, digest, contentType);
+  }
+
+  static String keyOf(DocAIClient client, String s, String[] contentType) {
+    return client.getUploadCache() == null
+        ? null
+        : keyOf(client, s.getBytes(StandardCharsets.UTF_8), contentType);
+  }
+
+  static String keyOf(DocAIClient client, ByteBuffer buffer, String[] contentType) {
+    if (client.getUploadCache() == null) {
+      return null;
+    }
+    MessageDigest digest = sha256();
+    digest.update(buffer.duplicate());
+    return key(client, digest, contentType);
+  }
+
+  // Reads the file once to hash it, which is much cheaper than uploading it. If it cannot be read
+  // it is not cached, and the upload reports the error.
+  static String keyOf(DocAIClient client, Path p, String[] contentType) {
+    if (client.getUploadCache() == null) {
+      return null;
+    }
+    MessageDigest digest = sha256();
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    try (FileChannel in = FileChannel.open(p, StandardOpenOption.READ)) {
+      while (in.read(buffer) != -1) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    } catch (IOException | SecurityException e) {
+      return null;
+    }
+    return key(client, digest, contentType);
+  }
+
+  // Asynchronous version of keyOf for a file, which reads the file on the hashing pool
+  static CompletableFuture<String> keyOfAsync(DocAIClient client, Path p, String[] contentType) {
+    if (client.getUploadCache() == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.supplyAsync(() -> keyOf(client, p, contentType), HASHING);
+  }
+
+  // Wraps a stream that is about to be uploaded, so that it is hashed as it is read
+  static InputStream hashing(DocAIClient client, InputStream in) {
+    return client.getUploadCache() == null ? in : new HashingInputStream(in);
+  }
+
+  // The cache key of a stream wrapped by hashing, once it has been uploaded
+  static String keyOf(DocAIClient client, InputStream hashed, String[] contentType) {
+    return hashed instanceof HashingInputStream
+        ? key(client, ((HashingInputStream) hashed).getMessageDigest(), contentType)
+        : null;
+  }
+
+  // The cached file for a key, or null if it is not cached or is about to expire
+  static File lookup(DocAIClient client, String key) {
+    UploadCache cache = client.getUploadCache();
+    return key == null || cache == null ? null : cache.get(client, key);
+  }
+
+  // Adds a newly uploaded file to the cache
+  static File remember(DocAIClient client, String key, long size, File uploaded) {
+    UploadCache cache = client.getUploadCache();
+    if (key != null && cache != null) {
+      cache.put(key, size, uploaded);
+    }
+    return uploaded;
+  }
+
+  static void forget(DocAIClient client, String fileId) {
+    UploadCache cache = client.getUploadCache();
+    if (cache != null) {
+      cache.invalidate(fileId);
+    }
+  }
+
+  // Returns the cached file, or joins an upload of the same document that is in flight, or starts
+  // a new upload. Every caller, including the one that started the upload, gets its own copy of
+  // the result, so that one caller cancelling does not fail the others; the upload itself is
+  // cancelled once every caller has cancelled.
+  static CompletableFuture<File> dedupe(
+      DocAIClient client, String key, long size, Supplier<CompletableFuture<File>> upload) {
+    UploadCache cache = client.getUploadCache();
+    if (key == null || cache == null) {
+      return upload.get();
+    }
+    while (true) {
+      File cached = cache.get(client, key);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached);
+      }
+      Pending created = new Pending();
+      Pending inFlight = cache.pending.putIfAbsent(key, created);
+      if (inFlight != null) {
+        CompletableFuture<File> joined = inFlight.join();
+        if (joined != null) {
+          cache.hits.incrementAndGet();
+          return joined;
+        }
+        // Every caller of that upload has cancelled it, so start another
+        cache.pending.remove(key, inFlight);
+        continue;
+      }
+      CompletableFuture<File> copy = created.join();
+      CompletableFuture<File> started;
+      try {
+        started = upload.get();
+      } catch (RuntimeException e) {
+        started = new CompletableFuture<>();
+        started.completeExceptionally(e);
+      }
+      created.start(started);
+      started.whenComplete(
+          (f, t) -> {
+            if (f != null) {
+              cache.put(key, size, f);
+            }
+            cache.pending.remove(key, created);
+            if (t == null) {
+              created.shared.complete(f);
+            } else {
+              created.shared.completeExceptionally(t);
+            }
+          });
+      return copy;
+    }
+  }
+
+  private File get(DocAIClient client, String key) {
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (!isFresh(entry)) {
+        entries.remove(key);
+        return null;
+      }
+    }
+    hits.incrementAndGet();
+    if (entry.size >= 0) {
+      client.getLatencyModel().recordFileSize(entry.fileId, entry.size);
+    }
+    File cached = new File(client, entry.fileId);
+    cached.attributes = entry.attributes;
+    cached.permissions = entry.permissions == null ? null : entry.permissions.clone();
+    cached.expiration = entry.expiration;
+    return cached;
+  }
+
+  // Files without a readable expiration are not cached, since they cannot be known to still exist
+  private void put(String key, long size, File uploaded) {
+    Entry entry = new Entry();
+    String[] parts = key.split(" ", 4);
+    entry.baseUrl = parts[0];
+    entry.tokenSha256 = parts[1];
+    entry.sha256 = parts[2];
+    entry.contentType = parts[3].isEmpty() ? null : parts[3];
+    entry.fileId = uploaded.fileId;
+    entry.size = size;
+    entry.expiration = uploaded.expiration;
+    entry.attributes = uploaded.attributes;
+    entry.permissions = uploaded.permissions;
+    if (entry.fileId == null || !isFresh(entry)) {
+      return;
+    }
+    synchronized (this) {
+      entries.put(key, entry);
+    }
+    append(entry);
+  }
+
+  private boolean isFresh(Entry entry) {
+    if (entry.expiration == null) {
+      return false;
+    }
+    try {
+      return Instant.now()
+          .plus(minRemainingLifetime)
+          .isBefore(Instant.parse(entry.expiration));
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  private void load() throws IOException {
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        lines++;
+        Entry entry;
+        try {
+          entry = MAPPER.readValue(line, Entry.class);
+        } catch (IOException e) {
+          // Left incomplete by a crash while it was written
+          continue;
+        }
+        if (entry.fileId == null) {
+          continue;
+        }
+        if (Boolean.TRUE.equals(entry.deleted)) {
+          entries.values().removeIf(e -> e.fileId.equals(entry.fileId));
+        } else if (entry.sha256 != null
+            && entry.baseUrl != null
+            && entry.tokenSha256 != null
+            && isFresh(entry)) {
+          // Entries without a scope cannot be known to belong to any client, so they are dropped
+          entries.put(
+              key(entry.baseUrl + " " + entry.tokenSha256, entry.sha256, entry.contentType),
+              entry);
+        }
+      }
+    } catch (NoSuchFileException e) {
+      // A new cache
+    }
+  }
+
+  // Rewrites the file with the live entries, replacing it atomically so a crash loses nothing.
+  // Must be called with fileLock held.
+  private void compact() throws IOException {
+    Path absolute = file.toAbsolutePath();
+    Path tmp =
+        Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      List<Entry> live;
+      synchronized (this) {
+        live = new ArrayList<>(entries.values());
+      }
+      try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+        for (Entry entry : live) {
+          out.write(MAPPER.writeValueAsString(entry));
+          out.write('\n');
+        }
+      }
+      lines = live.size();
+      try {
+        Files.move(
+            tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  // The cache is an optimization, so an entry that cannot be written is only kept in memory
+  // rather than failing the upload that produced it. Once most lines of the file are stale
+  // (replaced, expired or deleted entries), it is compacted.
+  private void append(Entry entry) {
+    if (file == null) {
+      return;
+    }
+    fileLock.lock();
+    try {
+      try (Writer out =
+          Files.newBufferedWriter(
+              file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        out.write(MAPPER.writeValueAsString(entry));
+        out.write('\n');
+      }
+      lines++;
+      if (lines >= MIN_COMPACTION_LINES && lines > 2 * size()) {
+        compact();
+      }
+    } catch (IOException e) {
+      // Kept in memory only
+    } finally {
+      fileLock.unlock();
+    }
+  }
+
+  private static String key(DocAIClient client, MessageDigest digest, String[] contentType) {
+    byte[] hash = digest.digest();
+    StringBuilder hex = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return key(
+        client.getCredentialScope(),
+        hex.toString(),
+        contentType.length > 0 ? contentType[0] : null);
+  }
+
+  // The scope is a URL and a hash, and neither they nor the document hash contain spaces, so the
+  // content type is everything after the third space
+  private static String key(String scope, String sha256, String contentType) {
+    return scope + " " + sha256 + " " + (contentType == null ? "" : contentType);
+  }
+
+  private static ExecutorService newHashingPool() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+              Thread thread = new Thread(r, "docai-upload-hash");
+              thread.setDaemon(true);
+              return thread;
+            });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // An upload in flight, shared by every caller that asked for the same document meanwhile
+  private static class Pending {
+    final CompletableFuture<File> shared = new CompletableFuture<>();
+    // Guarded by this. The number of callers that have not cancelled, or -1 once all have.
+    private int callers;
+    private CompletableFuture<File> upload;
+
+    // A copy of the result for a new caller, or null if the upload has been cancelled
+    CompletableFuture<File> join() {
+      synchronized (this) {
+        if (callers < 0) {
+          return null;
+        }
+        callers++;
+      }
+      CompletableFuture<File> copy = shared.thenApply(f -> f);
+      copy.whenComplete(
+          (f, t) -> {
+            if (t instanceof CancellationException) {
+              leave();
+            }
+          });
+      return copy;
+    }
+
+    void start(CompletableFuture<File> upload) {
+      boolean cancelled;
+      synchronized (this) {
+        this.upload = upload;
+        cancelled = callers < 0;
+      }
+      if (cancelled) {
+        upload.cancel(false);
+      }
+    }
+
+    private void leave() {
+      CompletableFuture<File> cancel;
+      synchronized (this) {
+        if (--callers > 0) {
+          return;
+        }
+        callers = -1;
+        cancel = upload;
+      }
+      if (cancel != null) {
+        cancel.cancel(false);
+      }
+    }
+  }
+
+  private static class HashingInputStream extends DigestInputStream {
+    HashingInputStream(InputStream in) {
+      super(in, sha256());
+    }
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  static class Entry {
+    @JsonProperty("base_url")
+    public String baseUrl;
+
+    @JsonProperty("token_sha256")
+    public String tokenSha256;
+
+    @JsonProperty("sha256")
+    public String sha256;
+
+    @JsonProperty("content_type")
+    public String contentType;
+
+    @JsonProperty("file_id")
+    public String fileId;
+
+    @JsonProperty("size")
+    public long size = -1;
+
+    @JsonProperty("expiration")
+    public String expiration;
+
+    @JsonProperty("attributes")
+    public FileAttributes attributes;
+
+    @JsonProperty("permissions")
+    public String[] permissions;
+
+    @JsonProperty("deleted")
+    public Boolean deleted;
+  }
+}
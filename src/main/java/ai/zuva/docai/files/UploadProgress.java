@@ -0,0 +1,70 @@
+package ai.zuva.docai.files;
+
+import java.time.Duration;
+
+/** The progress of a batch of uploads started by {@link File#submitFiles} */
+public class UploadProgress {
+  public final int totalFiles;
+
+  /** The number of documents that have been uploaded */
+  public final int uploadedFiles;
+
+  /** The number of documents whose upload failed */
+  public final int failedFiles;
+
+  /** The number of uploads in flight */
+  public final int inFlightFiles;
+
+  /** The total size of the documents that have been uploaded, counting only known sizes */
+  public final long uploadedBytes;
+
+  /** The time since the first upload was started */
+  public final Duration elapsed;
+
+  UploadProgress(
+      int totalFiles,
+      int uploadedFiles,
+      int failedFiles,
+      int inFlightFiles,
+      long uploadedBytes,
+      Duration elapsed) {
+    this.totalFiles = totalFiles;
+    this.uploadedFiles = uploadedFiles;
+    this.failedFiles = failedFiles;
+    this.inFlightFiles = inFlightFiles;
+    this.uploadedBytes = uploadedBytes;
+    this.elapsed = elapsed;
+  }
+
+  /** @return True if every document has been uploaded or has failed */
+  public boolean isDone() {
+    return uploadedFiles + failedFiles == totalFiles;
+  }
+
+  /** @return The average number of documents uploaded per second */
+  public double filesPerSecond() {
+    return perSecond(uploadedFiles);
+  }
+
+  /** @return The average number of megabytes (10^6 bytes) uploaded per second */
+  public double megabytesPerSecond() {
+    return perSecond(uploadedBytes / 1e6);
+  }
+
+  private double perSecond(double amount) {
+    long nanos = elapsed.toNanos();
+    return nanos == 0 ? 0 : amount * 1e9 / nanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d/%d files uploaded, %d failed, %d in flight, %.1f files/s, %.2f MB/s",
+        uploadedFiles,
+        totalFiles,
+        failedFiles,
+        inFlightFiles,
+        filesPerSecond(),
+        megabytesPerSecond());
+  }
+}
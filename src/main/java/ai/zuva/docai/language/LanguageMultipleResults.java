@@ -2,9 +2,27 @@ package ai.zuva.docai.language;
 
 import ai.zuva.docai.MultipleRequestStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class LanguageMultipleResults extends MultipleRequestStatus {
   @JsonProperty("statuses")
   public Map<String, LanguageResult> statuses;
+
+  @Override
+  public Map<String, LanguageResult> statusesById() {
+    return statuses;
+  }
+
+  @Override
+  public void merge(MultipleRequestStatus other) {
+    super.merge(other);
+    Map<String, LanguageResult> more = ((LanguageMultipleResults) other).statuses;
+    if (more != null) {
+      if (statuses == null) {
+        statuses = new LinkedHashMap<>();
+      }
+      statuses.putAll(more);
+    }
+  }
 }
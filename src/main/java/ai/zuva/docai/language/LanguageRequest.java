@@ -2,12 +2,16 @@ package ai.zuva.docai.language;
 
 import ai.zuva.docai.BaseRequest;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class LanguageRequest extends BaseRequest {
   public final String fileId;
@@ -66,6 +70,37 @@ public class LanguageRequest extends BaseRequest {
     LanguageResults resp =
         client.authorizedJsonRequest(
             "POST", "api/v2/language", new LanguageRequestBody(files), 202, LanguageResults.class);
+    return toRequests(client, resp);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, File)}
+   *
+   * @param client The client to use to make the request
+   * @param file The file to classify
+   * @return A future that completes with a LanguageRequest object
+   */
+  public static CompletableFuture<LanguageRequest> createRequestAsync(
+      DocAIClient client, File file) {
+    return Futures.map(createRequestsAsync(client, new File[] {file}), r -> r[0]);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequests(DocAIClient, File[])}
+   *
+   * @param client The client to use to make the request
+   * @param files The files to classify
+   * @return A future that completes with an array of LanguageRequest objects
+   */
+  public static CompletableFuture<LanguageRequest[]> createRequestsAsync(
+      DocAIClient client, File[] files) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST", "api/v2/language", new LanguageRequestBody(files), 202, LanguageResults.class),
+        resp -> toRequests(client, resp));
+  }
+
+  private static LanguageRequest[] toRequests(DocAIClient client, LanguageResults resp) {
     LanguageRequest[] languageRequests = new LanguageRequest[resp.results.length];
     for (int i = 0; i < languageRequests.length; i++) {
       languageRequests[i] =
@@ -94,6 +129,16 @@ public class LanguageRequest extends BaseRequest {
     this.fileId = fileId;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.LANGUAGE;
+  }
+
+  @Override
+  protected String getFileId() {
+    return fileId;
+  }
+
   /**
    * Gets language status and results
    *
@@ -109,6 +154,15 @@ public class LanguageRequest extends BaseRequest {
     return client.authorizedGet("api/v2/language/" + requestId, 200, LanguageResult.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the status and results of the request
+   */
+  public CompletableFuture<LanguageResult> getStatusAsync() {
+    return client.authorizedGetAsync("api/v2/language/" + requestId, 200, LanguageResult.class);
+  }
+
   /**
    * Gets multiple language statuses and results
    *
@@ -142,10 +196,29 @@ public class LanguageRequest extends BaseRequest {
   public static LanguageMultipleResults getStatuses(
       DocAIClient client, List<String> languageRequestIds)
       throws DocAIClientException, DocAIApiException {
-    return client.authorizedGet(
+    return client.authorizedGetStatuses(
+        "api/v2/languages", "request_id", languageRequestIds, 200, LanguageMultipleResults.class);
+  }
+
+  /**
+   * Asynchronous version of {@link #getStatuses(DocAIClient, List)}
+   *
+   * @param client The client to use to make the request
+   * @param languageRequestIds list of language Request IDs
+   * @return A future that completes with the statuses and results of all requests
+   */
+  public static CompletableFuture<LanguageMultipleResults> getStatusesAsync(
+      DocAIClient client, List<String> languageRequestIds) {
+    return client.authorizedGetStatusesAsync(
         "api/v2/languages", "request_id", languageRequestIds, 200, LanguageMultipleResults.class);
   }
 
+  @Override
+  protected CompletableFuture<LanguageMultipleResults> getBatchStatusesAsync(
+      List<String> requestIds) {
+    return getStatusesAsync(client, requestIds);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -188,4 +261,38 @@ public class LanguageRequest extends BaseRequest {
       throws DocAIClientException, DocAIApiException, InterruptedException {
     return (LanguageResult) super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return A LanguageResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public LanguageResult pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (LanguageResult) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return A LanguageResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public LanguageResult pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (LanguageResult) super.pollStatus(policy, showProgress);
+  }
 }
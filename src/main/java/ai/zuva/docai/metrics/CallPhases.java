@@ -0,0 +1,57 @@
+package ai.zuva.docai.metrics;
+
+/**
+ * How long each phase of one HTTP call took, as observed by the transport
+ *
+ * <p>Durations are in nanoseconds, and are -1 for phases that did not happen in the call: a call
+ * that reuses a pooled connection has no DNS, connect or TLS phase, and an HTTP (not HTTPS) call
+ * has no TLS phase. The phases are reported by {@link ai.zuva.docai.OkHttpTransport}; transports
+ * that cannot observe them report none.
+ */
+public class CallPhases {
+  /** The time spent waiting for the dispatcher to run the call, and to find a pooled connection */
+  public final long queueNanos;
+
+  public final long dnsNanos;
+
+  /** The time to open a connection, including the TLS handshake */
+  public final long connectNanos;
+
+  public final long tlsNanos;
+
+  /** The time to write the request headers and body */
+  public final long requestNanos;
+
+  /** The time from the end of the request until the response headers started to arrive */
+  public final long timeToFirstByteNanos;
+
+  /** The time to read the response headers and body */
+  public final long responseNanos;
+
+  /** True if the call was sent on a connection that an earlier call had opened */
+  public final boolean connectionReused;
+
+  /** The protocol of the connection, such as "h2" or "http/1.1", or null if none was acquired */
+  public final String protocol;
+
+  public CallPhases(
+      long queueNanos,
+      long dnsNanos,
+      long connectNanos,
+      long tlsNanos,
+      long requestNanos,
+      long timeToFirstByteNanos,
+      long responseNanos,
+      boolean connectionReused,
+      String protocol) {
+    this.queueNanos = queueNanos;
+    this.dnsNanos = dnsNanos;
+    this.connectNanos = connectNanos;
+    this.tlsNanos = tlsNanos;
+    this.requestNanos = requestNanos;
+    this.timeToFirstByteNanos = timeToFirstByteNanos;
+    this.responseNanos = responseNanos;
+    this.connectionReused = connectionReused;
+    this.protocol = protocol;
+  }
+}
@@ -0,0 +1,74 @@
+package ai.zuva.docai.metrics;
+
+import java.util.Map;
+
+/** The metrics recorded by a {@link MetricsRecorder} for one method and endpoint template */
+public class EndpointMetrics {
+  public final String method;
+
+  /** The endpoint template, e.g. {@code api/v2/ocr/{id}/text} */
+  public final String endpoint;
+
+  /** The number of calls that received a response, whatever its status code */
+  public final long responses;
+
+  /** The number of calls that failed without a response */
+  public final long failures;
+
+  /** The number of times a failed request was retried */
+  public final long retries;
+
+  /** The number of calls that had started but not finished when the snapshot was taken */
+  public final long inFlight;
+
+  public final long bytesSent;
+  public final long bytesReceived;
+
+  /** The number of responses with each status code, with any code outside 100-599 counted as 0 */
+  public final Map<Integer, Long> statusCodes;
+
+  /** The durations of all finished calls, with or without a response */
+  public final LatencyHistogram.Snapshot latency;
+
+  /** The number of calls that were sent on a pooled connection, if the transport reports phases */
+  public final long connectionsReused;
+
+  /** The number of calls that opened a new connection, if the transport reports phases */
+  public final long connectionsOpened;
+
+  /**
+   * The durations of each phase of the calls that received a response, keyed by the names in
+   * {@link MetricsRecorder#PHASES}; empty if the transport does not report phases. Phases that did
+   * not happen in a call, such as the DNS lookup on a pooled connection, are not recorded.
+   */
+  public final Map<String, LatencyHistogram.Snapshot> phases;
+
+  EndpointMetrics(
+      String method,
+      String endpoint,
+      long responses,
+      long failures,
+      long retries,
+      long inFlight,
+      long bytesSent,
+      long bytesReceived,
+      Map<Integer, Long> statusCodes,
+      LatencyHistogram.Snapshot latency,
+      long connectionsReused,
+      long connectionsOpened,
+      Map<String, LatencyHistogram.Snapshot> phases) {
+    this.method = method;
+    this.endpoint = endpoint;
+    this.responses = responses;
+    this.failures = failures;
+    this.retries = retries;
+    this.inFlight = inFlight;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.statusCodes = statusCodes;
+    this.latency = latency;
+    this.connectionsReused = connectionsReused;
+    this.connectionsOpened = connectionsOpened;
+    this.phases = phases;
+  }
+}
@@ -0,0 +1,120 @@
+package ai.zuva.docai.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of durations in nanoseconds, with buckets of bounded relative width
+ *
+ * <p>Like an HDR histogram, values are bucketed by their highest bits: values below 128 have a
+ * bucket each, and larger values share a bucket with the values that agree in their top 7 bits, so
+ * every recorded value is known to within 1/64 (about 1.6%) of itself. Values above about 36
+ * minutes are counted in the last bucket. Recording a value is a few arithmetic operations and
+ * atomic increments, without locks or allocation, and the memory used is fixed (under 20KB).
+ */
+public class LatencyHistogram {
+  // Values below 2^PRECISION_BITS are counted exactly
+  private static final int PRECISION_BITS = 7;
+  private static final int HALF = 1 << (PRECISION_BITS - 1);
+  private static final int MAX_EXPONENT = 40;
+  private static final long MAX_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+  private static final int BUCKETS = index(MAX_TRACKABLE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  static int index(long value) {
+    if (value < 2 * HALF) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - PRECISION_BITS + 1;
+    return (shift + 1) * HALF + (int) (value >>> shift) - HALF;
+  }
+
+  // The largest value counted in the bucket
+  static long highestValueAt(int index) {
+    if (index < 2 * HALF) {
+      return index;
+    }
+    int shift = index / HALF - 1;
+    long mantissa = index % HALF + HALF;
+    return ((mantissa + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a value
+   *
+   * @param nanos The duration in nanoseconds. Negative values are recorded as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(index(Math.min(value, MAX_TRACKABLE)));
+    count.increment();
+    sum.add(value);
+    min.accumulateAndGet(value, Math::min);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Takes a snapshot of the values recorded so far. Values recorded while the snapshot is taken may
+   * or may not be included.
+   *
+   * @return The snapshot
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    if (total == 0) {
+      return new Snapshot(copy, 0, 0, 0, 0);
+    }
+    return new Snapshot(copy, total, min.get(), max.get(), sum.sum());
+  }
+
+  /** The values of a histogram at one point in time, in nanoseconds */
+  public static class Snapshot {
+    public final long count;
+    public final long min;
+    public final long max;
+    public final double mean;
+    private final long[] counts;
+
+    private Snapshot(long[] counts, long count, long min, long max, long sum) {
+      this.counts = counts;
+      this.count = count;
+      this.min = min;
+      this.max = max;
+      this.mean = count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The highest value in the bucket that holds the percentile, at most the largest
+     *     recorded value, or 0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      double p = Math.min(Math.max(percentile, 0), 100);
+      long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.max(min, Math.min(highestValueAt(i), max));
+        }
+      }
+      return max;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package ai.zuva.docai.metrics;
+
+/**
+ * Receives the timings, sizes and outcomes of the HTTP calls made by a DocAIClient
+ *
+ * <p>Set a listener with {@code DocAIClient.Builder.metricsListener(...)}. Endpoints are reported
+ * as templates, with IDs replaced by {@code {id}} (e.g. {@code
+ * api/v2/extraction/{id}/results/text}), so that they can be used as metric labels. Every attempt
+ * is reported separately: a retried or hedged request starts more than one call.
+ *
+ * <p>Each {@link #onCallStart} is followed by exactly one {@link #onResponse} or {@link
+ * #onFailure} for the same call. Methods are called on the threads that send requests and read
+ * responses, so they must be thread-safe, return quickly and not throw. {@link MetricsRecorder} is
+ * a ready-made implementation.
+ */
+public interface MetricsListener {
+  /**
+   * Called when a call is handed to the transport
+   *
+   * @param method The HTTP method
+   * @param endpoint The endpoint template
+   */
+  default void onCallStart(String method, String endpoint) {}
+
+  /**
+   * Called when a call has received a response and its body has been read or discarded
+   *
+   * @param method The HTTP method
+   * @param endpoint The endpoint template
+   * @param statusCode The status code of the response
+   * @param durationNanos The time from the start of the call until the response was closed
+   * @param bytesSent The size of the request body that was written
+   * @param bytesReceived The number of bytes of the response body that were read
+   */
+  default void onResponse(
+      String method,
+      String endpoint,
+      int statusCode,
+      long durationNanos,
+      long bytesSent,
+      long bytesReceived) {}
+
+  /**
+   * Called when a call fails without a response, for example because of a timeout, a connection
+   * error or cancellation
+   *
+   * @param method The HTTP method
+   * @param endpoint The endpoint template
+   * @param error The cause of the failure
+   * @param durationNanos The time from the start of the call until it failed
+   * @param bytesSent The size of the request body that was written before the failure
+   */
+  default void onFailure(
+      String method, String endpoint, Throwable error, long durationNanos, long bytesSent) {}
+
+  /**
+   * Called after {@link #onResponse} with the time spent in each phase of the call, if the
+   * transport records them
+   *
+   * @param method The HTTP method
+   * @param endpoint The endpoint template
+   * @param requestId The DocAI request ID in the path of a status or results call, or null
+   * @param phases The phases of the call
+   */
+  default void onCallPhases(String method, String endpoint, String requestId, CallPhases phases) {}
+
+  /**
+   * Called when a failed request is about to be retried
+   *
+   * @param method The HTTP method
+   * @param endpoint The endpoint template
+   * @param attempt The number of the attempt that failed, starting from 1
+   * @param delayMillis The time to wait before the next attempt
+   */
+  default void onRetry(String method, String endpoint, int attempt, long delayMillis) {}
+}
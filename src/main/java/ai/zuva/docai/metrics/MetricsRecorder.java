@@ -0,0 +1,181 @@
+package ai.zuva.docai.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsListener} that keeps counters and latency histograms per method and endpoint
+ *
+ * <p>Metrics are cumulative from the creation of the recorder. Export them by calling {@link
+ * #snapshot()} periodically, and derive rates such as throughput from the differences between
+ * snapshots. One recorder can be shared by several clients to aggregate their calls.
+ */
+public class MetricsRecorder implements MetricsListener {
+  /** The names of the call phases in {@link EndpointMetrics#phases}, in the order they happen */
+  public static final List<String> PHASES =
+      Collections.unmodifiableList(
+          Arrays.asList("queue", "dns", "connect", "tls", "request", "ttfb", "response"));
+
+  private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+  private static class Stats {
+    final String method;
+    final String endpoint;
+    final LongAdder started = new LongAdder();
+    final LongAdder responses = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder bytesSent = new LongAdder();
+    final LongAdder bytesReceived = new LongAdder();
+    // Indexed by status code; codes outside 100-599 are counted at 0
+    final AtomicLongArray statusCodes = new AtomicLongArray(600);
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder connectionsReused = new LongAdder();
+    final LongAdder connectionsOpened = new LongAdder();
+    // Created with the first reported phases, since not every transport reports them
+    volatile Map<String, LatencyHistogram> phases;
+
+    Stats(String method, String endpoint) {
+      this.method = method;
+      this.endpoint = endpoint;
+    }
+
+    Map<String, LatencyHistogram> phases() {
+      Map<String, LatencyHistogram> p = phases;
+      if (p == null) {
+        synchronized (this) {
+          p = phases;
+          if (p == null) {
+            p = new LinkedHashMap<>();
+            for (String phase : PHASES) {
+              p.put(phase, new LatencyHistogram());
+            }
+            phases = p;
+          }
+        }
+      }
+      return p;
+    }
+  }
+
+  private Stats stats(String method, String endpoint) {
+    String key = method + ' ' + endpoint;
+    Stats s = stats.get(key);
+    return s != null ? s : stats.computeIfAbsent(key, k -> new Stats(method, endpoint));
+  }
+
+  @Override
+  public void onCallStart(String method, String endpoint) {
+    stats(method, endpoint).started.increment();
+  }
+
+  @Override
+  public void onResponse(
+      String method,
+      String endpoint,
+      int statusCode,
+      long durationNanos,
+      long bytesSent,
+      long bytesReceived) {
+    Stats s = stats(method, endpoint);
+    s.latency.record(durationNanos);
+    s.bytesSent.add(bytesSent);
+    s.bytesReceived.add(bytesReceived);
+    s.statusCodes.incrementAndGet(statusCode >= 100 && statusCode < 600 ? statusCode : 0);
+    s.responses.increment();
+  }
+
+  @Override
+  public void onFailure(
+      String method, String endpoint, Throwable error, long durationNanos, long bytesSent) {
+    Stats s = stats(method, endpoint);
+    s.latency.record(durationNanos);
+    s.bytesSent.add(bytesSent);
+    s.failures.increment();
+  }
+
+  @Override
+  public void onCallPhases(String method, String endpoint, String requestId, CallPhases phases) {
+    Stats s = stats(method, endpoint);
+    Map<String, LatencyHistogram> histograms = s.phases();
+    recordPhase(histograms.get("queue"), phases.queueNanos);
+    recordPhase(histograms.get("dns"), phases.dnsNanos);
+    recordPhase(histograms.get("connect"), phases.connectNanos);
+    recordPhase(histograms.get("tls"), phases.tlsNanos);
+    recordPhase(histograms.get("request"), phases.requestNanos);
+    recordPhase(histograms.get("ttfb"), phases.timeToFirstByteNanos);
+    recordPhase(histograms.get("response"), phases.responseNanos);
+    if (phases.connectionReused) {
+      s.connectionsReused.increment();
+    } else if (phases.connectNanos >= 0) {
+      s.connectionsOpened.increment();
+    }
+  }
+
+  private static void recordPhase(LatencyHistogram histogram, long nanos) {
+    if (nanos >= 0) {
+      histogram.record(nanos);
+    }
+  }
+
+  @Override
+  public void onRetry(String method, String endpoint, int attempt, long delayMillis) {
+    stats(method, endpoint).retries.increment();
+  }
+
+  /**
+   * Takes a snapshot of the metrics recorded so far
+   *
+   * @return The metrics of each method and endpoint that has been called, ordered by endpoint and
+   *     then method
+   */
+  public List<EndpointMetrics> snapshot() {
+    List<Stats> all = new ArrayList<>(stats.values());
+    all.sort((a, b) -> (a.endpoint + ' ' + a.method).compareTo(b.endpoint + ' ' + b.method));
+    List<EndpointMetrics> snapshots = new ArrayList<>(all.size());
+    for (Stats s : all) {
+      Map<Integer, Long> statusCodes = new TreeMap<>();
+      for (int code = 0; code < s.statusCodes.length(); code++) {
+        long n = s.statusCodes.get(code);
+        if (n > 0) {
+          statusCodes.put(code, n);
+        }
+      }
+      // Read the finished counts before the started count, so that inFlight is never negative
+      long responses = s.responses.sum();
+      long failures = s.failures.sum();
+      long inFlight = Math.max(0, s.started.sum() - responses - failures);
+      Map<String, LatencyHistogram.Snapshot> phases = new LinkedHashMap<>();
+      Map<String, LatencyHistogram> histograms = s.phases;
+      if (histograms != null) {
+        for (Map.Entry<String, LatencyHistogram> e : histograms.entrySet()) {
+          phases.put(e.getKey(), e.getValue().snapshot());
+        }
+      }
+      snapshots.add(
+          new EndpointMetrics(
+              s.method,
+              s.endpoint,
+              responses,
+              failures,
+              s.retries.sum(),
+              inFlight,
+              s.bytesSent.sum(),
+              s.bytesReceived.sum(),
+              Collections.unmodifiableMap(statusCodes),
+              s.latency.snapshot(),
+              s.connectionsReused.sum(),
+              s.connectionsOpened.sum(),
+              Collections.unmodifiableMap(phases)));
+    }
+    return Collections.unmodifiableList(snapshots);
+  }
+}
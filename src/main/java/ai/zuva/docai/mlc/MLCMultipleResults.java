@@ -2,9 +2,27 @@ package ai.zuva.docai.mlc;
 
 import ai.zuva.docai.MultipleRequestStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MLCMultipleResults extends MultipleRequestStatus {
   @JsonProperty("statuses")
   public Map<String, MLCResult> statuses;
+
+  @Override
+  public Map<String, MLCResult> statusesById() {
+    return statuses;
+  }
+
+  @Override
+  public void merge(MultipleRequestStatus other) {
+    super.merge(other);
+    Map<String, MLCResult> more = ((MLCMultipleResults) other).statuses;
+    if (more != null) {
+      if (statuses == null) {
+        statuses = new LinkedHashMap<>();
+      }
+      statuses.putAll(more);
+    }
+  }
 }
@@ -2,12 +2,16 @@ package ai.zuva.docai.mlc;
 
 import ai.zuva.docai.BaseRequest;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MLCRequest extends BaseRequest {
   public final String fileId;
@@ -65,7 +69,36 @@ public class MLCRequest extends BaseRequest {
     MLCResultsBody resp =
         client.authorizedJsonRequest(
             "POST", "api/v2/mlc", new MLCRequestBody(files), 202, MLCResultsBody.class);
+    return toRequests(client, resp);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, File)}
+   *
+   * @param client The client to use to make the request
+   * @param file The file to classify
+   * @return A future that completes with a MLCRequest
+   */
+  public static CompletableFuture<MLCRequest> createRequestAsync(DocAIClient client, File file) {
+    return Futures.map(createRequestsAsync(client, new File[] {file}), r -> r[0]);
+  }
 
+  /**
+   * Asynchronous version of {@link #createRequests(DocAIClient, File[])}
+   *
+   * @param client The client to use to make the request
+   * @param files The files to classify
+   * @return A future that completes with an array of MLCRequests
+   */
+  public static CompletableFuture<MLCRequest[]> createRequestsAsync(
+      DocAIClient client, File[] files) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST", "api/v2/mlc", new MLCRequestBody(files), 202, MLCResultsBody.class),
+        resp -> toRequests(client, resp));
+  }
+
+  private static MLCRequest[] toRequests(DocAIClient client, MLCResultsBody resp) {
     MLCRequest[] mlcRequests = new MLCRequest[resp.results.length];
     for (int i = 0; i < mlcRequests.length; i++) {
       mlcRequests[i] = new MLCRequest(client, resp.results[i]);
@@ -93,6 +126,16 @@ public class MLCRequest extends BaseRequest {
     this.fileId = fileId;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.MLC;
+  }
+
+  @Override
+  protected String getFileId() {
+    return fileId;
+  }
+
   /**
    * Get mlc status and results.
    *
@@ -107,6 +150,15 @@ public class MLCRequest extends BaseRequest {
     return client.authorizedGet("api/v2/mlc/" + requestId, 200, MLCResult.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the status and results of the request
+   */
+  public CompletableFuture<MLCResult> getStatusAsync() {
+    return client.authorizedGetAsync("api/v2/mlc/" + requestId, 200, MLCResult.class);
+  }
+
   /**
    * Get multiple MLC statuses and results
    *
@@ -138,10 +190,28 @@ public class MLCRequest extends BaseRequest {
    */
   public static MLCMultipleResults getStatuses(DocAIClient client, List<String> mlcRequestIds)
       throws DocAIClientException, DocAIApiException {
-    return client.authorizedGet(
+    return client.authorizedGetStatuses(
         "api/v2/mlcs", "request_id", mlcRequestIds, 200, MLCMultipleResults.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatuses(DocAIClient, List)}
+   *
+   * @param client The client to use to make the request
+   * @param mlcRequestIds list of MLC Request IDs
+   * @return A future that completes with the statuses and results of all requests
+   */
+  public static CompletableFuture<MLCMultipleResults> getStatusesAsync(
+      DocAIClient client, List<String> mlcRequestIds) {
+    return client.authorizedGetStatusesAsync(
+        "api/v2/mlcs", "request_id", mlcRequestIds, 200, MLCMultipleResults.class);
+  }
+
+  @Override
+  protected CompletableFuture<MLCMultipleResults> getBatchStatusesAsync(List<String> requestIds) {
+    return getStatusesAsync(client, requestIds);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -184,4 +254,38 @@ public class MLCRequest extends BaseRequest {
       throws DocAIClientException, DocAIApiException, InterruptedException {
     return (MLCResult) super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return A MLCResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public MLCResult pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (MLCResult) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return A MLCResult, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public MLCResult pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (MLCResult) super.pollStatus(policy, showProgress);
+  }
 }
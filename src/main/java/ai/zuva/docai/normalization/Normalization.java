@@ -4,6 +4,7 @@ import ai.zuva.docai.DocAIClient;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.concurrent.CompletableFuture;
 
 public class Normalization {
   public String text;
@@ -40,6 +41,23 @@ public class Normalization {
     return resp;
   }
 
+  /**
+   * Asynchronous version of {@link #getCurrency(DocAIClient, String)}
+   *
+   * @param client The client to use to make the request
+   * @param text The text to normalize for currency
+   * @return A future that completes with the results of the currency normalization
+   */
+  public static CompletableFuture<CurrencyNormalizationResults> getCurrencyAsync(
+      DocAIClient client, String text) {
+    return client.authorizedJsonRequestAsync(
+        "POST",
+        "api/v2/normalization/currency",
+        new NormalizationBody(text),
+        200,
+        CurrencyNormalizationResults.class);
+  }
+
   /**
    * Sends a get request for date normalization
    *
@@ -61,6 +79,23 @@ public class Normalization {
     return resp;
   }
 
+  /**
+   * Asynchronous version of {@link #getDate(DocAIClient, String)}
+   *
+   * @param client The client to use to make the request
+   * @param text The text to normalize for date
+   * @return A future that completes with the results of the date normalization
+   */
+  public static CompletableFuture<DateNormalizationResults> getDateAsync(
+      DocAIClient client, String text) {
+    return client.authorizedJsonRequestAsync(
+        "POST",
+        "api/v2/normalization/date",
+        new NormalizationBody(text),
+        200,
+        DateNormalizationResults.class);
+  }
+
   /**
    * Sends a get request for duration normalization
    *
@@ -82,4 +117,21 @@ public class Normalization {
             DurationNormalizationResults.class);
     return resp;
   }
+
+  /**
+   * Asynchronous version of {@link #getDuration(DocAIClient, String)}
+   *
+   * @param client The client to use to make the request
+   * @param text The text to normalize for duration
+   * @return A future that completes with the results of the duration normalization
+   */
+  public static CompletableFuture<DurationNormalizationResults> getDurationAsync(
+      DocAIClient client, String text) {
+    return client.authorizedJsonRequestAsync(
+        "POST",
+        "api/v2/normalization/duration",
+        new NormalizationBody(text),
+        200,
+        DurationNormalizationResults.class);
+  }
 }
@@ -2,9 +2,27 @@ package ai.zuva.docai.ocr;
 
 import ai.zuva.docai.MultipleRequestStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class OcrMultipleStatuses extends MultipleRequestStatus {
   @JsonProperty("statuses")
   public Map<String, OcrStatus> statuses;
+
+  @Override
+  public Map<String, OcrStatus> statusesById() {
+    return statuses;
+  }
+
+  @Override
+  public void merge(MultipleRequestStatus other) {
+    super.merge(other);
+    Map<String, OcrStatus> more = ((OcrMultipleStatuses) other).statuses;
+    if (more != null) {
+      if (statuses == null) {
+        statuses = new LinkedHashMap<>();
+      }
+      statuses.putAll(more);
+    }
+  }
 }
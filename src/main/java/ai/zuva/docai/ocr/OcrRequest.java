@@ -1,14 +1,22 @@
 package ai.zuva.docai.ocr;
 
 import ai.zuva.docai.BaseRequest;
+import ai.zuva.docai.BinaryResult;
 import ai.zuva.docai.DocAIClient;
+import ai.zuva.docai.EndpointFamily;
+import ai.zuva.docai.Futures;
+import ai.zuva.docai.PollingPolicy;
 import ai.zuva.docai.exception.DocAIApiException;
 import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class OcrRequest extends BaseRequest {
   public final String fileId;
@@ -73,6 +81,36 @@ public class OcrRequest extends BaseRequest {
     OcrStatuses resp =
         client.authorizedJsonRequest(
             "POST", "api/v2/ocr", new OcrRequestBody(files), 202, OcrStatuses.class);
+    return toRequests(client, resp);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequest(DocAIClient, File)}
+   *
+   * @param client The client to use to make the request
+   * @param file The file to analyze
+   * @return A future that completes with an OcrRequest object
+   */
+  public static CompletableFuture<OcrRequest> createRequestAsync(DocAIClient client, File file) {
+    return Futures.map(createRequestsAsync(client, new File[] {file}), r -> r[0]);
+  }
+
+  /**
+   * Asynchronous version of {@link #createRequests(DocAIClient, File[])}
+   *
+   * @param client The client to use to make the request
+   * @param files The files to analyze
+   * @return A future that completes with an array of OcrRequest objects
+   */
+  public static CompletableFuture<OcrRequest[]> createRequestsAsync(
+      DocAIClient client, File[] files) {
+    return Futures.map(
+        client.authorizedJsonRequestAsync(
+            "POST", "api/v2/ocr", new OcrRequestBody(files), 202, OcrStatuses.class),
+        resp -> toRequests(client, resp));
+  }
+
+  private static OcrRequest[] toRequests(DocAIClient client, OcrStatuses resp) {
     OcrRequest[] ocrRequests = new OcrRequest[resp.statuses.length];
     for (int i = 0; i < ocrRequests.length; i++) {
       ocrRequests[i] = new OcrRequest(client, resp.statuses[i]);
@@ -90,6 +128,16 @@ public class OcrRequest extends BaseRequest {
     this.fileId = null;
   }
 
+  @Override
+  protected EndpointFamily getService() {
+    return EndpointFamily.OCR;
+  }
+
+  @Override
+  protected String getFileId() {
+    return fileId;
+  }
+
   /**
    * Gets status of an OCR request
    *
@@ -103,6 +151,15 @@ public class OcrRequest extends BaseRequest {
     return client.authorizedGet("api/v2/ocr/" + requestId, 200, OcrStatus.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatus()}
+   *
+   * @return A future that completes with the request status
+   */
+  public CompletableFuture<OcrStatus> getStatusAsync() {
+    return client.authorizedGetAsync("api/v2/ocr/" + requestId, 200, OcrStatus.class);
+  }
+
   /**
    * Get multiple ocr statuses
    *
@@ -132,10 +189,28 @@ public class OcrRequest extends BaseRequest {
    */
   public static OcrMultipleStatuses getStatuses(DocAIClient client, List<String> ocrRequestIds)
       throws DocAIClientException, DocAIApiException {
-    return client.authorizedGet(
+    return client.authorizedGetStatuses(
         "api/v2/ocrs", "request_id", ocrRequestIds, 200, OcrMultipleStatuses.class);
   }
 
+  /**
+   * Asynchronous version of {@link #getStatuses(DocAIClient, List)}
+   *
+   * @param client The client to use to make the request
+   * @param ocrRequestIds list of OCR Request IDs
+   * @return A future that completes with the statuses of all requests
+   */
+  public static CompletableFuture<OcrMultipleStatuses> getStatusesAsync(
+      DocAIClient client, List<String> ocrRequestIds) {
+    return client.authorizedGetStatusesAsync(
+        "api/v2/ocrs", "request_id", ocrRequestIds, 200, OcrMultipleStatuses.class);
+  }
+
+  @Override
+  protected CompletableFuture<OcrMultipleStatuses> getBatchStatusesAsync(List<String> requestIds) {
+    return getStatusesAsync(client, requestIds);
+  }
+
   /**
    * Blocks until the request completes or fails, or the specified timeout is reached
    *
@@ -179,6 +254,40 @@ public class OcrRequest extends BaseRequest {
     return (OcrStatus) super.pollStatus(pollingIntervalSeconds, timeoutSeconds, showProgress);
   }
 
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * <p>Polls the request status as the policy specifies, with sub-second intervals and backoff if
+   * desired, until it reaches a terminal state or the timeout, at which point it returns the result
+   * of the most recent status request.
+   *
+   * @param policy When to send status requests, and for how long
+   * @return An OcrStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public OcrStatus pollStatus(PollingPolicy policy)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (OcrStatus) super.pollStatus(policy);
+  }
+
+  /**
+   * Blocks until the request completes or fails, or the policy's timeout is reached
+   *
+   * @param policy When to send status requests, and for how long
+   * @param showProgress Flag indicating whether to print a progress indicator while waiting for
+   *     completion
+   * @return An OcrStatus, with the last reported status of the request
+   * @throws DocAIClientException Unsuccessful response code from server
+   * @throws DocAIApiException Error preparing, sending or processing the request/response
+   * @throws InterruptedException Thread interrupted while waiting between status requests
+   */
+  public OcrStatus pollStatus(PollingPolicy policy, boolean showProgress)
+      throws DocAIClientException, DocAIApiException, InterruptedException {
+    return (OcrStatus) super.pollStatus(policy, showProgress);
+  }
+
   /**
    * Gets text results of an OCR request
    *
@@ -192,6 +301,17 @@ public class OcrRequest extends BaseRequest {
     return client.authorizedGet("api/v2/ocr/" + requestId + "/text", 200, OcrText.class).text;
   }
 
+  /**
+   * Asynchronous version of {@link #getText()}
+   *
+   * @return A future that completes with the text of the document
+   */
+  public CompletableFuture<String> getTextAsync() {
+    return Futures.map(
+        client.authorizedGetAsync("api/v2/ocr/" + requestId + "/text", 200, OcrText.class),
+        body -> body.text);
+  }
+
   /**
    * Gets image results of an OCR request
    *
@@ -204,6 +324,74 @@ public class OcrRequest extends BaseRequest {
     return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/images", 200);
   }
 
+  /**
+   * Asynchronous version of {@link #getImages()}
+   *
+   * @return A future that completes with the zip file of page images as a byte array
+   */
+  public CompletableFuture<byte[]> getImagesAsync() {
+    return client.authorizedGetBinaryAsync("api/v2/ocr/" + requestId + "/images", 200);
+  }
+
+  /**
+   * Writes the page images of an OCR request to a file, without holding them in memory
+   *
+   * @param target The file to write the zip file of page images to, which is replaced if it exists
+   * @return The size of the file in bytes
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getImages(Path target) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/images", 200, target);
+  }
+
+  /**
+   * Asynchronous version of {@link #getImages(Path)}
+   *
+   * @param target The file to write the zip file of page images to, which is replaced if it exists
+   * @return A future that completes with the size of the file once it has been written
+   */
+  public CompletableFuture<Long> getImagesAsync(Path target) {
+    return client.authorizedGetBinaryAsync("api/v2/ocr/" + requestId + "/images", 200, target);
+  }
+
+  /**
+   * Writes the page images of an OCR request to a stream as they arrive
+   *
+   * @param out The stream to write the zip file of page images to, which is not closed
+   * @return The number of bytes written
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getImages(OutputStream out) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/images", 200, out);
+  }
+
+  /**
+   * Writes the page images of an OCR request to a channel as they arrive
+   *
+   * @param out The channel to write the zip file of page images to, which is not closed
+   * @return The number of bytes written
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getImages(WritableByteChannel out) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/images", 200, out);
+  }
+
+  /**
+   * Gets the page images of an OCR request, spilling them to a temporary file if they are large
+   *
+   * @param spillThreshold The largest size, in bytes, that is held in memory
+   * @return The page images, which must be closed to delete the temporary file
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public BinaryResult getImages(long spillThreshold)
+      throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/images", 200, spillThreshold);
+  }
+
   /**
    * Gets layout results of an OCR request
    *
@@ -214,4 +402,72 @@ public class OcrRequest extends BaseRequest {
   public byte[] getLayouts() throws DocAIClientException, DocAIApiException {
     return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/layouts", 200);
   }
+
+  /**
+   * Asynchronous version of {@link #getLayouts()}
+   *
+   * @return A future that completes with the layout of the document as a byte array
+   */
+  public CompletableFuture<byte[]> getLayoutsAsync() {
+    return client.authorizedGetBinaryAsync("api/v2/ocr/" + requestId + "/layouts", 200);
+  }
+
+  /**
+   * Writes the layouts of an OCR request to a file, without holding them in memory
+   *
+   * @param target The file to write the layouts to, which is replaced if it exists
+   * @return The size of the file in bytes
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getLayouts(Path target) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/layouts", 200, target);
+  }
+
+  /**
+   * Asynchronous version of {@link #getLayouts(Path)}
+   *
+   * @param target The file to write the layouts to, which is replaced if it exists
+   * @return A future that completes with the size of the file once it has been written
+   */
+  public CompletableFuture<Long> getLayoutsAsync(Path target) {
+    return client.authorizedGetBinaryAsync("api/v2/ocr/" + requestId + "/layouts", 200, target);
+  }
+
+  /**
+   * Writes the layouts of an OCR request to a stream as they arrive
+   *
+   * @param out The stream to write the layouts to, which is not closed
+   * @return The number of bytes written
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getLayouts(OutputStream out) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/layouts", 200, out);
+  }
+
+  /**
+   * Writes the layouts of an OCR request to a channel as they arrive
+   *
+   * @param out The channel to write the layouts to, which is not closed
+   * @return The number of bytes written
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public long getLayouts(WritableByteChannel out) throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/layouts", 200, out);
+  }
+
+  /**
+   * Gets the layouts of an OCR request, spilling them to a temporary file if they are large
+   *
+   * @param spillThreshold The largest size, in bytes, that is held in memory
+   * @return The layouts, which must be closed to delete the temporary file
+   * @throws DocAIApiException Unsuccessful response code from server
+   * @throws DocAIClientException Error preparing, sending or processing the request/response
+   */
+  public BinaryResult getLayouts(long spillThreshold)
+      throws DocAIClientException, DocAIApiException {
+    return client.authorizedGetBinary("api/v2/ocr/" + requestId + "/layouts", 200, spillThreshold);
+  }
 }
@@ -0,0 +1,74 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class AdaptiveConcurrencyLimiterTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testLimitGrowsAndBacksOff() throws Exception {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter.Builder().limits(2, 1, 3).backoffRatio(0.5).build();
+
+    AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.acquire();
+    assertEquals(2, limiter.getInFlight());
+
+    // The limit is reached, so a third caller waits until a slot is released
+    CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = limiter.acquireAsync();
+    assertFalse(waiting.isDone());
+
+    first.release();
+    assertEquals(3, limiter.getLimit());
+    assertTrue(waiting.isDone());
+
+    second.releaseDropped();
+    assertEquals(1, limiter.getLimit());
+    waiting.get().releaseIgnored();
+    assertEquals(0, limiter.getInFlight());
+
+    List<AdaptiveConcurrencyLimiter.LimitChange> history = limiter.getHistory();
+    assertEquals(3, history.size());
+    assertEquals("increase", history.get(1).reason);
+    assertEquals("overload", history.get(2).reason);
+  }
+
+  @Test
+  void testThrottledResponsesReduceLimit(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter.Builder().limits(8, 1, 16).build();
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .concurrencyLimiter(limiter)
+            .build();
+
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(aResponse().withStatus(429)));
+    OcrRequest request = new OcrRequest(client, requestId);
+    assertThrows(DocAIApiException.class, request::getStatus);
+    assertTrue(limiter.getLimit() < 8);
+    assertEquals(0, limiter.getInFlight());
+    assertThrows(Exception.class, () -> request.getStatusAsync().get());
+
+    String statusResponseBody = TestHelpers.resourceAsString(this, "ocr-status-complete.json");
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(ok().withBody(statusResponseBody)));
+    assertTrue(request.getStatus().isComplete());
+    assertEquals(0, limiter.getInFlight());
+  }
+}
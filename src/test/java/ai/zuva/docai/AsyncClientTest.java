@@ -0,0 +1,139 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.fields.Field;
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class AsyncClientTest {
+
+  @Test
+  void testSubmitFileAndOcrAsync(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Sample text"))
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        post("/api/v2/ocr")
+            .withRequestBody(equalToJson("{\"file_ids\": [\"c5e40jn1qk1er7odm71g\"]}"))
+            .willReturn(
+                aResponse()
+                    .withStatus(202)
+                    .withBody(TestHelpers.resourceAsString(this, "ocr-request-created.json"))));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody(TestHelpers.resourceAsString(this, "ocr-status-complete.json"))));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+
+    OcrRequest request =
+        File.submitFileAsync(client, "Sample text", "text/plain")
+            .thenCompose(file -> OcrRequest.createRequestAsync(client, file))
+            .get();
+    assertEquals(requestId, request.requestId);
+    assertTrue(request.getStatusAsync().get().isComplete());
+  }
+
+  @Test
+  void testAsyncFailureCompletesExceptionally(WireMockRuntimeInfo wmRuntimeInfo)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+
+    String responseBody = TestHelpers.resourceAsString(this, "file-not-found.json");
+    stubFor(delete("/api/v2/files/123").willReturn(notFound().withBody(responseBody)));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    File file = new File(client, "123");
+
+    ExecutionException thrown =
+        assertThrows(ExecutionException.class, () -> file.deleteAsync().get());
+    assertInstanceOf(DocAIApiException.class, thrown.getCause());
+    assertEquals(404, ((DocAIApiException) thrown.getCause()).statusCode);
+  }
+
+  @Test
+  void testFieldAsync(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String fieldId = "2efa79d4-854d-46de-8087-f70778157dbf";
+
+    stubFor(
+        get("/api/v2/fields")
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody(TestHelpers.resourceAsString(this, "fields-list.json"))));
+    stubFor(
+        put("/api/v2/fields/" + fieldId + "/metadata")
+            .withRequestBody(equalToJson("{\"name\": \"n\", \"description\": \"d\"}"))
+            .willReturn(aResponse().withStatus(204)));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+
+    assertEquals("e", Field.listFieldsAsync(client).get()[0].name);
+    assertNull(new Field(client, fieldId).updateMetadataAsync("n", "d").get());
+  }
+
+  @Test
+  void testCancellingDerivedFutureCancelsSource() {
+    CompletableFuture<String> source = new CompletableFuture<>();
+    CompletableFuture<Integer> derived = Futures.map(source, String::length);
+
+    derived.cancel(false);
+    assertTrue(source.isCancelled());
+
+    CompletableFuture<String> other = new CompletableFuture<>();
+    Futures.map(other, String::length);
+    other.complete("abc");
+    assertFalse(other.isCancelled());
+  }
+
+  @Test
+  void testCancellingComposedFutureCancelsCurrentStep() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<Integer> second = new CompletableFuture<>();
+    CompletableFuture<Integer> composed = Futures.compose(first, s -> second);
+
+    composed.cancel(false);
+    assertTrue(first.isCancelled());
+    assertFalse(second.isCancelled());
+
+    CompletableFuture<String> started = new CompletableFuture<>();
+    CompletableFuture<Integer> next = new CompletableFuture<>();
+    CompletableFuture<Integer> chained = Futures.compose(started, s -> next);
+    started.complete("abc");
+    chained.cancel(false);
+    assertTrue(next.isCancelled());
+  }
+}
@@ -0,0 +1,87 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+public class BinaryResultTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testStreamsImages(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    byte[] images = new byte[1_000_000];
+    new Random(1).nextBytes(images);
+    stubFor(get("/api/v2/ocr/" + requestId + "/images").willReturn(ok().withBody(images)));
+    stubFor(get("/api/v2/ocr/" + requestId + "/layouts").willReturn(notFound()));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    OcrRequest request = new OcrRequest(client, requestId);
+
+    Path target = dir.resolve("images.zip");
+    assertEquals(images.length, request.getImages(target));
+    assertArrayEquals(images, Files.readAllBytes(target));
+    assertEquals(images.length, (long) request.getImagesAsync(target).get());
+    assertArrayEquals(images, Files.readAllBytes(target));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(images.length, request.getImages(out));
+    assertArrayEquals(images, out.toByteArray());
+
+    out.reset();
+    assertEquals(images.length, request.getImages(Channels.newChannel(out)));
+    assertArrayEquals(images, out.toByteArray());
+
+    // A failed download leaves neither the target nor a partial file behind
+    Path layouts = dir.resolve("layouts.pb");
+    assertThrows(DocAIApiException.class, () -> request.getLayouts(layouts));
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testSpillsLargeResults(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    byte[] images = new byte[200_000];
+    new Random(2).nextBytes(images);
+    stubFor(get("/api/v2/ocr/" + requestId + "/images").willReturn(ok().withBody(images)));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    OcrRequest request = new OcrRequest(client, requestId);
+
+    try (BinaryResult small = request.getImages(images.length)) {
+      assertTrue(small.isInMemory());
+      assertArrayEquals(images, small.toByteArray());
+    }
+
+    Path file;
+    try (BinaryResult large = request.getImages(images.length - 1)) {
+      assertFalse(large.isInMemory());
+      assertEquals(images.length, large.size());
+      file = large.getFile();
+      assertArrayEquals(images, Files.readAllBytes(file));
+    }
+    assertFalse(Files.exists(file));
+  }
+}
@@ -0,0 +1,107 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.badRequest;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
+import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.exception.DocAIClientException;
+import ai.zuva.docai.files.BulkDeletePolicy;
+import ai.zuva.docai.files.File;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class BulkDeleteTest {
+  private static final BulkDeletePolicy policy =
+      new BulkDeletePolicy.Builder()
+          .maxParallelism(4)
+          .retryPolicy(
+              new RetryPolicy.Builder()
+                  .maxAttempts(3)
+                  .backoff(Duration.ofMillis(1), Duration.ofMillis(50))
+                  .build())
+          .build();
+
+  @Test
+  void testDeleteFiles(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(delete(urlPathMatching("/api/v2/files/file[0-9]+")).willReturn(noContent()));
+    stubFor(
+        delete("/api/v2/files/flaky")
+            .inScenario("flaky")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse().withStatus(503))
+            .willSetStateTo("recovered"));
+    stubFor(
+        delete("/api/v2/files/flaky")
+            .inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(noContent()));
+    stubFor(delete("/api/v2/files/expired").willReturn(notFound()));
+    stubFor(delete("/api/v2/files/forbidden").willReturn(badRequest()));
+
+    List<String> fileIds = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      fileIds.add("file" + i);
+    }
+    fileIds.add("flaky");
+    fileIds.add("expired");
+    fileIds.add("forbidden");
+
+    // The client itself does not retry, but the deletions do
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    Map<String, Throwable> failures = File.deleteFiles(client, fileIds, policy);
+
+    assertEquals(Collections.singleton("forbidden"), failures.keySet());
+    assertEquals(400, ((DocAIApiException) failures.get("forbidden")).statusCode);
+    verify(exactly(2), deleteRequestedFor(urlEqualTo("/api/v2/files/flaky")));
+    verify(exactly(1), deleteRequestedFor(urlEqualTo("/api/v2/files/file0")));
+
+    assertTrue(File.deleteFilesAsync(client, Collections.emptyList(), policy).get().isEmpty());
+  }
+
+  @Test
+  void testCloseDrainsDeletionQueue(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        delete(urlPathMatching("/api/v2/files/file[0-9]+"))
+            .willReturn(noContent().withFixedDelay(20)));
+    stubFor(delete("/api/v2/files/forbidden").willReturn(badRequest()));
+
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .bulkDeletePolicy(policy)
+            .build();
+    try (DocAIClient closing = client) {
+      for (int i = 0; i < 10; i++) {
+        new File(closing, "file" + i).deleteInBackground();
+      }
+    }
+    assertEquals(0, client.getDeletionQueue().pending());
+    verify(exactly(10), deleteRequestedFor(urlPathMatching("/api/v2/files/file[0-9]+")));
+
+    new File(client, "forbidden").deleteInBackground();
+    DocAIClientException thrown = assertThrows(DocAIClientException.class, client::close);
+    assertEquals(1, thrown.getSuppressed().length);
+    client.close();
+  }
+}
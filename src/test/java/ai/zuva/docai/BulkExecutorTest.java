@@ -0,0 +1,113 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.extraction.ExtractionRequest;
+import ai.zuva.docai.extraction.ExtractionResults;
+import ai.zuva.docai.files.File;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+public class BulkExecutorTest {
+  private static final String requestId = "c5e463f1qk154j5e3sjg";
+  private static final String[] fieldIds = {"292b0a57-556b-4904-acfa-c3f845eb2879"};
+
+  @Test
+  void testProcessFiles(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Unreadable"))
+            .willReturn(
+                aResponse()
+                    .withStatus(400)
+                    .withBody(TestHelpers.resourceAsString(this, "request-not-found.json"))));
+    stubFor(
+        post("/api/v2/extraction")
+            .willReturn(
+                aResponse()
+                    .withStatus(202)
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "extraction-request-created.json"))));
+    stubFor(
+        get("/api/v2/extraction/" + requestId)
+            .willReturn(
+                ok().withBody(
+                        TestHelpers.resourceAsString(this, "extraction-status-complete.json"))));
+    stubFor(
+        get("/api/v2/extraction/" + requestId + "/results/text")
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "extraction-results.json"))));
+
+    List<java.io.File> files = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      Path path = dir.resolve("doc-" + i + ".txt");
+      Files.write(path, ("Document " + i).getBytes(StandardCharsets.UTF_8));
+      files.add(path.toFile());
+    }
+    Path unreadable = dir.resolve("unreadable.txt");
+    Files.write(unreadable, "Unreadable".getBytes(StandardCharsets.UTF_8));
+    files.add(unreadable.toFile());
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CompletableFuture<ExtractionResults[]>> results;
+    try (BulkExecutor bulk = new BulkExecutor(4)) {
+      results =
+          bulk.processFiles(
+              files,
+              file -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                  File docAiFile = File.submitFile(client, file, "text/plain");
+                  ExtractionRequest request =
+                      ExtractionRequest.createRequest(client, docAiFile, fieldIds);
+                  assertTrue(request.pollStatus(1, 10).isComplete());
+                  return request.getResults();
+                } finally {
+                  running.decrementAndGet();
+                }
+              });
+    }
+
+    for (int i = 0; i < 20; i++) {
+      assertEquals(2, results.get(i).get().length);
+    }
+    ExecutionException thrown = assertThrows(ExecutionException.class, results.get(20)::get);
+    assertEquals(400, ((DocAIApiException) thrown.getCause()).statusCode);
+    assertTrue(maxRunning.get() <= 4);
+    verify(exactly(21), postRequestedFor(urlEqualTo("/api/v2/files")));
+  }
+}
@@ -0,0 +1,148 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.badRequest;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.files.BulkUploadPolicy;
+import ai.zuva.docai.files.BulkUploadResult;
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.files.FileSource;
+import ai.zuva.docai.files.UploadProgress;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class BulkUploadTest {
+
+  @Test
+  void testSubmitFiles(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    List<FileSource> sources = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      String content = "document " + i;
+      sources.add(FileSource.of(content, "text/plain"));
+      stubFor(
+          post("/api/v2/files")
+              .withRequestBody(equalTo(content))
+              .willReturn(
+                  i == 3
+                      ? badRequest().withBody("{\"error\":{\"code\":\"x\",\"message\":\"bad\"}}")
+                      : created()
+                          .withFixedDelay(20)
+                          .withBody("{\"file_id\": \"file" + i + "\"}")));
+    }
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    List<UploadProgress> reports = Collections.synchronizedList(new ArrayList<>());
+    BulkUploadPolicy policy =
+        new BulkUploadPolicy.Builder()
+            .maxParallelism(2)
+            .progressListener(reports::add, Duration.ZERO)
+            .build();
+
+    BulkUploadResult result = File.submitFiles(client, sources, policy);
+
+    assertFalse(result.isSuccessful());
+    assertEquals(10, result.files.size());
+    for (int i = 0; i < 10; i++) {
+      if (i == 3) {
+        assertNull(result.files.get(i));
+      } else {
+        assertEquals("file" + i, result.files.get(i).fileId);
+      }
+    }
+    assertEquals(Collections.singleton(3), result.failures.keySet());
+    assertTrue(result.failures.get(3) instanceof DocAIApiException);
+
+    assertEquals(10, reports.size());
+    for (UploadProgress progress : reports) {
+      assertTrue(progress.inFlightFiles < 2);
+    }
+    UploadProgress last = reports.get(reports.size() - 1);
+    assertTrue(last.isDone());
+    assertEquals(9, last.uploadedFiles);
+    assertEquals(1, last.failedFiles);
+    assertEquals(9 * "document 0".length(), last.uploadedBytes);
+  }
+
+  @Test
+  void testSubmitNoFiles(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    DocAIClient client =
+        new DocAIClient("http://localhost:" + wmRuntimeInfo.getHttpPort(), "my-token");
+    BulkUploadResult result = File.submitFiles(client, Collections.emptyList());
+    assertTrue(result.isSuccessful());
+    assertTrue(result.progress.isDone());
+  }
+
+  @Test
+  void testCancellingBatchAbortsUploads(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(post("/api/v2/files").willReturn(created().withBody("{\"file_id\": \"file\"}")));
+
+    // A document that never ends, so that its upload is still being sent when it is cancelled
+    AtomicInteger reads = new AtomicInteger();
+    CountDownLatch sending = new CountDownLatch(1);
+    InputStream endless =
+        new InputStream() {
+          @Override
+          public int read() {
+            return 'x';
+          }
+
+          @Override
+          public int read(byte[] b, int off, int len) throws InterruptedIOException {
+            reads.incrementAndGet();
+            sending.countDown();
+            try {
+              Thread.sleep(5);
+            } catch (InterruptedException e) {
+              throw new InterruptedIOException();
+            }
+            int n = Math.min(len, 1024);
+            Arrays.fill(b, off, off + n, (byte) 'x');
+            return n;
+          }
+        };
+
+    DocAIClient client =
+        new DocAIClient("http://localhost:" + wmRuntimeInfo.getHttpPort(), "my-token");
+    CompletableFuture<BulkUploadResult> result =
+        File.submitFilesAsync(
+            client,
+            Collections.singletonList(FileSource.of("endless", endless, -1, "text/plain")),
+            BulkUploadPolicy.DEFAULT);
+    assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+    result.cancel(false);
+
+    // The call is aborted, so the stream is no longer read and the server never gets the whole
+    // request
+    Thread.sleep(200);
+    int readsAfterCancel = reads.get();
+    Thread.sleep(200);
+    assertEquals(readsAfterCancel, reads.get());
+    verify(0, postRequestedFor(urlEqualTo("/api/v2/files")));
+  }
+}
@@ -0,0 +1,90 @@
+package ai.zuva.docai;
+
+import static ai.zuva.docai.TestHelpers.listToQueryParams;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.ocr.OcrMultipleStatuses;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class ChunkedStatusesTest {
+  private static final String STATUS_FORMAT =
+      "\"%1$s\": {\"request_id\": \"%1$s\", \"status\": \"complete\"}";
+
+  // Each request_id parameter takes 72 characters, so with a 256 character limit three IDs fit in
+  // a URL next to http://localhost:<port>/api/v2/ocrs
+  private static String requestId(int i) {
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < 59) {
+      sb.append('c');
+    }
+    return sb.append(i).toString();
+  }
+
+  private static String statusesBody(List<String> found, String notFound) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"num_found\": ").append(found.size());
+    sb.append(", \"num_errors\": ").append(notFound == null ? 0 : 1);
+    sb.append(", \"statuses\": {");
+    for (int i = 0; i < found.size(); i++) {
+      sb.append(i == 0 ? "" : ", ");
+      sb.append(String.format(STATUS_FORMAT, found.get(i)));
+    }
+    sb.append("}, \"errors\": {");
+    if (notFound != null) {
+      sb.append(
+          String.format(
+              "\"%s\": {\"error\": {\"code\": \"request_not_found\", \"message\": \"Not found\"}}",
+              notFound));
+    }
+    return sb.append("}}").toString();
+  }
+
+  @Test
+  void testStatusesAreChunkedAndMerged(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token").maxUrlLength(256).build();
+
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      ids.add(requestId(i));
+    }
+    List<String> first = ids.subList(0, 3);
+    List<String> second = ids.subList(3, 6);
+    stubFor(
+        get("/api/v2/ocrs?" + listToQueryParams("request_id", first))
+            .willReturn(ok().withBody(statusesBody(first, null))));
+    stubFor(
+        get("/api/v2/ocrs?" + listToQueryParams("request_id", second))
+            .willReturn(ok().withBody(statusesBody(second.subList(0, 2), second.get(2)))));
+
+    OcrMultipleStatuses statuses = OcrRequest.getStatuses(client, ids);
+    assertEquals(5, statuses.numFound);
+    assertEquals(1, statuses.numErrors);
+    assertEquals(5, statuses.statuses.size());
+    for (int i = 0; i < 5; i++) {
+      assertTrue(statuses.statuses.get(ids.get(i)).isComplete());
+    }
+    assertEquals("request_not_found", statuses.requestErrors.get(ids.get(5)).reqError.code);
+
+    OcrMultipleStatuses async = OcrRequest.getStatusesAsync(client, ids).get();
+    assertEquals(5, async.numFound);
+    assertEquals(1, async.requestErrors.size());
+
+    verify(exactly(4), getRequestedFor(urlPathEqualTo("/api/v2/ocrs")));
+  }
+}
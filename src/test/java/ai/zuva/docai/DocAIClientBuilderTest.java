@@ -0,0 +1,80 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ai.zuva.docai.files.File;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+@WireMockTest
+public class DocAIClientBuilderTest {
+
+  // Checks the dispatcher and pool settings of the default OkHttp transport
+  @Test
+  @DisabledIfSystemProperty(named = HttpTransport.TRANSPORT_PROPERTY, matches = "jdk")
+  void testDefaultSettings() {
+    ClientSettings settings = new DocAIClient("http://localhost", "my-token").getSettings();
+    assertEquals(64, settings.maxRequests);
+    assertEquals(5, settings.maxRequestsPerHost);
+    assertEquals(5, settings.maxIdleConnections);
+    assertEquals(Duration.ofMinutes(5), settings.keepAlive);
+    assertEquals(Duration.ofSeconds(10), settings.connectTimeout);
+    assertEquals(Duration.ZERO, settings.callTimeout);
+    assertEquals(Arrays.asList("h2", "http/1.1"), settings.protocols);
+  }
+
+  // Checks the dispatcher and pool settings of the default OkHttp transport
+  @Test
+  @DisabledIfSystemProperty(named = HttpTransport.TRANSPORT_PROPERTY, matches = "jdk")
+  void testCustomSettings(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .maxRequests(256)
+            .maxRequestsPerHost(128)
+            .connectionPool(64, Duration.ofSeconds(30))
+            .connectTimeout(Duration.ofSeconds(2))
+            .readTimeout(Duration.ofSeconds(30))
+            .writeTimeout(Duration.ofSeconds(60))
+            .callTimeout(Duration.ofMinutes(2))
+            .preferHttp2(false)
+            .build();
+
+    ClientSettings settings = client.getSettings();
+    assertEquals(256, settings.maxRequests);
+    assertEquals(128, settings.maxRequestsPerHost);
+    assertEquals(64, settings.maxIdleConnections);
+    assertEquals(Duration.ofSeconds(30), settings.keepAlive);
+    assertEquals(Duration.ofSeconds(2), settings.connectTimeout);
+    assertEquals(Duration.ofSeconds(30), settings.readTimeout);
+    assertEquals(Duration.ofSeconds(60), settings.writeTimeout);
+    assertEquals(Duration.ofMinutes(2), settings.callTimeout);
+    assertEquals(Collections.singletonList("http/1.1"), settings.protocols);
+
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    assertEquals("c5e40jn1qk1er7odm71g", File.submitFile(client, "Sample text").fileId);
+  }
+
+  @Test
+  void testInvalidSettings() {
+    DocAIClient.Builder builder = new DocAIClient.Builder("http://localhost", "my-token");
+    assertThrows(IllegalArgumentException.class, () -> builder.maxRequests(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.maxRequestsPerHost(-1));
+    assertThrows(
+        IllegalArgumentException.class, () -> builder.readTimeout(Duration.ofSeconds(-1)));
+  }
+}
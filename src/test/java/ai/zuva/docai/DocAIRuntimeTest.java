@@ -0,0 +1,92 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ai.zuva.docai.files.File;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+@WireMockTest
+public class DocAIRuntimeTest {
+
+  // Checks the dispatcher and pool settings of the default OkHttp transport
+  @Test
+  @DisabledIfSystemProperty(named = HttpTransport.TRANSPORT_PROPERTY, matches = "jdk")
+  void testClientsShareRuntime(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String baseUrl = "http://localhost:" + port;
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+
+    try (DocAIRuntime runtime = new DocAIRuntime.Builder().maxRequestsPerHost(16).build()) {
+      DocAIClient tenantA = runtime.newClient(baseUrl, "token-a");
+      DocAIClient tenantB =
+          new DocAIClient.Builder(baseUrl, "token-b")
+              .runtime(runtime)
+              .readTimeout(Duration.ofSeconds(30))
+              .build();
+
+      assertSame(runtime, tenantA.getRuntime());
+      assertSame(runtime, tenantB.getRuntime());
+      assertEquals(16, tenantB.getSettings().maxRequestsPerHost);
+      assertEquals(Duration.ofSeconds(10), tenantA.getSettings().readTimeout);
+      assertEquals(Duration.ofSeconds(30), tenantB.getSettings().readTimeout);
+
+      assertEquals("c5e40jn1qk1er7odm71g", File.submitFile(tenantA, "Sample text").fileId);
+      assertEquals("c5e40jn1qk1er7odm71g", File.submitFile(tenantB, "Sample text").fileId);
+      verify(
+          exactly(1),
+          postRequestedFor(urlEqualTo("/api/v2/files"))
+              .withHeader("Authorization", equalTo("Bearer token-a")));
+      verify(
+          exactly(1),
+          postRequestedFor(urlEqualTo("/api/v2/files"))
+              .withHeader("Authorization", equalTo("Bearer token-b")));
+    }
+  }
+
+  // Checks the dispatcher and pool settings of the default OkHttp transport
+  @Test
+  @DisabledIfSystemProperty(named = HttpTransport.TRANSPORT_PROPERTY, matches = "jdk")
+  void testDefaultAndPrivateRuntimes() {
+    // Clients only share a runtime when they are given one
+    DocAIClient first = new DocAIClient("http://localhost", "token-a");
+    DocAIClient second = new DocAIClient("http://localhost", "token-b");
+    assertNotSame(DocAIRuntime.shared(), first.getRuntime());
+    assertNotSame(first.getRuntime(), second.getRuntime());
+    DocAIClient shared =
+        new DocAIClient.Builder("http://localhost", "token-e")
+            .runtime(DocAIRuntime.shared())
+            .build();
+    assertSame(DocAIRuntime.shared(), shared.getRuntime());
+
+    DocAIClient tuned =
+        new DocAIClient.Builder("http://localhost", "token-c").maxRequests(8).build();
+    assertNotSame(DocAIRuntime.shared(), tuned.getRuntime());
+    assertEquals(8, tuned.getSettings().maxRequests);
+
+    DocAIClient.Builder conflicting =
+        new DocAIClient.Builder("http://localhost", "token-d")
+            .runtime(DocAIRuntime.shared())
+            .preferHttp2(false);
+    assertThrows(IllegalStateException.class, conflicting::build);
+  }
+}
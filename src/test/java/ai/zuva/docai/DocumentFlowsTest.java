@@ -0,0 +1,203 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.extraction.ExtractionResults;
+import ai.zuva.docai.flow.DocumentFlows;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+public class DocumentFlowsTest {
+  private static final String requestId = "c5e463f1qk154j5e3sjg";
+  private static final String[] fieldIds = {"292b0a57-556b-4904-acfa-c3f845eb2879"};
+
+  @Test
+  void testSlowSubscriberThrottlesUploads(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        post("/api/v2/extraction")
+            .willReturn(
+                aResponse()
+                    .withStatus(202)
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "extraction-request-created.json"))));
+    // Every file gets the same request ID from the stubs, so each round asks about it alone
+    String statuses =
+        "{\"num_found\": 1, \"num_errors\": 0, \"statuses\": {\"" + requestId + "\":"
+            + " {\"request_id\": \"" + requestId + "\", \"status\": \"complete\"}}}";
+    stubFor(get(urlPathEqualTo("/api/v2/extractions")).willReturn(ok().withBody(statuses)));
+    stubFor(
+        get("/api/v2/extraction/" + requestId + "/results/text")
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "extraction-results.json"))));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    List<ExtractionResults[]> received = new CopyOnWriteArrayList<>();
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+
+    try (RequestTracker tracker = new RequestTracker(Duration.ofMillis(50), 100);
+        SubmissionPublisher<java.io.File> files = new SubmissionPublisher<>()) {
+      DocumentFlows.extractionResults(files, client, tracker, fieldIds, 4)
+          .subscribe(
+              new Flow.Subscriber<ExtractionResults[]>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                  subscribed.complete(subscription);
+                }
+
+                @Override
+                public void onNext(ExtractionResults[] results) {
+                  received.add(results);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                  done.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                  done.complete(null);
+                }
+              });
+
+      for (int i = 0; i < 10; i++) {
+        Path path = dir.resolve("doc-" + i + ".txt");
+        Files.write(path, ("Document " + i).getBytes(StandardCharsets.UTF_8));
+        files.submit(path.toFile());
+      }
+      files.close();
+
+      // Without demand, nothing is uploaded
+      Thread.sleep(200);
+      verify(exactly(0), postRequestedFor(urlEqualTo("/api/v2/files")));
+
+      // Demand for two results pulls two files, and no more
+      Flow.Subscription subscription = subscribed.get(5, TimeUnit.SECONDS);
+      subscription.request(2);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (received.size() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(2, received.size());
+      Thread.sleep(200);
+      verify(exactly(2), postRequestedFor(urlEqualTo("/api/v2/files")));
+
+      subscription.request(Long.MAX_VALUE);
+      done.get(5, TimeUnit.SECONDS);
+    }
+
+    assertEquals(10, received.size());
+    for (ExtractionResults[] results : received) {
+      assertEquals(2, results.length);
+    }
+    verify(exactly(10), postRequestedFor(urlEqualTo("/api/v2/files")));
+    assertTrue(done.isDone());
+  }
+
+  @Test
+  void testCancellingSubscriptionStopsUploadsAndTracking(
+      WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        post("/api/v2/extraction")
+            .willReturn(
+                aResponse()
+                    .withStatus(202)
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "extraction-request-created.json"))));
+    // The requests never complete, so they are still being tracked when the subscriber cancels
+    String statuses =
+        "{\"num_found\": 1, \"num_errors\": 0, \"statuses\": {\"" + requestId + "\":"
+            + " {\"request_id\": \"" + requestId + "\", \"status\": \"processing\"}}}";
+    stubFor(get(urlPathEqualTo("/api/v2/extractions")).willReturn(ok().withBody(statuses)));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+
+    try (RequestTracker tracker = new RequestTracker(Duration.ofMillis(50), 100);
+        SubmissionPublisher<java.io.File> files = new SubmissionPublisher<>()) {
+      DocumentFlows.extractionResults(files, client, tracker, fieldIds, 4)
+          .subscribe(
+              new Flow.Subscriber<ExtractionResults[]>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                  subscribed.complete(subscription);
+                }
+
+                @Override
+                public void onNext(ExtractionResults[] results) {}
+
+                @Override
+                public void onError(Throwable throwable) {}
+
+                @Override
+                public void onComplete() {}
+              });
+
+      for (int i = 0; i < 10; i++) {
+        Path path = dir.resolve("doc-" + i + ".txt");
+        Files.write(path, ("Document " + i).getBytes(StandardCharsets.UTF_8));
+        files.submit(path.toFile());
+      }
+
+      Flow.Subscription subscription = subscribed.get(5, TimeUnit.SECONDS);
+      subscription.request(Long.MAX_VALUE);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (tracker.getPendingCount() < 4 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(4, tracker.getPendingCount());
+
+      subscription.cancel();
+
+      // The requests in flight are no longer tracked, and no more files are uploaded
+      deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (tracker.getPendingCount() > 0 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(0, tracker.getPendingCount());
+      Thread.sleep(200);
+      verify(exactly(4), postRequestedFor(urlEqualTo("/api/v2/files")));
+    }
+  }
+}
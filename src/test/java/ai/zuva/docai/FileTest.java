@@ -14,11 +14,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.exception.DocAIClientException;
 import ai.zuva.docai.files.File;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 @WireMockTest
 public class FileTest {
@@ -94,6 +101,49 @@ public class FileTest {
     assertEquals("2021-10-07T12:09:05Z", result.expiration);
   }
 
+  @Test
+  void testSubmitFileStreams(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    byte[] content = new byte[300_000];
+    new Random(1).nextBytes(content);
+    String responseBody = TestHelpers.resourceAsString(this, "kiraocr-file-created-response.json");
+
+    stubFor(
+        post("/api/v2/files")
+            .withHeader("Content-Type", containing("application/kiraocr"))
+            .withRequestBody(binaryEqualTo(content))
+            .willReturn(created().withBody(responseBody)));
+
+    DocAIClient zClient = new DocAIClient("http://localhost:" + port, "my-token");
+    String fileId = "c5e40of1qk1er7odm740";
+
+    Path path = dir.resolve("document.kiraocr");
+    Files.write(path, content);
+    assertEquals(fileId, File.submitFile(zClient, path, "application/kiraocr").fileId);
+    assertEquals(fileId, File.submitFileAsync(zClient, path, "application/kiraocr").get().fileId);
+
+    // With and without a known length
+    assertEquals(
+        fileId,
+        File.submitFile(
+                zClient, new ByteArrayInputStream(content), content.length, "application/kiraocr")
+            .fileId);
+    assertEquals(
+        fileId,
+        File.submitFile(zClient, new ByteArrayInputStream(content), -1, "application/kiraocr")
+            .fileId);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+    buffer.put(content).flip();
+    assertEquals(fileId, File.submitFile(zClient, buffer, "application/kiraocr").fileId);
+    assertEquals(0, buffer.position());
+
+    assertThrows(
+        DocAIClientException.class,
+        () -> File.submitFile(zClient, dir.resolve("missing"), "application/kiraocr"));
+  }
+
   @Test
   void deleteFileSuccessTest(WireMockRuntimeInfo wmRuntimeInfo) {
     int port = wmRuntimeInfo.getHttpPort();
@@ -0,0 +1,122 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class FlightRecorderEventsTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testRecordsEvents(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "0"))
+            .willSetStateTo("recovered"));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "ocr-status-complete.json"))));
+
+    assertTrue(FlightRecorderEvents.isAvailable());
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .retryPolicy(
+                new RetryPolicy.Builder()
+                    .maxAttempts(3)
+                    .backoff(Duration.ofMillis(1), Duration.ofMillis(50))
+                    .build())
+            .build();
+
+    List<RecordedEvent> events = new ArrayList<>();
+    Path dump = Files.createTempFile("docai", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("ai.zuva.docai.HttpCall");
+      recording.enable("ai.zuva.docai.StatusPoll");
+      recording.enable("ai.zuva.docai.FileUpload");
+      recording.enable("ai.zuva.docai.Retry");
+      recording.start();
+
+      File.submitFile(client, "Sample text", "text/plain");
+      OcrRequest request = new OcrRequest(client, requestId);
+      request.pollStatus(PollingPolicy.fixed(Duration.ofMillis(1), Duration.ofSeconds(10)));
+
+      recording.stop();
+      recording.dump(dump);
+      events.addAll(RecordingFile.readAllEvents(dump));
+    } finally {
+      Files.delete(dump);
+    }
+
+    List<RecordedEvent> calls = eventsNamed(events, "ai.zuva.docai.HttpCall");
+    assertEquals(3, calls.size());
+    RecordedEvent upload = calls.get(0);
+    assertEquals("POST", upload.getString("method"));
+    assertEquals("api/v2/files", upload.getString("endpoint"));
+    assertEquals(201, upload.getInt("statusCode"));
+    assertEquals(11, upload.getLong("bytesSent"));
+    assertEquals("api/v2/ocr/{id}", calls.get(1).getString("endpoint"));
+    assertEquals(503, calls.get(1).getInt("statusCode"));
+    assertEquals(200, calls.get(2).getInt("statusCode"));
+
+    List<RecordedEvent> uploads = eventsNamed(events, "ai.zuva.docai.FileUpload");
+    assertEquals(1, uploads.size());
+    assertEquals("c5e40jn1qk1er7odm71g", uploads.get(0).getString("fileId"));
+    assertEquals(11, uploads.get(0).getLong("size"));
+    assertEquals("text/plain", uploads.get(0).getString("contentType"));
+
+    List<RecordedEvent> retries = eventsNamed(events, "ai.zuva.docai.Retry");
+    assertEquals(1, retries.size());
+    assertEquals(1, retries.get(0).getInt("attempt"));
+
+    // The retried status request is a single poll
+    List<RecordedEvent> polls = eventsNamed(events, "ai.zuva.docai.StatusPoll");
+    assertEquals(1, polls.size());
+    assertEquals(requestId, polls.get(0).getString("requestId"));
+    assertEquals("COMPLETE", polls.get(0).getString("state"));
+    assertEquals(Thread.currentThread().getName(), polls.get(0).getThread().getJavaName());
+  }
+
+  private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> named = new ArrayList<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(name)) {
+        named.add(event);
+      }
+    }
+    named.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+    return named;
+  }
+}
@@ -0,0 +1,106 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class HedgingTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testSlowAttemptIsHedged(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String statusResponseBody = TestHelpers.resourceAsString(this, "ocr-status-complete.json");
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .hedgePolicy(
+                new HedgePolicy.Builder()
+                    .percentile(0.5)
+                    .minDelay(Duration.ofMillis(20))
+                    .maxExtraLoad(1)
+                    .latencyWindow(100, 5)
+                    .build())
+            .build();
+    OcrRequest request = new OcrRequest(client, requestId);
+
+    // No request is hedged until the endpoint has enough latency samples
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(ok().withBody(statusResponseBody)));
+    for (int i = 0; i < 5; i++) {
+      assertTrue(request.getStatus().isComplete());
+    }
+    assertEquals(0, client.getHedgeCount());
+
+    // The first attempt stalls, so the hedge sent after it is the one that answers
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("slow")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(ok().withBody(statusResponseBody).withFixedDelay(5000))
+            .willSetStateTo("fast"));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("slow")
+            .whenScenarioStateIs("fast")
+            .willReturn(ok().withBody(statusResponseBody)));
+
+    long start = System.nanoTime();
+    assertTrue(request.getStatusAsync().get().isComplete());
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(4)) < 0);
+    assertEquals(1, client.getHedgeCount());
+    verify(exactly(7), getRequestedFor(urlEqualTo("/api/v2/ocr/" + requestId)));
+  }
+
+  @Test
+  void testEndpointsHaveSeparateWindows(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String statusResponseBody = TestHelpers.resourceAsString(this, "ocr-status-complete.json");
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .hedgePolicy(
+                new HedgePolicy.Builder()
+                    .percentile(0.5)
+                    .minDelay(Duration.ofMillis(20))
+                    .maxExtraLoad(1)
+                    .latencyWindow(100, 5)
+                    .build())
+            .build();
+    OcrRequest request = new OcrRequest(client, requestId);
+
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(ok().withBody(statusResponseBody)));
+    for (int i = 0; i < 5; i++) {
+      assertTrue(request.getStatus().isComplete());
+    }
+
+    // The text endpoint is in the same family, but has no samples of its own yet, so a slow
+    // response is waited for rather than hedged against the status poll's latency
+    stubFor(
+        get("/api/v2/ocr/" + requestId + "/text")
+            .willReturn(ok().withBody("{\"text\": \"abc\"}").withFixedDelay(200)));
+    assertEquals("abc", request.getText());
+    assertEquals(0, client.getHedgeCount());
+    verify(exactly(1), getRequestedFor(urlEqualTo("/api/v2/ocr/" + requestId + "/text")));
+  }
+
+  @Test
+  void testInvalidPolicy() {
+    HedgePolicy.Builder builder = new HedgePolicy.Builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.percentile(1));
+    assertThrows(IllegalArgumentException.class, () -> builder.maxExtraLoad(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.latencyWindow(10, 20));
+  }
+}
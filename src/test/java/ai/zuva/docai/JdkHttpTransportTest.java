@@ -0,0 +1,84 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.exception.DocAIClientException;
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class JdkHttpTransportTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testRequestsThroughJdkTransport(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .withHeader("Authorization", equalTo("Bearer my-token"))
+            .withHeader("Content-Type", containing("text/plain"))
+            .withRequestBody(equalTo("Sample text"))
+            .willReturn(
+                created()
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "text-file-created-response.json"))));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "ocr-status-complete.json"))));
+    stubFor(
+        get("/api/v2/ocr/missing")
+            .willReturn(
+                aResponse()
+                    .withStatus(404)
+                    .withBody(TestHelpers.resourceAsString(this, "request-not-found.json"))));
+
+    try (DocAIRuntime runtime =
+        new DocAIRuntime.Builder().transport(new JdkHttpTransport.Builder().build()).build()) {
+      DocAIClient client = runtime.newClient("http://localhost:" + port, "my-token");
+
+      assertEquals(
+          "c5e40jn1qk1er7odm71g", File.submitFile(client, "Sample text", "text/plain").fileId);
+      assertTrue(new OcrRequest(client, requestId).getStatusAsync().get().isComplete());
+      DocAIApiException thrown =
+          assertThrows(
+              DocAIApiException.class, () -> new OcrRequest(client, "missing").getStatus());
+      assertEquals(404, thrown.statusCode);
+    }
+  }
+
+  @Test
+  void testTimeoutReportedAsInterruptedIOException(WireMockRuntimeInfo wmRuntimeInfo) {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(ok().withFixedDelay(2000)));
+
+    try (DocAIRuntime runtime =
+        new DocAIRuntime.Builder().transport(new JdkHttpTransport.Builder().build()).build()) {
+      DocAIClient client =
+          new DocAIClient.Builder("http://localhost:" + port, "my-token")
+              .runtime(runtime)
+              .callTimeout(Duration.ofMillis(200))
+              .build();
+      DocAIClientException thrown =
+          assertThrows(
+              DocAIClientException.class, () -> new OcrRequest(client, requestId).getStatus());
+      assertTrue(thrown.getCause() instanceof InterruptedIOException);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package ai.zuva.docai;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import ai.zuva.docai.extraction.ExtractionMultipleStatuses;
+import ai.zuva.docai.extraction.ExtractionStatus;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class JsonCodecsTest {
+
+  @Test
+  void testReadersAndWritersAreCached() throws Exception {
+    JsonCodecs codecs = new JsonCodecs(true);
+    assertSame(codecs.reader(ExtractionStatus.class), codecs.reader(ExtractionStatus.class));
+    assertSame(codecs.writer("a"), codecs.writer("b"));
+
+    String json = TestHelpers.resourceAsString(this, "multiple-status-response.json");
+    ExtractionMultipleStatuses statuses =
+        codecs
+            .reader(ExtractionMultipleStatuses.class)
+            .readValue(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(3, statuses.statuses.size());
+    assertEquals("ce7ks02b08o78qsc6qog", statuses.statuses.get("ce7m85s2nt5r5uan68g0").fileId);
+  }
+
+  @Test
+  void testWriterLeavesTargetOpen() throws Exception {
+    JsonCodecs codecs = new JsonCodecs(false);
+    assertNull(codecs.accelerator);
+
+    ByteArrayOutputStream out =
+        new ByteArrayOutputStream() {
+          @Override
+          public void close() {
+            throw new IllegalStateException("The target must not be closed");
+          }
+        };
+    Object body = Collections.singletonMap("file_ids", new String[] {"a", "b"});
+    codecs.writer(body).writeValue(out, body);
+    assertArrayEquals(
+        "{\"file_ids\":[\"a\",\"b\"]}".getBytes(StandardCharsets.UTF_8), out.toByteArray());
+  }
+}
@@ -0,0 +1,72 @@
+package ai.zuva.docai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class LatencyModelTest {
+  private static final long SMALL = 10 * 1024;
+  private static final long LARGE = 20 * 1024 * 1024;
+
+  private static LatencyModel trainedModel() {
+    LatencyModel model = new LatencyModel();
+    for (int i = 0; i < 10; i++) {
+      model.record(EndpointFamily.OCR, SMALL, Duration.ofSeconds(2));
+      model.record(EndpointFamily.OCR, LARGE, Duration.ofSeconds(60));
+    }
+    return model;
+  }
+
+  @Test
+  void testPredictsBySizeBucket() {
+    LatencyModel model = trainedModel();
+
+    Duration small = model.predictRemaining(EndpointFamily.OCR, SMALL, Duration.ZERO, 0.5);
+    Duration large = model.predictRemaining(EndpointFamily.OCR, LARGE, Duration.ZERO, 0.5);
+    assertTrue(small.compareTo(Duration.ofSeconds(2)) >= 0);
+    assertTrue(small.compareTo(Duration.ofSeconds(3)) < 0);
+    assertTrue(large.compareTo(Duration.ofSeconds(60)) >= 0);
+    assertTrue(large.compareTo(Duration.ofSeconds(75)) < 0);
+
+    // Once the typical time has passed, the prediction moves on to the slower requests
+    Duration remaining =
+        model.predictRemaining(EndpointFamily.OCR, -1, Duration.ofSeconds(10), 0.5);
+    assertTrue(remaining.compareTo(Duration.ofSeconds(50)) >= 0);
+
+    assertNull(model.predictRemaining(EndpointFamily.EXTRACTION, SMALL, Duration.ZERO, 0.5));
+  }
+
+  @Test
+  void testNoPredictionOnceSlowerThanEverySample() {
+    LatencyModel model = trainedModel();
+    assertNull(model.predictRemaining(EndpointFamily.OCR, SMALL, Duration.ofMinutes(10), 0.5));
+  }
+
+  @Test
+  void testSaveAndLoad() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    trainedModel().save(out);
+
+    LatencyModel restored = new LatencyModel();
+    restored.load(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(
+        trainedModel().predictRemaining(EndpointFamily.OCR, LARGE, Duration.ZERO, 0.9),
+        restored.predictRemaining(EndpointFamily.OCR, LARGE, Duration.ZERO, 0.9));
+  }
+
+  @Test
+  void testFileSizes() {
+    LatencyModel model = new LatencyModel();
+    model.recordFileSize("c5e40jn1qk1er7odm71g", 1234);
+    assertEquals(1234, model.getFileSize("c5e40jn1qk1er7odm71g"));
+    assertEquals(-1, model.getFileSize("unknown"));
+    assertEquals(0, LatencyModel.sizeBucket(SMALL));
+    assertEquals(LatencyModel.sizeBucket(LARGE), LatencyModel.sizeBucket(LARGE + 1));
+    assertTrue(LatencyModel.sizeBucket(LARGE) > LatencyModel.sizeBucket(SMALL * 100));
+  }
+}
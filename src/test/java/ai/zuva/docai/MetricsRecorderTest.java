@@ -0,0 +1,168 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.metrics.CallPhases;
+import ai.zuva.docai.metrics.EndpointMetrics;
+import ai.zuva.docai.metrics.LatencyHistogram;
+import ai.zuva.docai.metrics.MetricsRecorder;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+
+@WireMockTest
+public class MetricsRecorderTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  @Test
+  void testRecordsCallsPerEndpointTemplate(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String fileCreated = TestHelpers.resourceAsString(this, "text-file-created-response.json");
+    stubFor(post("/api/v2/files").willReturn(created().withBody(fileCreated)));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "0"))
+            .willSetStateTo("recovered"));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "ocr-status-complete.json"))));
+    byte[] images = new byte[10000];
+    stubFor(get("/api/v2/ocr/" + requestId + "/images").willReturn(ok().withBody(images)));
+
+    MetricsRecorder recorder = new MetricsRecorder();
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .retryPolicy(
+                new RetryPolicy.Builder()
+                    .maxAttempts(3)
+                    .backoff(Duration.ofMillis(1), Duration.ofMillis(50))
+                    .build())
+            .metricsListener(recorder)
+            .build();
+
+    File.submitFile(client, "Sample text", "text/plain");
+    OcrRequest request = new OcrRequest(client, requestId);
+    assertTrue(request.getStatus().isComplete());
+    assertEquals(images.length, request.getImages().length);
+
+    Map<String, EndpointMetrics> metrics = new HashMap<>();
+    List<EndpointMetrics> snapshot = recorder.snapshot();
+    for (EndpointMetrics m : snapshot) {
+      metrics.put(m.method + " " + m.endpoint, m);
+    }
+    assertEquals(3, snapshot.size());
+
+    EndpointMetrics upload = metrics.get("POST api/v2/files");
+    assertEquals(1, upload.responses);
+    assertEquals(11, upload.bytesSent);
+    assertEquals(fileCreated.getBytes(StandardCharsets.UTF_8).length, upload.bytesReceived);
+    assertEquals(1L, upload.statusCodes.get(201));
+
+    EndpointMetrics status = metrics.get("GET api/v2/ocr/{id}");
+    assertEquals(2, status.responses);
+    assertEquals(1, status.retries);
+    assertEquals(0, status.failures);
+    assertEquals(0, status.inFlight);
+    assertEquals(1L, status.statusCodes.get(503));
+    assertEquals(1L, status.statusCodes.get(200));
+    assertEquals(2, status.latency.count);
+    assertTrue(status.latency.valueAtPercentile(50) <= status.latency.max);
+
+    EndpointMetrics download = metrics.get("GET api/v2/ocr/{id}/images");
+    assertEquals(images.length, download.bytesReceived);
+  }
+
+  // Phases are recorded by the default OkHttp transport only
+  @Test
+  @DisabledIfSystemProperty(named = HttpTransport.TRANSPORT_PROPERTY, matches = "jdk")
+  void testRecordsCallPhases(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .willReturn(
+                ok().withBody(TestHelpers.resourceAsString(this, "ocr-status-complete.json"))));
+
+    List<String> requestIds = new CopyOnWriteArrayList<>();
+    List<CallPhases> calls = new CopyOnWriteArrayList<>();
+    MetricsRecorder recorder =
+        new MetricsRecorder() {
+          @Override
+          public void onCallPhases(
+              String method, String endpoint, String requestId, CallPhases phases) {
+            super.onCallPhases(method, endpoint, requestId, phases);
+            requestIds.add(requestId);
+            calls.add(phases);
+          }
+        };
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .metricsListener(recorder)
+            .build();
+
+    OcrRequest request = new OcrRequest(client, requestId);
+    request.getStatus();
+    request.getStatus();
+
+    assertEquals(Arrays.asList(requestId, requestId), requestIds);
+    CallPhases first = calls.get(0);
+    assertFalse(first.connectionReused);
+    assertEquals("http/1.1", first.protocol);
+    assertTrue(first.connectNanos >= 0);
+    assertEquals(-1, first.tlsNanos);
+    assertTrue(first.timeToFirstByteNanos >= 0);
+    CallPhases second = calls.get(1);
+    assertTrue(second.connectionReused);
+    assertEquals(-1, second.dnsNanos);
+    assertEquals(-1, second.connectNanos);
+
+    EndpointMetrics status = recorder.snapshot().get(0);
+    assertEquals(1, status.connectionsOpened);
+    assertEquals(1, status.connectionsReused);
+    assertEquals(MetricsRecorder.PHASES, new ArrayList<>(status.phases.keySet()));
+    assertEquals(2, status.phases.get("ttfb").count);
+    assertEquals(1, status.phases.get("connect").count);
+    assertEquals(0, status.phases.get("tls").count);
+  }
+
+  @Test
+  void testHistogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1_000_000L);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.count);
+    assertEquals(1_000_000L, snapshot.min);
+    assertEquals(1_000_000_000L, snapshot.max);
+    assertEquals(500_500_000.0, snapshot.mean);
+    // Each value is known to within 1/64 of itself
+    assertEquals(500_000_000.0, snapshot.valueAtPercentile(50), 500_000_000.0 / 64);
+    assertEquals(990_000_000.0, snapshot.valueAtPercentile(99), 990_000_000.0 / 64);
+    assertEquals(1_000_000_000L, snapshot.valueAtPercentile(100));
+  }
+}
@@ -0,0 +1,144 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.lessThan;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.language.LanguageRequest;
+import ai.zuva.docai.language.LanguageResult;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class PollingPolicyTest {
+  private static final String requestId = "c5e45a8vsl2ss5f0vmdg";
+
+  @Test
+  void testBackoffIntervals() {
+    PollingPolicy exponential =
+        new PollingPolicy.Builder()
+            .interval(
+                Duration.ofMillis(100), Duration.ofMillis(500), PollingPolicy.Backoff.EXPONENTIAL)
+            .build();
+    assertEquals(Duration.ofMillis(100), exponential.intervalAfter(1));
+    assertEquals(Duration.ofMillis(200), exponential.intervalAfter(2));
+    assertEquals(Duration.ofMillis(400), exponential.intervalAfter(3));
+    assertEquals(Duration.ofMillis(500), exponential.intervalAfter(4));
+
+    PollingPolicy fibonacci =
+        new PollingPolicy.Builder()
+            .interval(
+                Duration.ofMillis(100), Duration.ofMillis(1000), PollingPolicy.Backoff.FIBONACCI)
+            .build();
+    long[] expected = {100, 100, 200, 300, 500, 800, 1000, 1000};
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(Duration.ofMillis(expected[i]), fibonacci.intervalAfter(i + 1));
+    }
+
+    PollingPolicy fixed = PollingPolicy.fixed(Duration.ofSeconds(1), Duration.ofSeconds(60));
+    assertEquals(Duration.ofSeconds(1), fixed.intervalAfter(10));
+  }
+
+  @Test
+  void testInvalidPolicy() {
+    PollingPolicy.Builder builder = new PollingPolicy.Builder();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> builder.interval(Duration.ZERO, Duration.ofSeconds(1), PollingPolicy.Backoff.FIXED));
+    assertThrows(IllegalArgumentException.class, () -> builder.jitter(1));
+    assertThrows(IllegalArgumentException.class, () -> builder.timeout(Duration.ZERO));
+  }
+
+  @Test
+  void testSubSecondPolling(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String processing =
+        "{\"file_id\": \"c5e41av1qk1er7odm79g\", \"status\": \"processing\", \"request_id\": \""
+            + requestId
+            + "\"}";
+    String complete = TestHelpers.resourceAsString(this, "language-request-complete.json");
+    stubFor(
+        get("/api/v2/language/" + requestId)
+            .inScenario("language")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(ok().withBody(processing))
+            .willSetStateTo("complete"));
+    stubFor(
+        get("/api/v2/language/" + requestId)
+            .inScenario("language")
+            .whenScenarioStateIs("complete")
+            .willReturn(ok().withBody(complete)));
+
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    PollingPolicy policy =
+        new PollingPolicy.Builder()
+            .interval(
+                Duration.ofMillis(50), Duration.ofMillis(200), PollingPolicy.Backoff.EXPONENTIAL)
+            .timeout(Duration.ofSeconds(10))
+            .build();
+
+    LanguageRequest request = new LanguageRequest(client, "c5e41av1qk1er7odm79g", requestId);
+
+    long start = System.nanoTime();
+    LanguageResult result = request.pollStatus(policy);
+    assertTrue(result.isComplete());
+    assertEquals("English", result.language);
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    verify(exactly(2), getRequestedFor(urlEqualTo("/api/v2/language/" + requestId)));
+  }
+
+  @Test
+  void testBacksOffOnceRequestOutlivesPrediction(WireMockRuntimeInfo wmRuntimeInfo)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String fileId = "c5e41av1qk1er7odm79g";
+    String processing =
+        "{\"file_id\": \""
+            + fileId
+            + "\", \"status\": \"processing\", \"request_id\": \""
+            + requestId
+            + "\"}";
+    stubFor(
+        post("/api/v2/language")
+            .willReturn(
+                aResponse()
+                    .withStatus(202)
+                    .withBody(
+                        TestHelpers.resourceAsString(this, "language-request-created.json"))));
+    stubFor(get("/api/v2/language/" + requestId).willReturn(ok().withBody(processing)));
+
+    // Every request seen so far finished within a few milliseconds, so this one soon outlives
+    // all of them and the model has nothing left to predict
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    for (int i = 0; i < 100; i++) {
+      client.getLatencyModel().record(EndpointFamily.LANGUAGE, -1, Duration.ofMillis(5));
+    }
+    PollingPolicy policy =
+        new PollingPolicy.Builder()
+            .interval(
+                Duration.ofMillis(50), Duration.ofMillis(400), PollingPolicy.Backoff.EXPONENTIAL)
+            .timeout(Duration.ofMillis(1500))
+            .predictive(0.5)
+            .build();
+
+    LanguageRequest request = LanguageRequest.createRequest(client, new File(client, fileId));
+    assertTrue(request.pollStatus(policy).isProcessing());
+
+    // Polling at the minimum interval would have sent about 30 status requests
+    verify(lessThan(12), getRequestedFor(urlEqualTo("/api/v2/language/" + requestId)));
+  }
+}
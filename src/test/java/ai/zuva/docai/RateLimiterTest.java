@@ -0,0 +1,50 @@
+package ai.zuva.docai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+  @Test
+  void testBurstThenSustainedRate() throws Exception {
+    RateLimiter limiter = new RateLimiter(5, 3);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Duration.ZERO, limiter.acquire());
+    }
+    assertFalse(limiter.tryAcquire());
+
+    // At 5 permits per second the next permit is 200ms away
+    Duration waited = limiter.acquire();
+    assertTrue(waited.toMillis() > 0 && waited.toMillis() <= 200);
+
+    Duration asyncWait = limiter.acquireAsync().get();
+    assertTrue(asyncWait.toMillis() > 0 && asyncWait.toMillis() <= 400);
+
+    RateLimiter.Stats stats = limiter.getStats();
+    assertEquals(5, stats.acquired);
+    assertEquals(2, stats.delayed);
+    assertTrue(stats.maxWait.compareTo(waited) >= 0);
+  }
+
+  @Test
+  void testEndpointFamilies() {
+    assertEquals(EndpointFamily.FILES, EndpointFamily.of(Arrays.asList("api", "v2", "files")));
+    assertEquals(EndpointFamily.OCR, EndpointFamily.of(Arrays.asList("api", "v2", "ocr", "id")));
+    assertEquals(EndpointFamily.OCR, EndpointFamily.of(Arrays.asList("api", "v2", "ocrs")));
+    assertEquals(
+        EndpointFamily.EXTRACTION,
+        EndpointFamily.of(Arrays.asList("api", "v2", "extraction", "id", "results", "text")));
+    assertEquals(
+        EndpointFamily.NORMALIZATION,
+        EndpointFamily.of(Arrays.asList("api", "v2", "normalization", "date")));
+    assertEquals(
+        EndpointFamily.FIELDS, EndpointFamily.of(Arrays.asList("api", "v2", "fields", "id")));
+    assertEquals(EndpointFamily.OTHER, EndpointFamily.of(Arrays.asList("health")));
+  }
+}
@@ -0,0 +1,98 @@
+package ai.zuva.docai;
+
+import static ai.zuva.docai.TestHelpers.listToQueryParams;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIClientException;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class RequestTrackerTest {
+
+  @Test
+  void testTrackOcrRequestsInBatches(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    List<String> ocrIds =
+        Arrays.asList(
+            "ce7m85s2nt5r5uan68g0",
+            "ce7m85s2nt5r5uan68gg",
+            "ce7m85s2nt5r5uan68h0",
+            "ce7m85s2nt5r5uan68hg");
+
+    // The first round finds two complete requests, one still processing and one unknown
+    String firstRound = TestHelpers.resourceAsString(this, "multiple-status-response.json");
+    stubFor(
+        get("/api/v2/ocrs?" + listToQueryParams("request_id", ocrIds))
+            .willReturn(ok().withBody(firstRound)));
+    // The next round only asks about the request that is still processing
+    String secondRound =
+        "{\"num_found\": 1, \"num_errors\": 0, \"statuses\": {\"ce7m85s2nt5r5uan68gg\":"
+            + " {\"request_id\": \"ce7m85s2nt5r5uan68gg\", \"status\": \"complete\"}}}";
+    stubFor(
+        get("/api/v2/ocrs?request_id=ce7m85s2nt5r5uan68gg")
+            .willReturn(ok().withBody(secondRound)));
+
+    try (RequestTracker tracker = new RequestTracker(Duration.ofMillis(50), 100)) {
+      List<CompletableFuture<RequestStatus>> futures = new ArrayList<>();
+      for (String ocrId : ocrIds) {
+        futures.add(tracker.track(new OcrRequest(client, ocrId)));
+      }
+
+      for (int i = 0; i < 3; i++) {
+        RequestStatus status = futures.get(i).get(5, TimeUnit.SECONDS);
+        assertEquals(ocrIds.get(i), status.requestId);
+        assertTrue(status.isComplete());
+      }
+      ExecutionException thrown =
+          assertThrows(ExecutionException.class, () -> futures.get(3).get(5, TimeUnit.SECONDS));
+      assertInstanceOf(DocAIClientException.class, thrown.getCause());
+    }
+
+    // Two bulk calls replaced what would have been at least five individual status requests
+    verify(exactly(2), getRequestedFor(urlPathEqualTo("/api/v2/ocrs")));
+    verify(exactly(0), getRequestedFor(urlPathEqualTo("/api/v2/ocr/ce7m85s2nt5r5uan68gg")));
+  }
+
+  @Test
+  void testRequestMissingFromResponsesFails(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    DocAIClient client = new DocAIClient("http://localhost:" + port, "my-token");
+    String ocrId = "ce7m85s2nt5r5uan68g0";
+
+    // The bulk endpoint neither returns the request nor reports an error for it
+    stubFor(
+        get("/api/v2/ocrs?request_id=" + ocrId)
+            .willReturn(ok().withBody("{\"num_found\": 0, \"num_errors\": 0, \"statuses\": {}}")));
+
+    try (RequestTracker tracker = new RequestTracker(Duration.ofMillis(50), 100)) {
+      CompletableFuture<RequestStatus> future = tracker.track(new OcrRequest(client, ocrId));
+      ExecutionException thrown =
+          assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+      assertInstanceOf(DocAIClientException.class, thrown.getCause());
+    }
+
+    verify(
+        exactly(RequestTracker.MAX_MISSED_POLLS), getRequestedFor(urlPathEqualTo("/api/v2/ocrs")));
+  }
+}
@@ -0,0 +1,121 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ai.zuva.docai.exception.DocAIApiException;
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.ocr.OcrRequest;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+public class RetryPolicyTest {
+  private static final String requestId = "c5e41cgvsl2pp2tpc9i0";
+
+  private DocAIClient retryingClient(int port) {
+    return new DocAIClient.Builder("http://localhost:" + port, "my-token")
+        .retryPolicy(
+            new RetryPolicy.Builder()
+                .maxAttempts(3)
+                .backoff(Duration.ofMillis(1), Duration.ofMillis(50))
+                .build())
+        .build();
+  }
+
+  @Test
+  void testGetRetriedUntilSuccess(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String statusResponseBody = TestHelpers.resourceAsString(this, "ocr-status-complete.json");
+
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "0"))
+            .willSetStateTo("recovered"));
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .inScenario("flaky")
+            .whenScenarioStateIs("recovered")
+            .willReturn(ok().withBody(statusResponseBody)));
+
+    DocAIClient client = retryingClient(port);
+    assertTrue(new OcrRequest(client, requestId).getStatus().isComplete());
+    verify(exactly(2), getRequestedFor(urlEqualTo("/api/v2/ocr/" + requestId)));
+  }
+
+  @Test
+  void testAsyncGetGivesUpAfterMaxAttempts(WireMockRuntimeInfo wmRuntimeInfo) {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(get("/api/v2/ocr/" + requestId).willReturn(serverError()));
+
+    DocAIClient client = retryingClient(port);
+    Exception thrown =
+        assertThrows(
+            Exception.class, () -> new OcrRequest(client, requestId).getStatusAsync().get());
+    assertEquals(500, ((DocAIApiException) thrown.getCause()).statusCode);
+    verify(exactly(3), getRequestedFor(urlEqualTo("/api/v2/ocr/" + requestId)));
+  }
+
+  @Test
+  void testPostOnlyRetriedWhenRejected(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    DocAIClient client = retryingClient(port);
+
+    // A 500 may have been returned after the file was stored, so the upload is not repeated
+    stubFor(post("/api/v2/files").willReturn(serverError()));
+    DocAIApiException thrown =
+        assertThrows(DocAIApiException.class, () -> File.submitFile(client, "Sample text"));
+    assertTrue(thrown.isRetryable());
+    verify(exactly(1), postRequestedFor(urlEqualTo("/api/v2/files")));
+
+    // A 429 means the upload was turned away, so it is safe to send it again
+    String responseBody = TestHelpers.resourceAsString(this, "text-file-created-response.json");
+    stubFor(
+        post("/api/v2/files")
+            .inScenario("throttled")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse().withStatus(429))
+            .willSetStateTo("accepted"));
+    stubFor(
+        post("/api/v2/files")
+            .inScenario("throttled")
+            .whenScenarioStateIs("accepted")
+            .willReturn(created().withBody(responseBody)));
+    assertEquals("c5e40jn1qk1er7odm71g", File.submitFile(client, "Sample text").fileId);
+  }
+
+  @Test
+  void testNonRetryableStatus(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    String responseBody = TestHelpers.resourceAsString(this, "request-not-found.json");
+    stubFor(
+        get("/api/v2/ocr/" + requestId)
+            .willReturn(aResponse().withStatus(404).withBody(responseBody)));
+
+    DocAIClient client = retryingClient(port);
+    DocAIApiException thrown =
+        assertThrows(
+            DocAIApiException.class, () -> new OcrRequest(client, requestId).getStatus());
+    assertFalse(thrown.isRetryable());
+    verify(exactly(1), getRequestedFor(urlEqualTo("/api/v2/ocr/" + requestId)));
+  }
+}
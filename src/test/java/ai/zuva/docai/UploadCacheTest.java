@@ -0,0 +1,169 @@
+package ai.zuva.docai;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.created;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.noContent;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ai.zuva.docai.files.File;
+import ai.zuva.docai.files.UploadCache;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+public class UploadCacheTest {
+
+  private static String created(String fileId, String expiration) {
+    return "{\"file_id\": \""
+        + fileId
+        + "\", \"attributes\": {\"content-type\": \"text/plain\"}, \"permissions\": [\"\"], "
+        + "\"expiration\": \""
+        + expiration
+        + "\"}";
+  }
+
+  @Test
+  void testSkipsDuplicateUploads(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path dir)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Sample text"))
+            .willReturn(created().withBody(created("file1", "2999-01-01T00:00:00Z"))));
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Streamed text"))
+            .willReturn(created().withBody(created("file2", "2999-01-01T00:00:00Z"))));
+
+    Path cacheFile = dir.resolve("uploads.jsonl");
+    UploadCache cache = new UploadCache(cacheFile);
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token").uploadCache(cache).build();
+
+    assertEquals("file1", File.submitFile(client, "Sample text").fileId);
+    File cached = File.submitFile(client, "Sample text".getBytes(StandardCharsets.UTF_8));
+    assertEquals("file1", cached.fileId);
+    assertEquals("text/plain", cached.attributes.contentType);
+    assertEquals("2999-01-01T00:00:00Z", cached.expiration);
+
+    Path document = dir.resolve("sample.txt");
+    Files.write(document, "Sample text".getBytes(StandardCharsets.UTF_8));
+    assertEquals("file1", File.submitFile(client, document).fileId);
+
+    List<CompletableFuture<File>> uploads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      uploads.add(File.submitFileAsync(client, "Sample text"));
+    }
+    for (CompletableFuture<File> upload : uploads) {
+      assertEquals("file1", upload.get().fileId);
+    }
+    verify(1, postRequestedFor(urlEqualTo("/api/v2/files")));
+
+    // A stream is always uploaded, but later copies of it are found
+    byte[] streamed = "Streamed text".getBytes(StandardCharsets.UTF_8);
+    assertEquals("file2", File.submitFile(client, new ByteArrayInputStream(streamed), -1).fileId);
+    assertEquals("file2", File.submitFile(client, streamed).fileId);
+    verify(2, postRequestedFor(urlEqualTo("/api/v2/files")));
+    assertEquals(6, cache.getHitCount());
+
+    // The cache survives a restart
+    DocAIClient restarted =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .uploadCache(new UploadCache(cacheFile))
+            .build();
+    assertEquals("file1", File.submitFile(restarted, "Sample text").fileId);
+    verify(2, postRequestedFor(urlEqualTo("/api/v2/files")));
+  }
+
+  @Test
+  void testUploadsExpiredAndDeletedFilesAgain(WireMockRuntimeInfo wmRuntimeInfo)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Expired text"))
+            .willReturn(created().withBody(created("file1", "2021-10-07T12:08:46Z"))));
+    stubFor(
+        post("/api/v2/files")
+            .withRequestBody(equalTo("Sample text"))
+            .willReturn(created().withBody(created("file2", "2999-01-01T00:00:00Z"))));
+    stubFor(delete("/api/v2/files/file2").willReturn(noContent()));
+
+    UploadCache cache = new UploadCache();
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token").uploadCache(cache).build();
+
+    File.submitFile(client, "Expired text");
+    File.submitFile(client, "Expired text");
+    verify(2, postRequestedFor(urlEqualTo("/api/v2/files")));
+
+    File.submitFile(client, "Sample text").delete();
+    assertEquals(0, cache.size());
+    File.submitFile(client, "Sample text");
+    verify(4, postRequestedFor(urlEqualTo("/api/v2/files")));
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  void testEntriesAreScopedToTenant(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .withHeader("Authorization", equalTo("Bearer token-a"))
+            .willReturn(created().withBody(created("file-a", "2999-01-01T00:00:00Z"))));
+    stubFor(
+        post("/api/v2/files")
+            .withHeader("Authorization", equalTo("Bearer token-b"))
+            .willReturn(created().withBody(created("file-b", "2999-01-01T00:00:00Z"))));
+
+    UploadCache cache = new UploadCache();
+    DocAIClient tenantA =
+        new DocAIClient.Builder("http://localhost:" + port, "token-a").uploadCache(cache).build();
+    DocAIClient tenantB =
+        new DocAIClient.Builder("http://localhost:" + port, "token-b").uploadCache(cache).build();
+
+    assertEquals("file-a", File.submitFile(tenantA, "Sample text").fileId);
+    assertEquals("file-b", File.submitFile(tenantB, "Sample text").fileId);
+    assertEquals("file-a", File.submitFile(tenantA, "Sample text").fileId);
+    verify(2, postRequestedFor(urlEqualTo("/api/v2/files")));
+  }
+
+  @Test
+  void testCancellingOneCallerKeepsSharedUpload(WireMockRuntimeInfo wmRuntimeInfo)
+      throws Exception {
+    int port = wmRuntimeInfo.getHttpPort();
+    stubFor(
+        post("/api/v2/files")
+            .willReturn(
+                created()
+                    .withBody(created("file1", "2999-01-01T00:00:00Z"))
+                    .withFixedDelay(200)));
+
+    DocAIClient client =
+        new DocAIClient.Builder("http://localhost:" + port, "my-token")
+            .uploadCache(new UploadCache())
+            .build();
+
+    // The caller that started the upload cancels, but the one that joined it still gets the file
+    CompletableFuture<File> first = File.submitFileAsync(client, "Sample text");
+    CompletableFuture<File> second = File.submitFileAsync(client, "Sample text");
+    first.cancel(false);
+    assertEquals("file1", second.get().fileId);
+    verify(1, postRequestedFor(urlEqualTo("/api/v2/files")));
+  }
+}